@@ -5,18 +5,40 @@ plugins {
 }
 
 dependencies {
-	// The api subproject needs access to both the model and persistence subproject
+	// The api subproject needs access to the model, common, persistence and web subproject
 	implementation(projects.model)
+	implementation(projects.common)
 	implementation(projects.persistence)
+	implementation(projects.web)
 
 	// Spring Boot dependencies
 	implementation(local.springboot.starter)
 	implementation(local.springboot.starter.validation)
 	implementation(local.springboot.starter.webmvc)
 
+	// Jackson CBOR and Smile for binary request and response bodies
+	implementation(local.jackson.dataformat.cbor)
+	implementation(local.jackson.dataformat.smile)
+
+	// Spring Boot Actuator for exposing health and metrics endpoints
+	implementation(local.springboot.starter.actuator)
+
+	// Prometheus endpoint and Hibernate statistics for the metrics
+	runtimeOnly(local.micrometer.registry.prometheus)
+	runtimeOnly(local.hibernate.micrometer)
+
+	// Janino for the conditional file appender in logback-spring.xml
+	runtimeOnly(local.janino)
+
+	// Caffeine for caching customers in memory
+	implementation(local.caffeine)
+
 	// Spring Boot Liquibase dependency for database migrations
     implementation(local.springboot.starter.liquibase)
 
+	// Liquibase changelog shared with the reactive-api subproject
+	runtimeOnly(projects.schema)
+
 	// H2 database dependency for in-memory database
 	runtimeOnly(local.h2database)
 
@@ -33,10 +55,59 @@ dependencies {
     testImplementation(local.testcontainers.junit.jupiter)
 	testImplementation(local.testcontainers.postgresql)
 
+	// In-memory customer repository for testing the repository decorators
+	testImplementation(testFixtures(projects.model))
+
 	// JUnit platform launcher dependency for running JUnit tests
 	testRuntimeOnly(local.junit.platform.launcher)
 }
 
 tasks.test {
-	useJUnitPlatform()
+	useJUnitPlatform {
+		excludeTags("benchmark")
+	}
+}
+
+// Benchmarks are tagged with "benchmark" and are excluded from the regular test task.
+// They can be run with ./gradlew api:benchmark and configured with -Dbenchmark.* system properties.
+val benchmark by tasks.registering(Test::class) {
+	description = "Runs the benchmark tests."
+	group = "verification"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	systemProperties(providers.systemPropertiesPrefixedBy("benchmark.").get())
+	// A small heap ensures that benchmarks streaming large amounts of data keep memory usage flat.
+	maxHeapSize = "256m"
+	useJUnitPlatform {
+		includeTags("benchmark")
+	}
+	testLogging {
+		showStandardStreams = true
+	}
+	outputs.upToDateWhen { false }
+}
+
+// A JDK AOT cache is created with ./gradlew api:aotCache. The boot jar is extracted into build/aot
+// and docker/aot-training.sh starts it, exercises the customer endpoints and writes build/aot/app.aot.
+// Run it with java -XX:AOTCache=app.aot -jar api.jar from build/aot. The cache only works with the JDK
+// that created it, so the Docker image creates its own cache in a training stage.
+val aotCache by tasks.registering(Exec::class) {
+	description = "Creates a JDK AOT cache from a training run of the application."
+	group = "build"
+	val bootJar = tasks.bootJar.flatMap { it.archiveFile }
+	val outputDir = layout.buildDirectory.dir("aot")
+	val trainingScript = rootProject.layout.projectDirectory.file("docker/aot-training.sh")
+	val javaLauncher = javaToolchains.launcherFor(java.toolchain)
+	inputs.file(bootJar)
+	inputs.file(trainingScript)
+	outputs.dir(outputDir)
+	executable = "sh"
+	argumentProviders.add(CommandLineArgumentProvider {
+		listOf(
+			trainingScript.asFile.absolutePath,
+			outputDir.get().asFile.absolutePath,
+			bootJar.get().asFile.absolutePath
+		)
+	})
+	environment("JAVA", javaLauncher.get().executablePath.asFile.absolutePath)
 }
@@ -0,0 +1,160 @@
+package com.github.thorlauridsen.bulkhead;
+
+import com.github.thorlauridsen.exception.BulkheadFullException;
+import com.github.thorlauridsen.model.Customer;
+import com.github.thorlauridsen.model.CustomerInput;
+import com.github.thorlauridsen.model.CustomerSaveResult;
+import com.github.thorlauridsen.model.ICustomerRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.val;
+
+/**
+ * Customer repository decorator which limits the number of concurrent calls to the repository.
+ * <p>
+ * Every call needs a permit from a fair {@link Semaphore}, so waiting calls are served in order.
+ * The number of permits should match the size of the connection pool, so calls wait here
+ * in a bounded queue instead of piling up on connection acquisition in the pool.
+ * A call which cannot get a permit within the maximum wait is rejected with a {@link BulkheadFullException}.
+ * <p>
+ * The time spent waiting for a permit, the number of rejected calls and the number
+ * of calls in flight and waiting are registered as metrics.
+ */
+public class BulkheadCustomerRepo implements ICustomerRepo {
+
+    private final ICustomerRepo delegate;
+    private final Semaphore permits;
+    private final Duration maxWait;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    /**
+     * Constructor for bulkhead customer repository.
+     *
+     * @param delegate           {@link ICustomerRepo} to limit calls to.
+     * @param maxConcurrentCalls Maximum number of concurrent calls to the delegate.
+     * @param maxWait            How long a call waits for a permit before it is rejected.
+     * @param meterRegistry      {@link MeterRegistry} for registering bulkhead metrics.
+     */
+    public BulkheadCustomerRepo(
+            ICustomerRepo delegate,
+            int maxConcurrentCalls,
+            Duration maxWait,
+            MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+        this.maxWait = maxWait;
+        this.waitTimer = Timer.builder("customer.repo.bulkhead.wait")
+                .description("Time spent waiting for a permit to call the customer repository")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("customer.repo.bulkhead.rejected")
+                .description("Calls to the customer repository rejected because no permit was available in time")
+                .register(meterRegistry);
+        Gauge.builder("customer.repo.bulkhead.in.flight", permits, p -> maxConcurrentCalls - p.availablePermits())
+                .description("Calls to the customer repository currently holding a permit")
+                .register(meterRegistry);
+        Gauge.builder("customer.repo.bulkhead.queued", permits, Semaphore::getQueueLength)
+                .description("Calls to the customer repository currently waiting for a permit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Customer save(CustomerInput customerInput) {
+        return call(() -> delegate.save(customerInput));
+    }
+
+    @Override
+    public List<CustomerSaveResult> saveAll(List<CustomerInput> customerInputs) {
+        return call(() -> delegate.saveAll(customerInputs));
+    }
+
+    @Override
+    public Optional<Customer> findById(UUID id) {
+        return call(() -> delegate.findById(id));
+    }
+
+    @Override
+    public List<Customer> findAllById(List<UUID> ids) {
+        return call(() -> delegate.findAllById(ids));
+    }
+
+    @Override
+    public Optional<Long> findVersionById(UUID id) {
+        return call(() -> delegate.findVersionById(id));
+    }
+
+    @Override
+    public Optional<Customer> findByMail(String mail) {
+        return call(() -> delegate.findByMail(mail));
+    }
+
+    @Override
+    public boolean existsByMail(String mail) {
+        return call(() -> delegate.existsByMail(mail));
+    }
+
+    @Override
+    public List<Customer> findPage(UUID after, int limit) {
+        return call(() -> delegate.findPage(after, limit));
+    }
+
+    @Override
+    public void forEach(Consumer<Customer> action) {
+        call(() -> {
+            delegate.forEach(action);
+            return null;
+        });
+    }
+
+    /**
+     * Call the delegate while holding a permit.
+     *
+     * @param action Call to the delegate.
+     * @param <T>    Type of the result.
+     * @return Result of the call.
+     * @throws BulkheadFullException if no permit becomes available within the maximum wait.
+     */
+    private <T> T call(Supplier<T> action) {
+        acquire();
+        try {
+            return action.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Wait for a permit and record the time spent waiting.
+     *
+     * @throws BulkheadFullException if no permit becomes available within the maximum wait.
+     */
+    private void acquire() {
+        val start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (!acquired) {
+            rejectedCounter.increment();
+            throw new BulkheadFullException("Too many concurrent requests to the database, please retry later");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.thorlauridsen.bulkhead;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the customer repository bulkhead.
+ *
+ * @param enabled            Whether calls to the customer repository are limited by a bulkhead.
+ * @param maxConcurrentCalls Maximum number of concurrent repository calls,
+ *                           or 0 to use the maximum size of the connection pool.
+ * @param maxWait            How long a call waits for a permit before it is rejected.
+ */
+@ConfigurationProperties(prefix = "customer.bulkhead")
+public record CustomerBulkheadProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("0") int maxConcurrentCalls,
+        @DefaultValue("2s") Duration maxWait
+) {
+}
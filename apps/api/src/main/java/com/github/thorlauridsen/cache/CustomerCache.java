@@ -0,0 +1,86 @@
+package com.github.thorlauridsen.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.thorlauridsen.model.Customer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import lombok.val;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Customer cache backed by Caffeine.
+ * <p>
+ * The cache is bounded by {@link CustomerCacheProperties#maximumSize()} and entries expire after
+ * {@link CustomerCacheProperties#ttl()}. Customers that were not found are cached as empty entries
+ * which expire after {@link CustomerCacheProperties#negativeTtl()}.
+ * Concurrent lookups of the same id only call the loader once.
+ * <p>
+ * Hit, miss and eviction counts are registered as metrics with the name "customers".
+ * The cache is enabled unless customer.cache.enabled is set to false.
+ */
+@Component
+@ConditionalOnProperty(prefix = "customer.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CustomerCache implements ICustomerCache {
+
+    private final Cache<UUID, Optional<Customer>> cache;
+
+    /**
+     * Constructor for customer cache.
+     *
+     * @param properties    {@link CustomerCacheProperties} for configuring the cache.
+     * @param meterRegistry {@link MeterRegistry} for registering cache metrics.
+     */
+    public CustomerCache(CustomerCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(new CustomerExpiry(properties))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "customers");
+    }
+
+    @Override
+    public Optional<Customer> get(UUID id, Function<UUID, Optional<Customer>> loader) {
+        return cache.get(id, loader);
+    }
+
+    @Override
+    public Optional<Customer> getIfPresent(UUID id) {
+        val customer = cache.getIfPresent(id);
+        return customer != null ? customer : Optional.empty();
+    }
+
+    @Override
+    public void put(Customer customer) {
+        cache.put(customer.id(), Optional.of(customer));
+    }
+
+    /**
+     * Expiry policy which expires found and not found customers after different durations.
+     *
+     * @param properties {@link CustomerCacheProperties} containing the durations.
+     */
+    private record CustomerExpiry(CustomerCacheProperties properties) implements Expiry<UUID, Optional<Customer>> {
+
+        @Override
+        public long expireAfterCreate(UUID id, Optional<Customer> customer, long currentTime) {
+            return customer.isPresent() ? properties.ttl().toNanos() : properties.negativeTtl().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID id, Optional<Customer> customer, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, customer, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID id, Optional<Customer> customer, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
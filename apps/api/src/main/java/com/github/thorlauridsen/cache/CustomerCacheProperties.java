@@ -0,0 +1,22 @@
+package com.github.thorlauridsen.cache;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the customer cache.
+ *
+ * @param enabled     Whether customers are cached in memory.
+ * @param maximumSize Maximum number of entries in the cache before entries are evicted.
+ * @param ttl         How long a found customer is cached.
+ * @param negativeTtl How long a customer that was not found is cached.
+ */
+@ConfigurationProperties(prefix = "customer.cache")
+public record CustomerCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("5m") Duration ttl,
+        @DefaultValue("30s") Duration negativeTtl
+) {
+}
@@ -0,0 +1,41 @@
+package com.github.thorlauridsen.cache;
+
+import com.github.thorlauridsen.model.Customer;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Customer cache interface.
+ * This is an interface for a read-through cache of customers.
+ * The implementation can be swapped out or disabled through configuration.
+ */
+public interface ICustomerCache {
+
+    /**
+     * Get a customer by id.
+     * If the customer is not cached, the loader is used to look up the customer and the result is cached.
+     * A customer that does not exist can also be cached, so repeated lookups do not hit the loader.
+     *
+     * @param id     UUID of the customer.
+     * @param loader Function for looking up a customer that is not cached.
+     * @return {@link Optional} of {@link Customer}.
+     */
+    Optional<Customer> get(UUID id, Function<UUID, Optional<Customer>> loader);
+
+    /**
+     * Get a customer by id if it is cached.
+     * The loader is never called, so a customer that is not cached is not looked up.
+     *
+     * @param id UUID of the customer.
+     * @return {@link Optional} of {@link Customer}, empty if the customer is not cached or was cached as not found.
+     */
+    Optional<Customer> getIfPresent(UUID id);
+
+    /**
+     * Put a customer in the cache.
+     *
+     * @param customer {@link Customer} to cache.
+     */
+    void put(Customer customer);
+}
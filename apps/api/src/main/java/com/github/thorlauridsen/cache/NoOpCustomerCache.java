@@ -0,0 +1,33 @@
+package com.github.thorlauridsen.cache;
+
+import com.github.thorlauridsen.model.Customer;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Customer cache which does not cache anything.
+ * Every lookup is passed directly to the loader.
+ * This is used when customer.cache.enabled is set to false.
+ */
+@Component
+@ConditionalOnProperty(prefix = "customer.cache", name = "enabled", havingValue = "false")
+public class NoOpCustomerCache implements ICustomerCache {
+
+    @Override
+    public Optional<Customer> get(UUID id, Function<UUID, Optional<Customer>> loader) {
+        return loader.apply(id);
+    }
+
+    @Override
+    public Optional<Customer> getIfPresent(UUID id) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(Customer customer) {
+        // Nothing is cached
+    }
+}
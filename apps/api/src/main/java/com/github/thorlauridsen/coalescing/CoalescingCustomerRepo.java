@@ -0,0 +1,292 @@
+package com.github.thorlauridsen.coalescing;
+
+import com.github.thorlauridsen.exception.CustomerLookupFailedException;
+import com.github.thorlauridsen.model.Customer;
+import com.github.thorlauridsen.model.CustomerInput;
+import com.github.thorlauridsen.model.CustomerSaveResult;
+import com.github.thorlauridsen.model.ICustomerRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.val;
+
+/**
+ * Customer repository decorator which coalesces concurrent lookups by id into multi-id queries.
+ * <p>
+ * The first lookup which finds no open batch opens one and becomes its leader. The leader waits for
+ * the window to end while other lookups join the batch, and then looks up all ids of the batch with
+ * a single {@link ICustomerRepo#findAllById(List)} call. A batch which reaches the maximum batch size
+ * is looked up right away by the lookup that filled it. Lookups of an id which is already part of
+ * an open or running batch share the result of that batch instead of looking up the id again.
+ * <p>
+ * A lookup whose batch is not looked up within the timeout fails with a {@link CustomerLookupFailedException},
+ * so a stuck query cannot block the lookups of its batch forever.
+ * <p>
+ * The time batches stay open, the number of ids per batch, the number of queries and the number
+ * of lookups which shared a result are registered as metrics. All other calls are passed
+ * directly to the delegate.
+ */
+public class CoalescingCustomerRepo implements ICustomerRepo {
+
+    private final ICustomerRepo delegate;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Duration timeout;
+    private final Map<UUID, CompletableFuture<Optional<Customer>>> inFlight = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Timer windowTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter queryCounter;
+    private final Counter sharedCounter;
+    private Batch openBatch;
+
+    /**
+     * Constructor for coalescing customer repository.
+     *
+     * @param delegate      {@link ICustomerRepo} to look up the batches with.
+     * @param window        How long the leader of a batch waits for other lookups to join the batch.
+     * @param maxBatchSize  Number of ids at which a batch is looked up without waiting for the window to end.
+     * @param timeout       How long a lookup waits for its batch to be looked up before it fails.
+     * @param meterRegistry {@link MeterRegistry} for registering coalescing metrics.
+     */
+    public CoalescingCustomerRepo(
+            ICustomerRepo delegate,
+            Duration window,
+            int maxBatchSize,
+            Duration timeout,
+            MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.timeout = timeout;
+        this.windowTimer = Timer.builder("customer.repo.coalescing.window")
+                .description("Time a batch of customer lookups was open before it was looked up")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("customer.repo.coalescing.batch.size")
+                .description("Number of customer ids looked up in a single query")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queryCounter = Counter.builder("customer.repo.coalescing.queries")
+                .description("Queries looking up a batch of customer ids")
+                .register(meterRegistry);
+        this.sharedCounter = Counter.builder("customer.repo.coalescing.shared")
+                .description("Customer lookups which shared the result of an id already being looked up")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Customer save(CustomerInput customerInput) {
+        return delegate.save(customerInput);
+    }
+
+    @Override
+    public List<CustomerSaveResult> saveAll(List<CustomerInput> customerInputs) {
+        return delegate.saveAll(customerInputs);
+    }
+
+    /**
+     * Find a customer by id as part of a batch of concurrent lookups.
+     *
+     * @param id UUID of the customer.
+     * @return {@link Optional} of {@link Customer}.
+     * @throws CustomerLookupFailedException if the batch was not looked up in time.
+     */
+    @Override
+    public Optional<Customer> findById(UUID id) {
+        CompletableFuture<Optional<Customer>> result;
+        Batch ledBatch = null;
+        Batch fullBatch = null;
+
+        lock.lock();
+        try {
+            result = inFlight.get(id);
+            if (result != null) {
+                sharedCounter.increment();
+            } else {
+                if (openBatch == null) {
+                    openBatch = new Batch(System.nanoTime());
+                    ledBatch = openBatch;
+                }
+                result = new CompletableFuture<>();
+                openBatch.lookups.put(id, result);
+                inFlight.put(id, result);
+                if (openBatch.lookups.size() >= maxBatchSize) {
+                    fullBatch = openBatch;
+                    openBatch = null;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (fullBatch != null) {
+            lookUp(fullBatch);
+        } else if (ledBatch != null) {
+            awaitWindow();
+            if (close(ledBatch)) {
+                lookUp(ledBatch);
+            }
+        }
+        return await(result);
+    }
+
+    @Override
+    public List<Customer> findAllById(List<UUID> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public Optional<Long> findVersionById(UUID id) {
+        return delegate.findVersionById(id);
+    }
+
+    @Override
+    public Optional<Customer> findByMail(String mail) {
+        return delegate.findByMail(mail);
+    }
+
+    @Override
+    public boolean existsByMail(String mail) {
+        return delegate.existsByMail(mail);
+    }
+
+    @Override
+    public List<Customer> findPage(UUID after, int limit) {
+        return delegate.findPage(after, limit);
+    }
+
+    @Override
+    public void forEach(Consumer<Customer> action) {
+        delegate.forEach(action);
+    }
+
+    /**
+     * Wait for the window of a batch to end.
+     * If the thread is interrupted, the batch is looked up right away.
+     */
+    private void awaitWindow() {
+        if (windowNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(windowNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Close a batch so no more lookups can join it.
+     *
+     * @param batch {@link Batch} to close.
+     * @return true if the batch was still open, false if it was already closed because it was full.
+     */
+    private boolean close(Batch batch) {
+        lock.lock();
+        try {
+            if (openBatch != batch) {
+                return false;
+            }
+            openBatch = null;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Look up all ids of a closed batch with a single query and complete the lookups of the batch.
+     * If the query fails, including with an {@link Error}, every lookup of the batch fails with the same
+     * exception. Every lookup of the batch is removed from the in-flight lookups and completed afterwards,
+     * so no lookup waits forever and later lookups of the same ids are not joined to a failed batch.
+     *
+     * @param batch Closed {@link Batch} to look up.
+     */
+    private void lookUp(Batch batch) {
+        windowTimer.record(System.nanoTime() - batch.openedAt, TimeUnit.NANOSECONDS);
+        batchSizeSummary.record(batch.lookups.size());
+        queryCounter.increment();
+
+        try {
+            val customers = delegate.findAllById(List.copyOf(batch.lookups.keySet()))
+                    .stream()
+                    .collect(Collectors.toMap(Customer::id, Function.identity()));
+            batch.lookups.forEach((id, result) -> result.complete(Optional.ofNullable(customers.get(id))));
+        } catch (Throwable e) {
+            batch.lookups.values().forEach(result -> result.completeExceptionally(e));
+        } finally {
+            batch.lookups.forEach((id, result) -> {
+                inFlight.remove(id, result);
+                if (!result.isDone()) {
+                    result.completeExceptionally(
+                            new CustomerLookupFailedException("No result was returned for the customer by its batch")
+                    );
+                }
+            });
+        }
+    }
+
+    /**
+     * Wait for the result of a lookup for at most the timeout.
+     * The exception a query failed with is rethrown as is if it is unchecked.
+     *
+     * @param result Result of the lookup.
+     * @return {@link Optional} of {@link Customer}.
+     * @throws CustomerLookupFailedException if the batch was not looked up in time or the wait was interrupted.
+     */
+    private Optional<Customer> await(CompletableFuture<Optional<Customer>> result) {
+        try {
+            return result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new CustomerLookupFailedException("Batch of the customer was not looked up within " + timeout, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomerLookupFailedException("Interrupted while waiting for the batch of the customer", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new CustomerLookupFailedException("Batch of the customer failed", e.getCause());
+        }
+    }
+
+    /**
+     * Batch of lookups by id which are looked up together.
+     * The lookups are only modified while holding the lock, and only read once the batch is closed.
+     */
+    private static final class Batch {
+
+        private final long openedAt;
+        private final Map<UUID, CompletableFuture<Optional<Customer>>> lookups = new LinkedHashMap<>();
+
+        /**
+         * Constructor for a batch.
+         *
+         * @param openedAt Time the batch was opened as given by {@link System#nanoTime()}.
+         */
+        private Batch(long openedAt) {
+            this.openedAt = openedAt;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.thorlauridsen.coalescing;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for coalescing concurrent customer lookups by id.
+ *
+ * @param enabled      Whether concurrent lookups by id are coalesced into multi-id queries.
+ * @param window       How long the first lookup of a batch waits for other lookups to join the batch.
+ * @param maxBatchSize Number of ids at which a batch is looked up without waiting for the window to end.
+ * @param timeout      How long a lookup waits for its batch to be looked up before it fails.
+ */
+@ConfigurationProperties(prefix = "customer.coalescing")
+public record CustomerCoalescingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("2ms") Duration window,
+        @DefaultValue("100") int maxBatchSize,
+        @DefaultValue("30s") Duration timeout
+) {
+}
@@ -0,0 +1,86 @@
+package com.github.thorlauridsen.config;
+
+import com.github.thorlauridsen.limit.AdaptiveConcurrencyLimiter;
+import com.github.thorlauridsen.limit.ConcurrencyLimitInterceptor;
+import com.github.thorlauridsen.limit.CustomerConcurrencyLimitProperties;
+import com.github.thorlauridsen.limit.VegasLimit;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.val;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import static com.github.thorlauridsen.web.BaseEndpoint.CUSTOMER_BASE_ENDPOINT;
+
+/**
+ * Configuration of the adaptive concurrency limits of the customer endpoints.
+ * <p>
+ * If customer.concurrency-limit.enabled is set to true, a {@link ConcurrencyLimitInterceptor} with
+ * separate limits for reads and writes is registered for the customer endpoints. The export and import
+ * are not limited, since they stream for as long as there are customers to transfer and their latency
+ * says nothing about how loaded the database is. The limiters are registered as beans,
+ * so they can be looked up by name.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "customer.concurrency-limit", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final CustomerConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor for concurrency limit configuration.
+     *
+     * @param properties    {@link CustomerConcurrencyLimitProperties} for configuring the limits.
+     * @param meterRegistry {@link MeterRegistry} for registering limiter metrics.
+     */
+    public ConcurrencyLimitConfig(CustomerConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Limiter admitting requests which only read customers.
+     *
+     * @return {@link AdaptiveConcurrencyLimiter} for reads.
+     */
+    @Bean
+    public AdaptiveConcurrencyLimiter readConcurrencyLimiter() {
+        return new AdaptiveConcurrencyLimiter("read", limit(properties), meterRegistry);
+    }
+
+    /**
+     * Limiter admitting requests which create or change customers.
+     *
+     * @return {@link AdaptiveConcurrencyLimiter} for writes.
+     */
+    @Bean
+    public AdaptiveConcurrencyLimiter writeConcurrencyLimiter() {
+        return new AdaptiveConcurrencyLimiter("write", limit(properties), meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        val interceptor = new ConcurrencyLimitInterceptor(
+                readConcurrencyLimiter(),
+                writeConcurrencyLimiter(),
+                properties.retryAfter()
+        );
+        registry.addInterceptor(interceptor)
+                .addPathPatterns(CUSTOMER_BASE_ENDPOINT, CUSTOMER_BASE_ENDPOINT + "/**")
+                .excludePathPatterns(CUSTOMER_BASE_ENDPOINT + "/export", CUSTOMER_BASE_ENDPOINT + "/import");
+    }
+
+    /**
+     * Create a {@link VegasLimit} with the configured limits.
+     *
+     * @param properties {@link CustomerConcurrencyLimitProperties} with the limits.
+     * @return {@link VegasLimit}.
+     */
+    private static VegasLimit limit(CustomerConcurrencyLimitProperties properties) {
+        return new VegasLimit(properties.initialLimit(), properties.minLimit(), properties.maxLimit());
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.thorlauridsen.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration of the media types of request and response bodies.
+ * <p>
+ * With Jackson CBOR and Smile on the class path, Spring MVC registers message converters for
+ * application/cbor and application/x-jackson-smile next to the JSON converter. A client selects
+ * a format with the Accept header for responses and the Content-Type header for request bodies,
+ * and the same data transfer objects, validation and error handling are used for every format.
+ * <p>
+ * Requests without an Accept header, or accepting any media type, are answered with JSON.
+ * Endpoints which only produce another media type, such as the export, still match these requests.
+ */
+@Configuration
+public class ContentNegotiationConfig implements WebMvcConfigurer {
+
+    @Override
+    public void configureContentNegotiation(@NonNull ContentNegotiationConfigurer configurer) {
+        configurer.defaultContentType(MediaType.APPLICATION_JSON, MediaType.ALL);
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.thorlauridsen.config;
+
+import com.github.thorlauridsen.bulkhead.BulkheadCustomerRepo;
+import com.github.thorlauridsen.bulkhead.CustomerBulkheadProperties;
+import com.github.thorlauridsen.coalescing.CoalescingCustomerRepo;
+import com.github.thorlauridsen.coalescing.CustomerCoalescingProperties;
+import com.github.thorlauridsen.groupcommit.CustomerGroupCommitProperties;
+import com.github.thorlauridsen.groupcommit.GroupCommitCustomerRepo;
+import com.github.thorlauridsen.metrics.TimedCustomerRepo;
+import com.github.thorlauridsen.model.ICustomerRepo;
+import com.github.thorlauridsen.persistence.CustomerRepo;
+import com.github.thorlauridsen.persistence.CustomerRepoProperties;
+import com.github.thorlauridsen.persistence.JdbcCustomerRepo;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Configuration of the {@link ICustomerRepo} used by the application.
+ * <p>
+ * The {@link CustomerRepo} or the {@link JdbcCustomerRepo} from the persistence subproject,
+ * selected by customer.repo.implementation, is wrapped in decorators
+ * which add behaviour around every repository call. The outermost decorator is registered
+ * as the {@link Primary} {@link ICustomerRepo}, so it is injected wherever a repository is needed.
+ */
+@Configuration
+@Slf4j
+public class CustomerRepoConfig {
+
+    /**
+     * Wrap the customer repository in its decorators.
+     * <p>
+     * Every call is timed by a {@link TimedCustomerRepo}. If customer.bulkhead.enabled is set to true,
+     * calls are also limited by a {@link BulkheadCustomerRepo}. The bulkhead is the outer decorator,
+     * so time spent waiting for a permit is not included in the repository timings.
+     * Unless configured otherwise, the bulkhead allows as many concurrent calls as there are connections in the pool.
+     * <p>
+     * If customer.coalescing.enabled is set to true, concurrent lookups by id are coalesced by a
+     * {@link CoalescingCustomerRepo}. It wraps the bulkhead and the timings, so a whole batch of lookups
+     * only needs a single bulkhead permit and is timed as a single repository call.
+     * <p>
+     * If customer.group-commit.enabled is set to true, concurrent saves of single customers are committed
+     * together by a {@link GroupCommitCustomerRepo}. It is the outermost decorator, so a whole batch of saves
+     * is committed with a single bulkhead permit.
+     *
+     * @param customerRepo          {@link CustomerRepo} to wrap when customer.repo.implementation is jpa.
+     * @param jdbcCustomerRepo      {@link JdbcCustomerRepo} to wrap when customer.repo.implementation is jdbc.
+     * @param repoProperties        {@link CustomerRepoProperties} for selecting the repository implementation.
+     * @param bulkheadProperties    {@link CustomerBulkheadProperties} for configuring the bulkhead.
+     * @param coalescingProperties  {@link CustomerCoalescingProperties} for configuring lookup coalescing.
+     * @param groupCommitProperties {@link CustomerGroupCommitProperties} for configuring group commits.
+     * @param poolSize              Maximum size of the connection pool.
+     * @param meterRegistry         {@link MeterRegistry} for registering metrics.
+     * @return Outermost {@link ICustomerRepo} decorator.
+     */
+    @Bean
+    @Primary
+    public ICustomerRepo primaryCustomerRepo(
+            CustomerRepo customerRepo,
+            JdbcCustomerRepo jdbcCustomerRepo,
+            CustomerRepoProperties repoProperties,
+            CustomerBulkheadProperties bulkheadProperties,
+            CustomerCoalescingProperties coalescingProperties,
+            CustomerGroupCommitProperties groupCommitProperties,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            MeterRegistry meterRegistry
+    ) {
+        log.info("Using {} customer repository", repoProperties.implementation());
+        ICustomerRepo repo = switch (repoProperties.implementation()) {
+            case JPA -> customerRepo;
+            case JDBC -> jdbcCustomerRepo;
+        };
+        repo = new TimedCustomerRepo(repo, meterRegistry);
+
+        if (bulkheadProperties.enabled()) {
+            val maxConcurrentCalls = bulkheadProperties.maxConcurrentCalls() > 0
+                    ? bulkheadProperties.maxConcurrentCalls()
+                    : poolSize;
+            log.info("Limiting customer repository to {} concurrent calls", maxConcurrentCalls);
+            repo = new BulkheadCustomerRepo(repo, maxConcurrentCalls, bulkheadProperties.maxWait(), meterRegistry);
+        }
+
+        if (coalescingProperties.enabled()) {
+            log.info("Coalescing customer lookups by id within {} into batches of up to {} ids",
+                    coalescingProperties.window(),
+                    coalescingProperties.maxBatchSize());
+            repo = new CoalescingCustomerRepo(
+                    repo,
+                    coalescingProperties.window(),
+                    coalescingProperties.maxBatchSize(),
+                    coalescingProperties.timeout(),
+                    meterRegistry
+            );
+        }
+
+        if (groupCommitProperties.enabled()) {
+            log.info("Committing customer saves within {} together in batches of up to {} customers",
+                    groupCommitProperties.window(),
+                    groupCommitProperties.maxBatchSize());
+            repo = new GroupCommitCustomerRepo(
+                    repo,
+                    groupCommitProperties.window(),
+                    groupCommitProperties.maxBatchSize(),
+                    groupCommitProperties.timeout(),
+                    meterRegistry
+            );
+        }
+        return repo;
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.thorlauridsen.controller;
+
+import java.util.Locale;
+import lombok.val;
+
+/**
+ * Parser of the Accept-Encoding request header.
+ * <p>
+ * The header is a comma separated list of content codings, each optionally followed by parameters
+ * such as a q-value between 0 and 1. A coding with a q-value of 0 is not acceptable. A coding which is
+ * not listed is acceptable if the wildcard {@code *} is listed with a q-value above 0. Codings are
+ * compared case-insensitively, and x-gzip is treated as gzip.
+ */
+public final class AcceptEncoding {
+
+    private AcceptEncoding() {
+    }
+
+    /**
+     * Check whether the client accepts gzip encoded responses.
+     *
+     * @param acceptEncoding Accept-Encoding header of the request, or null if the header was not sent.
+     * @return true if gzip is listed, directly or through the wildcard, with a q-value above 0.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        var gzipQuality = -1.0;
+        var wildcardQuality = -1.0;
+        for (val element : acceptEncoding.split(",")) {
+            val parts = element.split(";");
+            val coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = Math.max(gzipQuality, quality(parts));
+            } else if (coding.equals("*")) {
+                wildcardQuality = Math.max(wildcardQuality, quality(parts));
+            }
+        }
+        return gzipQuality >= 0 ? gzipQuality > 0 : wildcardQuality > 0;
+    }
+
+    /**
+     * Get the q-value of a coding from its parameters.
+     * A coding without a q-value has a q-value of 1, and a malformed q-value is treated as 0,
+     * so a coding is never used when the client may have meant to refuse it.
+     *
+     * @param parts Coding followed by its parameters.
+     * @return q-value between 0 and 1.
+     */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            val parameter = parts[i].trim();
+            if (parameter.length() < 2 || Character.toLowerCase(parameter.charAt(0)) != 'q'
+                    || parameter.charAt(1) != '=') {
+                continue;
+            }
+            try {
+                val quality = Double.parseDouble(parameter.substring(2).trim());
+                return quality >= 0 && quality <= 1 ? quality : 0;
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 1;
+    }
+}
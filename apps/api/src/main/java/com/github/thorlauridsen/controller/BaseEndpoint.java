@@ -1,11 +0,0 @@
-package com.github.thorlauridsen.controller;
-
-import lombok.experimental.UtilityClass;
-
-/**
- * This class contains the base endpoint constant for the customer controller.
- */
-@UtilityClass
-public class BaseEndpoint {
-    public static final String CUSTOMER_BASE_ENDPOINT = "/customers";
-}
@@ -1,18 +1,48 @@
 package com.github.thorlauridsen.controller;
 
-import com.github.thorlauridsen.dto.CustomerDto;
-import com.github.thorlauridsen.dto.CustomerInputDto;
-import com.github.thorlauridsen.exception.CustomerNotFoundException;
+import com.github.thorlauridsen.exception.InvalidCustomerIdsException;
+import com.github.thorlauridsen.exception.TooManyCustomerIdsException;
+import com.github.thorlauridsen.importer.CustomerImportFormat;
+import com.github.thorlauridsen.importer.CustomerImporter;
+import com.github.thorlauridsen.model.Customer;
+import com.github.thorlauridsen.model.CustomerInput;
 import com.github.thorlauridsen.service.CustomerService;
+import com.github.thorlauridsen.validation.CustomerInputValidator;
+import com.github.thorlauridsen.web.dto.CustomerBatchItemDto;
+import com.github.thorlauridsen.web.dto.CustomerBatchResultDto;
+import com.github.thorlauridsen.web.dto.CustomerDto;
+import com.github.thorlauridsen.web.dto.CustomerImportResultDto;
+import com.github.thorlauridsen.web.dto.CustomerInputDto;
+import com.github.thorlauridsen.web.dto.CustomerLookupDto;
+import com.github.thorlauridsen.web.dto.CustomerPageDto;
+import com.github.thorlauridsen.web.exception.CustomerAlreadyExistsException;
+import com.github.thorlauridsen.web.exception.CustomerNotFoundException;
 import jakarta.validation.Valid;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
-import static com.github.thorlauridsen.controller.BaseEndpoint.CUSTOMER_BASE_ENDPOINT;
+import static com.github.thorlauridsen.web.BaseEndpoint.APPLICATION_NDJSON_VALUE;
+import static com.github.thorlauridsen.web.BaseEndpoint.CUSTOMER_BASE_ENDPOINT;
 
 /**
  * Customer controller class.
@@ -24,7 +54,13 @@ import static com.github.thorlauridsen.controller.BaseEndpoint.CUSTOMER_BASE_END
 @RequiredArgsConstructor
 public class CustomerController implements ICustomerController {
 
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     private final CustomerService customerService;
+    private final CustomerInputValidator customerInputValidator;
+    private final CustomerImporter customerImporter;
+    private final JsonMapper jsonMapper;
+    private final CustomerHttpCacheProperties httpCacheProperties;
 
     /**
      * Save method for customer.
@@ -33,26 +69,230 @@ public class CustomerController implements ICustomerController {
      *
      * @param customerInput Input object for creating a customer.
      * @return {@link ResponseEntity} with URI location and {@link CustomerDto}.
+     * @throws CustomerAlreadyExistsException if a customer with the same mail address already exists.
      */
     @Override
-    public ResponseEntity<CustomerDto> save(@Valid CustomerInputDto customerInput) {
+    public ResponseEntity<CustomerDto> save(
+            @Valid CustomerInputDto customerInput
+    ) throws CustomerAlreadyExistsException {
         val customer = customerService.save(customerInput.toModel());
         val location = URI.create(CUSTOMER_BASE_ENDPOINT + "/" + customer.id());
 
         return ResponseEntity.created(location).body(CustomerDto.fromModel(customer));
     }
 
+    /**
+     * Save method for multiple customers.
+     * Validates each customer and saves the valid customers in batches.
+     * Invalid customers are reported in the result without being saved.
+     *
+     * @param customerInputs List of input objects for creating customers.
+     * @return {@link ResponseEntity} with {@link CustomerBatchResultDto}.
+     */
+    @Override
+    public ResponseEntity<CustomerBatchResultDto> saveBatch(List<CustomerInputDto> customerInputs) {
+        val items = new CustomerBatchItemDto[customerInputs.size()];
+        val validIndexes = new ArrayList<Integer>(customerInputs.size());
+        val validInputs = new ArrayList<CustomerInput>(customerInputs.size());
+
+        for (int i = 0; i < customerInputs.size(); i++) {
+            val customerInput = customerInputs.get(i);
+            val fieldErrors = customerInputValidator.validate(customerInput);
+            if (fieldErrors.isEmpty()) {
+                validIndexes.add(i);
+                validInputs.add(customerInput.toModel());
+            } else {
+                items[i] = CustomerBatchItemDto.invalid(i, fieldErrors);
+            }
+        }
+
+        val results = customerService.saveAll(validInputs);
+        for (int i = 0; i < results.size(); i++) {
+            val index = validIndexes.get(i);
+            items[index] = CustomerBatchItemDto.fromModel(index, results.get(i));
+        }
+        return ResponseEntity.ok(CustomerBatchResultDto.fromItems(Arrays.asList(items)));
+    }
+
+    /**
+     * Get multiple customers given their ids.
+     * This method will convert the model to a DTO and return it.
+     *
+     * @param ids List of UUIDs of the customers to retrieve.
+     * @return {@link ResponseEntity} with {@link CustomerLookupDto}.
+     * @throws TooManyCustomerIdsException if too many ids are given.
+     * @throws InvalidCustomerIdsException  if an id is null.
+     */
+    @Override
+    public ResponseEntity<CustomerLookupDto> lookup(List<UUID> ids)
+            throws TooManyCustomerIdsException, InvalidCustomerIdsException {
+        val lookup = customerService.findAllById(ids);
+        return ResponseEntity.ok(CustomerLookupDto.fromModel(lookup));
+    }
+
     /**
      * Get a customer given an id.
+     * This method will convert the model to a DTO and return it with a strong ETag of the customer version.
+     * <p>
+     * If the request has an If-None-Match header, only the version of the customer is looked up.
+     * When it matches, 304 Not Modified is returned without loading or serialising the customer.
+     * The response varies by the Accept header, since the customer can be returned in several formats.
+     *
+     * @param id          UUID of the customer to retrieve.
+     * @param ifNoneMatch If-None-Match header of the request.
+     * @return {@link ResponseEntity} with {@link CustomerDto}, or without a body if the customer is not modified.
+     * @throws CustomerNotFoundException if the customer is not found.
+     */
+    @Override
+    public ResponseEntity<CustomerDto> get(UUID id, String ifNoneMatch) throws CustomerNotFoundException {
+        if (ifNoneMatch != null) {
+            val eTag = eTag(customerService.findVersionById(id));
+            if (matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag.toString())
+                        .cacheControl(cacheControl())
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .build();
+            }
+        }
+
+        val customer = customerService.findById(id);
+        return ResponseEntity.ok()
+                .eTag(eTag(customer.version()).toString())
+                .cacheControl(cacheControl())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(CustomerDto.fromModel(customer));
+    }
+
+    /**
+     * Get a customer given a mail address.
      * This method will convert the model to a DTO and return it.
      *
-     * @param id UUID of the customer to retrieve.
+     * @param mail Mail address of the customer to retrieve.
      * @return {@link ResponseEntity} with {@link CustomerDto}.
      * @throws CustomerNotFoundException if the customer is not found.
      */
     @Override
-    public ResponseEntity<CustomerDto> get(UUID id) throws CustomerNotFoundException {
-        val customer = customerService.findById(id);
+    public ResponseEntity<CustomerDto> getByMail(String mail) throws CustomerNotFoundException {
+        val customer = customerService.findByMail(mail);
         return ResponseEntity.ok(CustomerDto.fromModel(customer));
     }
+
+    /**
+     * Get a page of customers ordered by id.
+     * This method will convert the model to a DTO and return it.
+     *
+     * @param after UUID cursor of the last customer on the previous page.
+     * @param limit Maximum number of customers on the page.
+     * @return {@link ResponseEntity} with {@link CustomerPageDto}.
+     */
+    @Override
+    public ResponseEntity<CustomerPageDto> list(UUID after, int limit) {
+        val page = customerService.findPage(after, limit);
+        return ResponseEntity.ok(CustomerPageDto.fromModel(page));
+    }
+
+    /**
+     * Export all customers as newline delimited JSON.
+     * The customers are written to the response as they are read from the database,
+     * so memory usage does not depend on the number of customers.
+     * The response is gzip compressed if the client accepts gzip encoding with a q-value above 0.
+     * Either way it varies by Accept-Encoding, so caches do not serve one encoding to clients asking for another.
+     *
+     * @param acceptEncoding Accept-Encoding header of the request.
+     * @return {@link ResponseEntity} with a streaming body of {@link CustomerDto} lines.
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> export(String acceptEncoding) {
+        val gzip = AcceptEncoding.acceptsGzip(acceptEncoding);
+        val response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, EXPORT_BUFFER_SIZE) : outputStream;
+            val buffered = new BufferedOutputStream(target, EXPORT_BUFFER_SIZE);
+
+            customerService.forEach(customer -> writeLine(buffered, customer));
+            buffered.flush();
+            if (target instanceof GZIPOutputStream gzipOutputStream) {
+                gzipOutputStream.finish();
+            }
+        };
+        return response.body(body);
+    }
+
+    /**
+     * Import customers from newline delimited JSON or CSV.
+     * The request body is streamed through the {@link CustomerImporter}.
+     *
+     * @param contentType Content type of the request body.
+     * @param body        {@link InputStream} of the request body.
+     * @return {@link ResponseEntity} with {@link CustomerImportResultDto}.
+     * @throws IOException if the request body cannot be read.
+     */
+    @Override
+    public ResponseEntity<CustomerImportResultDto> importCustomers(
+            String contentType,
+            InputStream body
+    ) throws IOException {
+        val format = CustomerImportFormat.fromContentType(contentType);
+        return ResponseEntity.ok(customerImporter.importCustomers(body, format));
+    }
+
+    /**
+     * Create the strong entity tag of a customer version.
+     *
+     * @param version Version of the customer.
+     * @return {@link ETag} of the version.
+     */
+    private static ETag eTag(long version) {
+        return new ETag(Long.toString(version), false);
+    }
+
+    /**
+     * Check whether an If-None-Match header matches an entity tag.
+     * Entity tags are compared with the weak comparison required for If-None-Match.
+     *
+     * @param ifNoneMatch If-None-Match header of the request.
+     * @param eTag        Current {@link ETag} of the customer.
+     * @return true if the header is a wildcard or contains the entity tag.
+     */
+    private static boolean matches(String ifNoneMatch, ETag eTag) {
+        return ETag.parse(ifNoneMatch).stream()
+                .anyMatch(candidate -> candidate.isWildcard() || candidate.compare(eTag, false));
+    }
+
+    /**
+     * Get the Cache-Control header of a customer.
+     * Customers may be cached by any cache, but must be revalidated once {@link CustomerHttpCacheProperties#maxAge()}
+     * has passed. With a max age of zero, they must be revalidated on every use.
+     *
+     * @return {@link CacheControl}.
+     */
+    private CacheControl cacheControl() {
+        val maxAge = httpCacheProperties.maxAge();
+        if (maxAge.isZero()) {
+            return CacheControl.noCache().cachePublic();
+        }
+        return CacheControl.maxAge(maxAge).cachePublic().mustRevalidate();
+    }
+
+    /**
+     * Write a customer as a single line of JSON.
+     *
+     * @param outputStream {@link OutputStream} to write to.
+     * @param customer     {@link Customer} to write.
+     */
+    private void writeLine(OutputStream outputStream, Customer customer) {
+        try {
+            outputStream.write(jsonMapper.writeValueAsBytes(CustomerDto.fromModel(customer)));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,17 @@
+package com.github.thorlauridsen.controller;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for HTTP caching of customers.
+ *
+ * @param maxAge How long clients may reuse a customer without revalidating it.
+ *               With zero, clients must revalidate on every use with the entity tag.
+ */
+@ConfigurationProperties(prefix = "customer.http-cache")
+public record CustomerHttpCacheProperties(
+        @DefaultValue("0s") Duration maxAge
+) {
+}
@@ -1,9 +1,17 @@
 package com.github.thorlauridsen.controller;
 
-import com.github.thorlauridsen.dto.CustomerDto;
-import com.github.thorlauridsen.dto.CustomerInputDto;
-import com.github.thorlauridsen.dto.ErrorDto;
-import com.github.thorlauridsen.exception.CustomerNotFoundException;
+import com.github.thorlauridsen.exception.InvalidCustomerIdsException;
+import com.github.thorlauridsen.exception.TooManyCustomerIdsException;
+import com.github.thorlauridsen.service.CustomerService;
+import com.github.thorlauridsen.web.dto.CustomerBatchResultDto;
+import com.github.thorlauridsen.web.dto.CustomerDto;
+import com.github.thorlauridsen.web.dto.CustomerImportResultDto;
+import com.github.thorlauridsen.web.dto.CustomerInputDto;
+import com.github.thorlauridsen.web.dto.CustomerLookupDto;
+import com.github.thorlauridsen.web.dto.CustomerPageDto;
+import com.github.thorlauridsen.web.dto.ErrorDto;
+import com.github.thorlauridsen.web.exception.CustomerAlreadyExistsException;
+import com.github.thorlauridsen.web.exception.CustomerNotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,16 +19,25 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.UUID;
 
-import static com.github.thorlauridsen.controller.BaseEndpoint.CUSTOMER_BASE_ENDPOINT;
+import static com.github.thorlauridsen.web.BaseEndpoint.APPLICATION_NDJSON_VALUE;
+import static com.github.thorlauridsen.web.BaseEndpoint.CUSTOMER_BASE_ENDPOINT;
+import static com.github.thorlauridsen.web.BaseEndpoint.TEXT_CSV_VALUE;
 
 /**
  * Customer controller interface.
@@ -39,6 +56,7 @@ public interface ICustomerController {
      * Save a customer.
      *
      * @return {@link ResponseEntity} with {@link CustomerDto}.
+     * @throws CustomerAlreadyExistsException if a customer with the same mail address already exists.
      */
     @PostMapping
     @Operation(
@@ -49,24 +67,82 @@ public interface ICustomerController {
             responseCode = "201",
             description = "Customer successfully created"
     )
-    ResponseEntity<CustomerDto> save(@Valid @RequestBody CustomerInputDto customer);
+    @ApiResponse(
+            responseCode = "409",
+            description = "Customer already exists with given mail address",
+            content = @Content(schema = @Schema(implementation = ErrorDto.class))
+    )
+    ResponseEntity<CustomerDto> save(
+            @Valid @RequestBody CustomerInputDto customer
+    ) throws CustomerAlreadyExistsException;
+
+    /**
+     * Save multiple customers.
+     * Each customer is validated and saved independently,
+     * so an invalid customer does not prevent the other customers from being saved.
+     *
+     * @param customers List of input objects for creating customers.
+     * @return {@link ResponseEntity} with {@link CustomerBatchResultDto}.
+     */
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Create multiple customers",
+            description = "Creates multiple customers in batches and reports the result of each customer."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Batch processed, see the result of each customer"
+    )
+    ResponseEntity<CustomerBatchResultDto> saveBatch(@RequestBody List<CustomerInputDto> customers);
+
+    /**
+     * Retrieve multiple customers by ID.
+     *
+     * @param ids List of UUIDs of the customers to retrieve.
+     * @return {@link ResponseEntity} with {@link CustomerLookupDto}.
+     * @throws TooManyCustomerIdsException if too many ids are given.
+     * @throws InvalidCustomerIdsException  if an id is null.
+     */
+    @PostMapping("/lookup")
+    @Operation(
+            summary = "Retrieve multiple customers by ID",
+            description = "Retrieve up to " + CustomerService.MAX_LOOKUP_SIZE + " customers by ID in a single request. "
+                    + "Customers are returned in the order their ids were given, followed by the ids that were not found."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved the customers that were found"
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Too many ids were given or an id was null",
+            content = @Content(schema = @Schema(implementation = ErrorDto.class))
+    )
+    ResponseEntity<CustomerLookupDto> lookup(@RequestBody List<UUID> ids)
+            throws TooManyCustomerIdsException, InvalidCustomerIdsException;
 
     /**
      * Retrieve a customer by ID.
      *
-     * @param id UUID of the customer to retrieve.
-     * @return {@link ResponseEntity} with {@link CustomerDto}.
+     * @param id          UUID of the customer to retrieve.
+     * @param ifNoneMatch If-None-Match header of the request.
+     * @return {@link ResponseEntity} with {@link CustomerDto}, or without a body if the customer is not modified.
      * @throws CustomerNotFoundException if the customer is not found.
      */
     @GetMapping("/{id}")
     @Operation(
             summary = "Retrieve a customer by ID",
-            description = "Retrieve a customer by ID"
+            description = "Retrieve a customer by ID. The response has an ETag with the version of the customer. "
+                    + "Send it in the If-None-Match header to get 304 Not Modified if the customer has not changed."
     )
     @ApiResponse(
             responseCode = "200",
             description = "Successfully retrieved customer"
     )
+    @ApiResponse(
+            responseCode = "304",
+            description = "Customer has not been modified since the given ETag"
+    )
     @ApiResponse(
             responseCode = "404",
             description = "Customer not found with given id",
@@ -74,6 +150,111 @@ public interface ICustomerController {
     )
     ResponseEntity<CustomerDto> get(
             @Parameter(description = "UUID of the customer to retrieve", required = true)
-            @PathVariable UUID id
+            @PathVariable UUID id,
+            @Parameter(description = "ETag of a previously retrieved version of the customer")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) throws CustomerNotFoundException;
+
+    /**
+     * Retrieve a customer by mail address.
+     *
+     * @param mail Mail address of the customer to retrieve.
+     * @return {@link ResponseEntity} with {@link CustomerDto}.
+     * @throws CustomerNotFoundException if the customer is not found.
+     */
+    @GetMapping(params = "mail")
+    @Operation(
+            summary = "Retrieve a customer by mail address",
+            description = "Retrieve a customer by mail address. The mail address is compared case-insensitively."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved customer"
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Customer not found with given mail address",
+            content = @Content(schema = @Schema(implementation = ErrorDto.class))
+    )
+    ResponseEntity<CustomerDto> getByMail(
+            @Parameter(description = "Mail address of the customer to retrieve", required = true)
+            @RequestParam String mail
     ) throws CustomerNotFoundException;
+
+    /**
+     * Retrieve a page of customers ordered by id.
+     *
+     * @param after UUID cursor of the last customer on the previous page.
+     * @param limit Maximum number of customers on the page.
+     * @return {@link ResponseEntity} with {@link CustomerPageDto}.
+     */
+    @GetMapping
+    @Operation(
+            summary = "Retrieve a page of customers",
+            description = "Retrieve customers ordered by id. Use the nextCursor of a page as the after parameter "
+                    + "to retrieve the next page."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved page of customers"
+    )
+    ResponseEntity<CustomerPageDto> list(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) UUID after,
+            @Parameter(description = "Maximum number of customers on the page, at most 1000")
+            @RequestParam(defaultValue = "50") int limit
+    );
+
+    /**
+     * Export all customers as newline delimited JSON.
+     *
+     * @param acceptEncoding Accept-Encoding header of the request.
+     * @return {@link ResponseEntity} with a streaming body of {@link CustomerDto} lines.
+     */
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Export all customers",
+            description = "Streams all customers as newline delimited JSON with one customer per line. "
+                    + "The response is gzip compressed if the client accepts gzip encoding."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Successfully streamed all customers"
+    )
+    ResponseEntity<StreamingResponseBody> export(
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    );
+
+    /**
+     * Import customers from newline delimited JSON or CSV.
+     *
+     * @param contentType Content type of the request body.
+     * @param body        {@link InputStream} of the request body.
+     * @return {@link ResponseEntity} with {@link CustomerImportResultDto}.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/import", consumes = {APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    @Operation(
+            summary = "Import customers",
+            description = "Imports customers from newline delimited JSON or CSV with one customer per line. "
+                    + "A CSV body may start with a header line containing a mail column. "
+                    + "Lines that cannot be parsed, fail validation or cannot be saved are reported as rejected."
+    )
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            content = {
+                    @Content(mediaType = APPLICATION_NDJSON_VALUE),
+                    @Content(mediaType = TEXT_CSV_VALUE)
+            }
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Import processed, see the number of accepted and rejected customers"
+    )
+    ResponseEntity<CustomerImportResultDto> importCustomers(
+            @Parameter(hidden = true)
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @Parameter(hidden = true)
+            InputStream body
+    ) throws IOException;
 }
@@ -0,0 +1,71 @@
+package com.github.thorlauridsen.converter;
+
+import com.github.thorlauridsen.web.dto.CustomerDto;
+import java.io.IOException;
+import lombok.val;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * HTTP message converter writing {@link CustomerDto} responses with the {@link CustomerJsonWriter}.
+ * <p>
+ * Spring Boot registers converter beans ahead of the default converters, so customer responses
+ * are written by this converter instead of the generic Jackson converter. Customers which the
+ * {@link CustomerJsonWriter} cannot write are serialised with the {@link JsonMapper}, so the
+ * response is the same as before either way. Only writing is supported, so request bodies
+ * are still read by the Jackson converter.
+ * <p>
+ * Only a bare {@link CustomerDto} is supported, which is the response of creating a customer and of
+ * getting a customer by id or mail address. Responses wrapping customers, such as pages, lookups and
+ * batch results, and error responses are written by the Jackson converter, since their timestamps
+ * and nested lists depend on the configuration of the {@link JsonMapper}.
+ */
+@Component
+public class CustomerDtoHttpMessageConverter extends AbstractHttpMessageConverter<CustomerDto> {
+
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Constructor for customer HTTP message converter.
+     *
+     * @param jsonMapper {@link JsonMapper} for customers the {@link CustomerJsonWriter} cannot write.
+     */
+    public CustomerDtoHttpMessageConverter(JsonMapper jsonMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return CustomerDto.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(@NonNull Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    @NonNull
+    protected CustomerDto readInternal(
+            @NonNull Class<? extends CustomerDto> clazz,
+            @NonNull HttpInputMessage inputMessage
+    ) {
+        throw new HttpMessageNotReadableException("Reading customers is not supported", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(@NonNull CustomerDto customer, @NonNull HttpOutputMessage outputMessage)
+            throws IOException {
+        val json = CustomerJsonWriter.canWrite(customer)
+                ? CustomerJsonWriter.toJson(customer)
+                : jsonMapper.writeValueAsBytes(customer);
+        outputMessage.getBody().write(json);
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.thorlauridsen.exception;
+
+/**
+ * Exception thrown when a call is rejected because a bulkhead has no free permits.
+ * This is an unchecked exception as it can be thrown from any call through the bulkhead.
+ * <p>
+ * Rejections happen when the application is overloaded, so the exception does not capture
+ * a stack trace to keep rejecting calls as cheap as possible.
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    /**
+     * Constructor for a bulkhead full exception.
+     *
+     * @param message The message of the exception.
+     */
+    public BulkheadFullException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.thorlauridsen.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * Exception thrown when a request is rejected because the concurrency limit of the customer endpoints is reached.
+ * This is an unchecked exception as it is thrown by an interceptor before the request reaches a controller.
+ * <p>
+ * Rejections happen when the application is overloaded, so the exception does not capture
+ * a stack trace to keep rejecting requests as cheap as possible.
+ */
+@Getter
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructor for a concurrency limit exceeded exception.
+     *
+     * @param message    The message of the exception.
+     * @param retryAfter How long the client should wait before retrying.
+     */
+    public ConcurrencyLimitExceededException(String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -1,10 +1,11 @@
 package com.github.thorlauridsen.exception;
 
-import com.github.thorlauridsen.dto.ErrorDto;
-import java.time.OffsetDateTime;
-import java.util.HashMap;
+import com.github.thorlauridsen.web.dto.ErrorDto;
+import com.github.thorlauridsen.web.exception.DomainException;
+import com.github.thorlauridsen.web.exception.ErrorResponder;
+import com.github.thorlauridsen.web.exception.ExpectedErrorLogger;
 import java.util.stream.Collectors;
-import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
 import lombok.val;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -21,11 +22,17 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 /**
  * Controller advisor for handling exceptions.
  * This ensures that whenever an exception is thrown, a proper error response is returned to the client.
+ * The responses are created by the {@link ErrorResponder} shared with the reactive-api.
+ * <p>
+ * Domain exceptions, bulkhead and concurrency limit rejections and validation failures are expected and are logged
+ * by the {@link ExpectedErrorLogger}. Any other exception is unexpected and logged with its stack trace.
  */
 @RestControllerAdvice
-@Slf4j
+@RequiredArgsConstructor
 public class ControllerAdvisor extends ResponseEntityExceptionHandler {
 
+    private final ErrorResponder errorResponder;
+
     /**
      * Handles all domain exceptions.
      * If any {@link DomainException} is thrown, this method will
@@ -37,7 +44,44 @@ public class ControllerAdvisor extends ResponseEntityExceptionHandler {
      */
     @ExceptionHandler(DomainException.class)
     public ResponseEntity<ErrorDto> handleDomainException(DomainException exception) {
-        return error(exception, exception.getHttpStatus());
+        return errorResponder.expected(exception, exception.getHttpStatus());
+    }
+
+    /**
+     * Handles bulkhead full exceptions.
+     * If a call is rejected because too many requests are waiting for the database,
+     * this method will return a response entity with an {@link ErrorDto} and HTTP status code 503.
+     * The Retry-After header tells the client to retry after a second.
+     *
+     * @param exception The bulkhead full exception to handle.
+     * @return A response entity with an {@link ErrorDto}.
+     */
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ErrorDto> handleBulkheadFullException(BulkheadFullException exception) {
+        val response = errorResponder.expected(exception, HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
+    /**
+     * Handles concurrency limit exceeded exceptions.
+     * If a request is rejected because too many requests are in flight,
+     * this method will return a response entity with an {@link ErrorDto} and HTTP status code 503.
+     * The Retry-After header tells the client how many seconds to wait before retrying.
+     *
+     * @param exception The concurrency limit exceeded exception to handle.
+     * @return A response entity with an {@link ErrorDto}.
+     */
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<ErrorDto> handleConcurrencyLimitExceededException(
+            ConcurrencyLimitExceededException exception
+    ) {
+        val response = errorResponder.expected(exception, HttpStatus.SERVICE_UNAVAILABLE);
+        val retryAfterSeconds = Math.max(1, exception.getRetryAfter().toSeconds());
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response.getBody());
     }
 
     /**
@@ -50,7 +94,7 @@ public class ControllerAdvisor extends ResponseEntityExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorDto> handleEverything(Exception exception) {
-        return error(exception, HttpStatus.INTERNAL_SERVER_ERROR);
+        return errorResponder.unexpected(exception);
     }
 
     @Override
@@ -67,30 +111,6 @@ public class ControllerAdvisor extends ResponseEntityExceptionHandler {
                         FieldError::getField,
                         fe -> fe.getDefaultMessage() != null ? fe.getDefaultMessage() : "Invalid value"
                 ));
-
-        val errorDto = new ErrorDto(
-                "Validation failed",
-                OffsetDateTime.now(),
-                fieldErrors
-        );
-
-        log.error("Validation failed: {}", fieldErrors, exception);
-        return ResponseEntity
-                .status(HttpStatus.BAD_REQUEST)
-                .body(errorDto);
-    }
-
-    /**
-     * Log exception and return a response entity with an {@link ErrorDto}.
-     *
-     * @param exception  {@link Exception}.
-     * @param httpStatus {@link HttpStatus}.
-     */
-    private ResponseEntity<ErrorDto> error(Exception exception, HttpStatus httpStatus) {
-        val message = exception.getMessage() != null ? exception.getMessage() : "An unexpected error occurred";
-        val errorDto = new ErrorDto(message, OffsetDateTime.now(), new HashMap<>());
-
-        log.error(message, exception);
-        return ResponseEntity.status(httpStatus).body(errorDto);
+        return errorResponder.validationFailed(exception, fieldErrors);
     }
 }
@@ -0,0 +1,27 @@
+package com.github.thorlauridsen.exception;
+
+/**
+ * Exception thrown when a customer looked up as part of a coalesced batch could not be looked up.
+ * This is an unchecked exception, like the data access exceptions thrown when a single customer cannot be found.
+ */
+public class CustomerLookupFailedException extends RuntimeException {
+
+    /**
+     * Constructor for a customer lookup failed exception.
+     *
+     * @param message The message of the exception.
+     */
+    public CustomerLookupFailedException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructor for a customer lookup failed exception with the cause of the failure.
+     *
+     * @param message The message of the exception.
+     * @param cause   The cause of the failure.
+     */
+    public CustomerLookupFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
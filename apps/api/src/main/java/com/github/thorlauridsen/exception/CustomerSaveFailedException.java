@@ -0,0 +1,27 @@
+package com.github.thorlauridsen.exception;
+
+/**
+ * Exception thrown when a customer saved as part of a group commit could not be saved.
+ * This is an unchecked exception, like the data access exceptions thrown when a single customer cannot be saved.
+ */
+public class CustomerSaveFailedException extends RuntimeException {
+
+    /**
+     * Constructor for a customer save failed exception.
+     *
+     * @param message The message of the exception.
+     */
+    public CustomerSaveFailedException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructor for a customer save failed exception with the cause of the failure.
+     *
+     * @param message The message of the exception.
+     * @param cause   The cause of the failure.
+     */
+    public CustomerSaveFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
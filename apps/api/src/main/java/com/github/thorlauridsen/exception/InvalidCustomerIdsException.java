@@ -0,0 +1,21 @@
+package com.github.thorlauridsen.exception;
+
+import com.github.thorlauridsen.web.exception.DomainException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when customers are looked up with ids that are not valid, such as null.
+ * Extends {@link DomainException}.
+ */
+public class InvalidCustomerIdsException extends DomainException {
+
+    /**
+     * Constructor for an invalid customer ids exception.
+     * Sets the http status to {@link HttpStatus#BAD_REQUEST}.
+     *
+     * @param message The message of the exception.
+     */
+    public InvalidCustomerIdsException(String message) {
+        super(message, HttpStatus.BAD_REQUEST);
+    }
+}
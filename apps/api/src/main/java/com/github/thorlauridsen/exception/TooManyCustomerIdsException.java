@@ -0,0 +1,21 @@
+package com.github.thorlauridsen.exception;
+
+import com.github.thorlauridsen.web.exception.DomainException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when too many customers are looked up at once.
+ * Extends {@link DomainException}.
+ */
+public class TooManyCustomerIdsException extends DomainException {
+
+    /**
+     * Constructor for a too many customer ids exception.
+     * Sets the http status to {@link HttpStatus#BAD_REQUEST}.
+     *
+     * @param message The message of the exception.
+     */
+    public TooManyCustomerIdsException(String message) {
+        super(message, HttpStatus.BAD_REQUEST);
+    }
+}
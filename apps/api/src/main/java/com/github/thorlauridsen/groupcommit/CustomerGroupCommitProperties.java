@@ -0,0 +1,22 @@
+package com.github.thorlauridsen.groupcommit;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for committing concurrent customer saves together.
+ *
+ * @param enabled      Whether concurrent saves are inserted together in a single transaction.
+ * @param window       How long the first save of a batch waits for other saves to join the batch.
+ * @param maxBatchSize Number of saves at which a batch is committed without waiting for the window to end.
+ * @param timeout      How long a save waits for its batch to be committed before it fails.
+ */
+@ConfigurationProperties(prefix = "customer.group-commit")
+public record CustomerGroupCommitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("2ms") Duration window,
+        @DefaultValue("100") int maxBatchSize,
+        @DefaultValue("30s") Duration timeout
+) {
+}
@@ -0,0 +1,286 @@
+package com.github.thorlauridsen.groupcommit;
+
+import com.github.thorlauridsen.exception.CustomerSaveFailedException;
+import com.github.thorlauridsen.model.Customer;
+import com.github.thorlauridsen.model.CustomerInput;
+import com.github.thorlauridsen.model.CustomerSaveResult;
+import com.github.thorlauridsen.model.ICustomerRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import lombok.val;
+
+/**
+ * Customer repository decorator which commits concurrent saves of single customers together.
+ * <p>
+ * The first save which finds no open batch opens one and becomes its leader. The leader waits for
+ * the window to end while other saves join the batch, and then saves all customers of the batch with
+ * a single {@link ICustomerRepo#saveAll(List)} call, which inserts them in one transaction. A batch which
+ * reaches the maximum batch size is saved right away by the save that filled it. Every save waits until
+ * its batch has been committed and then returns its own customer, so a saved customer is as durable as
+ * with a transaction per save. A customer which could not be saved fails only its own save with a
+ * {@link CustomerSaveFailedException}, since {@link ICustomerRepo#saveAll(List)} retries a failing batch
+ * one customer at a time.
+ * <p>
+ * A save which is not committed within the timeout fails with a {@link CustomerSaveFailedException},
+ * so a stuck commit cannot block the saves of its batch forever. The customer may still be saved
+ * once the commit finishes.
+ * <p>
+ * The time batches stay open, the number of customers per batch and the number of commits are
+ * registered as metrics. All other calls are passed directly to the delegate.
+ */
+public class GroupCommitCustomerRepo implements ICustomerRepo {
+
+    private final ICustomerRepo delegate;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Duration timeout;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Timer windowTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter commitCounter;
+    private Batch openBatch;
+
+    /**
+     * Constructor for group commit customer repository.
+     *
+     * @param delegate      {@link ICustomerRepo} to save the batches with.
+     * @param window        How long the leader of a batch waits for other saves to join the batch.
+     * @param maxBatchSize  Number of saves at which a batch is committed without waiting for the window to end.
+     * @param timeout       How long a save waits for its batch to be committed before it fails.
+     * @param meterRegistry {@link MeterRegistry} for registering group commit metrics.
+     */
+    public GroupCommitCustomerRepo(
+            ICustomerRepo delegate,
+            Duration window,
+            int maxBatchSize,
+            Duration timeout,
+            MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.timeout = timeout;
+        this.windowTimer = Timer.builder("customer.repo.group.commit.window")
+                .description("Time a batch of customer saves was open before it was committed")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("customer.repo.group.commit.batch.size")
+                .description("Number of customers saved in a single commit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.commitCounter = Counter.builder("customer.repo.group.commit.commits")
+                .description("Commits saving a batch of customers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Save a customer as part of a batch of concurrent saves.
+     * Returns once the batch has been committed.
+     *
+     * @param customerInput {@link CustomerInput} for creating a customer.
+     * @return {@link Customer}.
+     * @throws CustomerSaveFailedException if the customer could not be saved or its batch was not committed in time.
+     */
+    @Override
+    public Customer save(CustomerInput customerInput) {
+        val result = new CompletableFuture<CustomerSaveResult>();
+        Batch ledBatch = null;
+        Batch fullBatch = null;
+
+        lock.lock();
+        try {
+            if (openBatch == null) {
+                openBatch = new Batch(System.nanoTime());
+                ledBatch = openBatch;
+            }
+            openBatch.inputs.add(customerInput);
+            openBatch.results.add(result);
+            if (openBatch.inputs.size() >= maxBatchSize) {
+                fullBatch = openBatch;
+                openBatch = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (fullBatch != null) {
+            commit(fullBatch);
+        } else if (ledBatch != null) {
+            awaitWindow();
+            if (close(ledBatch)) {
+                commit(ledBatch);
+            }
+        }
+
+        val saveResult = await(result);
+        if (!saveResult.isSuccess()) {
+            throw new CustomerSaveFailedException(saveResult.error());
+        }
+        return saveResult.customer();
+    }
+
+    @Override
+    public List<CustomerSaveResult> saveAll(List<CustomerInput> customerInputs) {
+        return delegate.saveAll(customerInputs);
+    }
+
+    @Override
+    public Optional<Customer> findById(UUID id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Customer> findAllById(List<UUID> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public Optional<Long> findVersionById(UUID id) {
+        return delegate.findVersionById(id);
+    }
+
+    @Override
+    public Optional<Customer> findByMail(String mail) {
+        return delegate.findByMail(mail);
+    }
+
+    @Override
+    public boolean existsByMail(String mail) {
+        return delegate.existsByMail(mail);
+    }
+
+    @Override
+    public List<Customer> findPage(UUID after, int limit) {
+        return delegate.findPage(after, limit);
+    }
+
+    @Override
+    public void forEach(Consumer<Customer> action) {
+        delegate.forEach(action);
+    }
+
+    /**
+     * Wait for the window of a batch to end.
+     * If the thread is interrupted, the batch is committed right away.
+     */
+    private void awaitWindow() {
+        if (windowNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(windowNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Close a batch so no more saves can join it.
+     *
+     * @param batch {@link Batch} to close.
+     * @return true if the batch was still open, false if it was already closed because it was full.
+     */
+    private boolean close(Batch batch) {
+        lock.lock();
+        try {
+            if (openBatch != batch) {
+                return false;
+            }
+            openBatch = null;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Save all customers of a closed batch with a single call and complete the saves of the batch
+     * with their own results. If the call fails, including with an {@link Error}, every save of the batch
+     * fails with the same exception. A save which is still not completed afterwards, because no result
+     * was returned for it, fails with a {@link CustomerSaveFailedException}, so no save waits forever.
+     *
+     * @param batch Closed {@link Batch} to commit.
+     */
+    private void commit(Batch batch) {
+        windowTimer.record(System.nanoTime() - batch.openedAt, TimeUnit.NANOSECONDS);
+        batchSizeSummary.record(batch.inputs.size());
+        commitCounter.increment();
+
+        try {
+            val saveResults = delegate.saveAll(batch.inputs);
+            for (int i = 0; i < batch.results.size() && i < saveResults.size(); i++) {
+                batch.results.get(i).complete(saveResults.get(i));
+            }
+        } catch (Throwable e) {
+            batch.results.forEach(result -> result.completeExceptionally(e));
+        } finally {
+            for (val result : batch.results) {
+                if (!result.isDone()) {
+                    result.completeExceptionally(
+                            new CustomerSaveFailedException("No result was returned for the customer by its batch")
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Wait for the result of a save for at most the timeout.
+     * The exception a commit failed with is rethrown as is if it is unchecked.
+     *
+     * @param result Result of the save.
+     * @return {@link CustomerSaveResult}.
+     * @throws CustomerSaveFailedException if the batch was not committed in time or the wait was interrupted.
+     */
+    private CustomerSaveResult await(CompletableFuture<CustomerSaveResult> result) {
+        try {
+            return result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new CustomerSaveFailedException("Batch of the customer was not committed within " + timeout, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomerSaveFailedException("Interrupted while waiting for the batch of the customer", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new CustomerSaveFailedException("Batch of the customer failed", e.getCause());
+        }
+    }
+
+    /**
+     * Batch of saves which are committed together.
+     * The saves are only modified while holding the lock, and only read once the batch is closed.
+     */
+    private static final class Batch {
+
+        private final long openedAt;
+        private final List<CustomerInput> inputs = new ArrayList<>();
+        private final List<CompletableFuture<CustomerSaveResult>> results = new ArrayList<>();
+
+        /**
+         * Constructor for a batch.
+         *
+         * @param openedAt Time the batch was opened as given by {@link System#nanoTime()}.
+         */
+        private Batch(long openedAt) {
+            this.openedAt = openedAt;
+        }
+    }
+}
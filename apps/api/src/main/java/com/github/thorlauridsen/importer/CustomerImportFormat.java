@@ -0,0 +1,36 @@
+package com.github.thorlauridsen.importer;
+
+import lombok.val;
+import org.springframework.http.MediaType;
+
+import static com.github.thorlauridsen.web.BaseEndpoint.APPLICATION_NDJSON_VALUE;
+import static com.github.thorlauridsen.web.BaseEndpoint.TEXT_CSV_VALUE;
+
+/**
+ * Supported formats for importing customers.
+ * <p>
+ * {@link #NDJSON} expects one JSON object per line in the same format as a customer input.
+ * {@link #CSV} expects one customer per line with an optional header line containing a mail column.
+ */
+public enum CustomerImportFormat {
+    NDJSON,
+    CSV;
+
+    /**
+     * Get the import format for a content type.
+     *
+     * @param contentType Content type of the request body.
+     * @return {@link CustomerImportFormat} matching the content type.
+     * @throws IllegalArgumentException if the content type is not supported.
+     */
+    public static CustomerImportFormat fromContentType(String contentType) {
+        val mediaType = MediaType.parseMediaType(contentType);
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))) {
+            return NDJSON;
+        }
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))) {
+            return CSV;
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+    }
+}
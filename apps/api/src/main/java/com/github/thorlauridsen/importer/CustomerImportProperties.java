@@ -0,0 +1,21 @@
+package com.github.thorlauridsen.importer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for importing customers.
+ *
+ * @param batchSize        Number of parsed customers handed to the writer at a time.
+ * @param queueCapacity    Number of batches that may wait for the writer before parsing is paused.
+ * @param maxRejectedLines Number of rejected line numbers listed in the result of an import.
+ *                         Further rejected lines are only counted, so the result stays small
+ *                         however many lines of an upload are rejected.
+ */
+@ConfigurationProperties(prefix = "customer.import")
+public record CustomerImportProperties(
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("4") int queueCapacity,
+        @DefaultValue("1000") int maxRejectedLines
+) {
+}
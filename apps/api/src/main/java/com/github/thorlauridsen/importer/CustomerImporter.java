@@ -0,0 +1,363 @@
+package com.github.thorlauridsen.importer;
+
+import com.github.thorlauridsen.model.CustomerInput;
+import com.github.thorlauridsen.service.CustomerService;
+import com.github.thorlauridsen.validation.CustomerInputValidator;
+import com.github.thorlauridsen.web.dto.CustomerImportResultDto;
+import com.github.thorlauridsen.web.dto.CustomerInputDto;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Importer for streaming customers from a request body into the database.
+ * <p>
+ * The body is parsed one line at a time and each customer is validated with the same rules
+ * as {@link CustomerInputDto}. Valid customers are collected into batches of
+ * {@link CustomerImportProperties#batchSize()} and handed to a writer through a bounded queue.
+ * The writer saves each batch using {@link CustomerService#saveAll(List)} on a separate thread,
+ * so parsing and writing overlap. If the database is slower than the parser, the queue fills up
+ * and parsing pauses, so the upload is never buffered in memory as a whole. Rejected lines are counted,
+ * but only the first {@link CustomerImportProperties#maxRejectedLines()} line numbers are listed in the result.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerImporter {
+
+    // Identity marker telling the writer that there are no more batches.
+    private static final List<ImportLine> END_OF_INPUT = List.of();
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final CustomerService customerService;
+    private final CustomerInputValidator customerInputValidator;
+    private final JsonMapper jsonMapper;
+    private final CustomerImportProperties properties;
+    private final ExecutorService writerExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Import customers from the given input stream.
+     *
+     * @param body   {@link InputStream} containing one customer per line.
+     * @param format {@link CustomerImportFormat} of the input stream.
+     * @return {@link CustomerImportResultDto} summarising the import.
+     * @throws IOException if the input stream cannot be read.
+     */
+    public CustomerImportResultDto importCustomers(InputStream body, CustomerImportFormat format) throws IOException {
+        log.info("Importing customers in format: {}", format);
+
+        val queue = new ArrayBlockingQueue<List<ImportLine>>(Math.max(1, properties.queueCapacity()));
+        val writer = writerExecutor.submit(() -> write(queue));
+        try {
+            val parseRejected = parse(body, format, queue, writer);
+            enqueue(queue, END_OF_INPUT, writer);
+
+            val writeResult = writer.get();
+            val rejected = parseRejected.count() + writeResult.rejectedLines().count();
+            val rejectedLines = new ArrayList<Long>(parseRejected.lines());
+            rejectedLines.addAll(writeResult.rejectedLines().lines());
+            rejectedLines.sort(null);
+            val listedLines = rejectedLines.subList(0, Math.min(rejectedLines.size(), maxRejectedLines()));
+
+            log.info("Imported {} customers and rejected {} lines", writeResult.accepted(), rejected);
+            return new CustomerImportResultDto(writeResult.accepted(), rejected, List.copyOf(listedLines));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Customer import was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Customer import failed", e.getCause());
+        } finally {
+            writer.cancel(true);
+        }
+    }
+
+    /**
+     * Shut down the writer threads when the application stops.
+     */
+    @PreDestroy
+    void shutdown() {
+        writerExecutor.shutdownNow();
+    }
+
+    /**
+     * Parse and validate the input stream and hand valid customers to the writer in batches.
+     * For CSV, the first line which is not blank is skipped if it is a header with a mail column.
+     *
+     * @param body   {@link InputStream} containing one customer per line.
+     * @param format {@link CustomerImportFormat} of the input stream.
+     * @param queue  {@link BlockingQueue} of batches consumed by the writer.
+     * @param writer {@link Future} of the writer, used to stop parsing if the writer fails.
+     * @return {@link RejectedLines} that could not be parsed or failed validation.
+     */
+    private RejectedLines parse(
+            InputStream body,
+            CustomerImportFormat format,
+            BlockingQueue<List<ImportLine>> queue,
+            Future<?> writer
+    ) throws IOException, InterruptedException {
+        val rejectedLines = new RejectedLines(maxRejectedLines());
+        var batch = new ArrayList<ImportLine>(properties.batchSize());
+        var mailColumn = 0;
+        var lineNumber = 0L;
+        var headerChecked = format != CustomerImportFormat.CSV;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null && !writer.isDone()) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (!headerChecked) {
+                    headerChecked = true;
+                    val headerColumn = findMailColumn(parseCsvLine(line));
+                    if (headerColumn >= 0) {
+                        mailColumn = headerColumn;
+                        continue;
+                    }
+                }
+
+                val customerInput = parseLine(line, format, mailColumn);
+                if (customerInput == null || !customerInputValidator.validate(customerInput).isEmpty()) {
+                    rejectedLines.add(lineNumber);
+                    continue;
+                }
+
+                batch.add(new ImportLine(lineNumber, customerInput.toModel()));
+                if (batch.size() >= properties.batchSize()) {
+                    enqueue(queue, batch, writer);
+                    batch = new ArrayList<>(properties.batchSize());
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            enqueue(queue, batch, writer);
+        }
+        return rejectedLines;
+    }
+
+    /**
+     * Hand a batch to the writer.
+     * Blocks while the queue is full, which pauses parsing until the writer has caught up.
+     * Returns without enqueuing if the writer has stopped.
+     *
+     * @param queue  {@link BlockingQueue} of batches consumed by the writer.
+     * @param batch  List of {@link ImportLine} to hand to the writer.
+     * @param writer {@link Future} of the writer.
+     */
+    private void enqueue(
+            BlockingQueue<List<ImportLine>> queue,
+            List<ImportLine> batch,
+            Future<?> writer
+    ) throws InterruptedException {
+        while (!queue.offer(batch, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (writer.isDone()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Save batches from the queue until the end of input is reached.
+     *
+     * @param queue {@link BlockingQueue} of batches produced by the parser.
+     * @return {@link WriteResult} with the number of saved customers and the lines that could not be saved.
+     */
+    private WriteResult write(BlockingQueue<List<ImportLine>> queue) throws InterruptedException {
+        var accepted = 0L;
+        val rejectedLines = new RejectedLines(maxRejectedLines());
+
+        while (true) {
+            val batch = queue.take();
+            if (batch == END_OF_INPUT) {
+                return new WriteResult(accepted, rejectedLines);
+            }
+
+            val results = customerService.saveAll(batch.stream().map(ImportLine::input).toList());
+            for (int i = 0; i < results.size(); i++) {
+                if (results.get(i).isSuccess()) {
+                    accepted++;
+                } else {
+                    rejectedLines.add(batch.get(i).lineNumber());
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the number of rejected line numbers listed in the result of an import.
+     *
+     * @return Maximum number of listed rejected lines, at least 0.
+     */
+    private int maxRejectedLines() {
+        return Math.max(0, properties.maxRejectedLines());
+    }
+
+    /**
+     * Parse a single line into a customer input.
+     *
+     * @param line       Line to parse.
+     * @param format     {@link CustomerImportFormat} of the line.
+     * @param mailColumn Index of the mail column if the format is CSV.
+     * @return {@link CustomerInputDto}, or null if the line could not be parsed.
+     */
+    private CustomerInputDto parseLine(String line, CustomerImportFormat format, int mailColumn) {
+        if (format == CustomerImportFormat.NDJSON) {
+            try {
+                return jsonMapper.readValue(line, CustomerInputDto.class);
+            } catch (JacksonException e) {
+                return null;
+            }
+        }
+
+        val columns = parseCsvLine(line);
+        if (mailColumn >= columns.size()) {
+            return null;
+        }
+        return new CustomerInputDto(columns.get(mailColumn));
+    }
+
+    /**
+     * Find the index of the mail column in a CSV header line.
+     *
+     * @param columns List of column values of the first line.
+     * @return Index of the mail column, or -1 if the line is not a header.
+     */
+    private int findMailColumn(List<String> columns) {
+        for (int i = 0; i < columns.size(); i++) {
+            if ("mail".equalsIgnoreCase(columns.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Split a CSV line into column values.
+     * Values may be quoted with double quotes, and a double quote inside
+     * a quoted value is escaped by another double quote.
+     *
+     * @param line Line to split.
+     * @return List of column values with surrounding whitespace removed.
+     */
+    private List<String> parseCsvLine(String line) {
+        val columns = new ArrayList<String>();
+        val column = new StringBuilder();
+        var quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            val c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    column.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(column.toString().strip());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        columns.add(column.toString().strip());
+        return columns;
+    }
+
+    /**
+     * A parsed customer together with the line number it was read from.
+     *
+     * @param lineNumber Line number in the request body.
+     * @param input      {@link CustomerInput} parsed from the line.
+     */
+    private record ImportLine(long lineNumber, CustomerInput input) {
+    }
+
+    /**
+     * Result of writing all batches.
+     *
+     * @param accepted      Number of customers that were saved.
+     * @param rejectedLines {@link RejectedLines} of customers that could not be saved.
+     */
+    private record WriteResult(long accepted, RejectedLines rejectedLines) {
+    }
+
+    /**
+     * Lines rejected by the parser or the writer.
+     * Every rejected line is counted, but only the first line numbers up to the limit are kept.
+     * Each of the parser and the writer rejects lines in ascending order, so together they keep
+     * every line number which can be among the first rejected lines of the import.
+     */
+    private static final class RejectedLines {
+
+        private final int limit;
+        private final List<Long> lines = new ArrayList<>();
+        private long count;
+
+        /**
+         * Constructor for rejected lines.
+         *
+         * @param limit Number of line numbers to keep.
+         */
+        private RejectedLines(int limit) {
+            this.limit = limit;
+        }
+
+        /**
+         * Count a rejected line and keep its number if the limit has not been reached.
+         *
+         * @param lineNumber Line number of the rejected line.
+         */
+        private void add(long lineNumber) {
+            count++;
+            if (lines.size() < limit) {
+                lines.add(lineNumber);
+            }
+        }
+
+        /**
+         * Get the number of rejected lines.
+         *
+         * @return Number of rejected lines, including those whose number was not kept.
+         */
+        private long count() {
+            return count;
+        }
+
+        /**
+         * Get the kept line numbers.
+         *
+         * @return List of the first rejected line numbers in ascending order.
+         */
+        private List<Long> lines() {
+            return lines;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.thorlauridsen.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.val;
+
+/**
+ * Limiter of the number of concurrent requests of one kind, such as reads or writes.
+ * <p>
+ * A request is admitted if fewer requests are in flight than the current {@link VegasLimit},
+ * and is otherwise rejected immediately instead of waiting. The latency of every admitted request
+ * is fed back into the {@link VegasLimit}, so the limit follows the latency the database can sustain.
+ * <p>
+ * The current limit, the requests in flight, the measured latency, the latency without load
+ * and the number of rejected requests are registered as metrics tagged with the kind of request.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final VegasLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Timer latencyTimer;
+    private final Counter rejectedCounter;
+
+    /**
+     * Constructor for adaptive concurrency limiter.
+     *
+     * @param operation     Kind of request limited, used as the operation tag of the metrics.
+     * @param limit         {@link VegasLimit} adjusting the number of concurrent requests allowed.
+     * @param meterRegistry {@link MeterRegistry} for registering limiter metrics.
+     */
+    public AdaptiveConcurrencyLimiter(String operation, VegasLimit limit, MeterRegistry meterRegistry) {
+        this.limit = limit;
+        this.latencyTimer = Timer.builder("customer.concurrency.latency")
+                .description("Latency of requests admitted by the concurrency limit")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("customer.concurrency.rejected")
+                .description("Requests rejected because the concurrency limit was reached")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        Gauge.builder("customer.concurrency.limit", limit, VegasLimit::getLimit)
+                .description("Number of concurrent requests currently allowed")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        Gauge.builder("customer.concurrency.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests currently admitted by the concurrency limit")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        Gauge.builder("customer.concurrency.latency.no.load", limit, l -> l.getNoLoadLatencyNanos() / 1e9)
+                .description("Lowest recent request latency, used as the latency without load")
+                .tag("operation", operation)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admit a request if the limit has not been reached.
+     * Every admitted request must be released with {@link #release(long, boolean)}.
+     *
+     * @return True if the request was admitted, false if it was rejected.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            val current = inFlight.get();
+            if (current >= limit.getLimit()) {
+                rejectedCounter.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release an admitted request and adjust the limit with its latency.
+     *
+     * @param latencyNanos Latency of the request in nanoseconds.
+     * @param dropped      Whether the request failed because the service is overloaded.
+     */
+    public void release(long latencyNanos, boolean dropped) {
+        val current = inFlight.getAndDecrement();
+        latencyTimer.record(latencyNanos, TimeUnit.NANOSECONDS);
+        limit.onSample(latencyNanos, current, dropped);
+    }
+}
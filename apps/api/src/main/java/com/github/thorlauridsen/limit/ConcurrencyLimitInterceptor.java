@@ -0,0 +1,84 @@
+package com.github.thorlauridsen.limit;
+
+import com.github.thorlauridsen.exception.ConcurrencyLimitExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import static com.github.thorlauridsen.web.BaseEndpoint.CUSTOMER_BASE_ENDPOINT;
+
+/**
+ * Interceptor limiting the number of concurrent requests to the customer endpoints.
+ * <p>
+ * Reads and writes are admitted by separate {@link AdaptiveConcurrencyLimiter}s, so slow writes
+ * cannot take all the capacity from lookups. Lookups of many customers by id are sent with POST
+ * but only read, so they share the limit of reads. A request over the limit is rejected with a
+ * {@link ConcurrencyLimitExceededException} before it reaches the controller, which the
+ * controller advisor turns into 503 Service Unavailable with a Retry-After header.
+ * <p>
+ * The latency of an admitted request is measured until the response is complete. Responses with
+ * a 5xx status, such as rejections by the repository bulkhead, are reported as dropped requests.
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String LOOKUP_ENDPOINT = CUSTOMER_BASE_ENDPOINT + "/lookup";
+    private static final String LIMITER_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".limiter";
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final Duration retryAfter;
+
+    @Override
+    public boolean preHandle(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler
+    ) {
+        val limiter = isRead(request) ? readLimiter : writeLimiter;
+        if (!limiter.tryAcquire()) {
+            throw new ConcurrencyLimitExceededException(
+                    "Too many concurrent requests, please retry later",
+                    retryAfter
+            );
+        }
+        request.setAttribute(LIMITER_ATTRIBUTE, limiter);
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler,
+            Exception exception
+    ) {
+        if (request.getAttribute(LIMITER_ATTRIBUTE) instanceof AdaptiveConcurrencyLimiter limiter
+                && request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            val dropped = exception != null || response.getStatus() >= 500;
+            limiter.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    /**
+     * Check whether a request only reads customers.
+     *
+     * @param request {@link HttpServletRequest}.
+     * @return True if the request is a GET or HEAD request or a lookup of many customers.
+     */
+    private static boolean isRead(HttpServletRequest request) {
+        val method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) {
+            return true;
+        }
+        val path = request.getRequestURI().substring(request.getContextPath().length());
+        return LOOKUP_ENDPOINT.equals(path);
+    }
+}
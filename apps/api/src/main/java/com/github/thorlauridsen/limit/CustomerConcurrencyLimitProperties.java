@@ -0,0 +1,26 @@
+package com.github.thorlauridsen.limit;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the adaptive concurrency limits of the customer endpoints.
+ * Reads and writes each have their own limit, which starts at the initial limit and
+ * is adjusted between the minimum and maximum limit.
+ *
+ * @param enabled      Whether requests to the customer endpoints are limited.
+ * @param initialLimit Number of concurrent requests allowed before any latency has been measured.
+ * @param minLimit     Lowest number of concurrent requests the limit can be lowered to.
+ * @param maxLimit     Highest number of concurrent requests the limit can be raised to.
+ * @param retryAfter   How long rejected clients are told to wait before retrying.
+ */
+@ConfigurationProperties(prefix = "customer.concurrency-limit")
+public record CustomerConcurrencyLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("1") int minLimit,
+        @DefaultValue("200") int maxLimit,
+        @DefaultValue("1s") Duration retryAfter
+) {
+}
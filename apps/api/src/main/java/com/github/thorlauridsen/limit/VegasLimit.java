@@ -0,0 +1,131 @@
+package com.github.thorlauridsen.limit;
+
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.val;
+
+/**
+ * Concurrency limit adjusted with the TCP Vegas congestion avoidance algorithm.
+ * <p>
+ * The lowest latency seen is taken as the latency without load. The number of requests queueing
+ * somewhere downstream is estimated from how much slower the latest request was:
+ * {@code queue = limit * (1 - noLoadLatency / latency)}. While the estimated queue is short the limit is
+ * raised, and when it grows long the limit is lowered, so the number of requests in flight settles
+ * where latency starts to increase. A dropped request, such as a request failing because the database
+ * is overloaded, always lowers the limit. Samples taken while less than half the limit is in use
+ * say nothing about the limit and are ignored.
+ * <p>
+ * The latency without load is reset to the latest latency at random intervals proportional to the limit,
+ * so the limit recovers if the latency of the database permanently increases or decreases.
+ */
+public class VegasLimit {
+
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private double estimatedLimit;
+    private volatile int limit;
+    private volatile long noLoadLatencyNanos;
+    private long samplesUntilProbe;
+
+    /**
+     * Constructor for a Vegas limit.
+     *
+     * @param initialLimit Limit used until latencies have been measured.
+     * @param minLimit     Lowest limit.
+     * @param maxLimit     Highest limit.
+     * @throws IllegalArgumentException if the minimum limit is not positive
+     *                                  or the initial limit is not between the minimum and maximum limit.
+     */
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit <= 0) {
+            throw new IllegalArgumentException("Minimum limit must be positive: " + minLimit);
+        }
+        if (initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Initial limit must be between " + minLimit + " and " + maxLimit
+                    + ": " + initialLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+        resetProbe();
+    }
+
+    /**
+     * Get the current limit.
+     *
+     * @return Number of concurrent requests allowed.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Get the latency without load, which is the lowest latency seen since the last probe.
+     *
+     * @return Latency without load in nanoseconds, or 0 if no latency has been measured.
+     */
+    public long getNoLoadLatencyNanos() {
+        return noLoadLatencyNanos;
+    }
+
+    /**
+     * Adjust the limit with the latency of a completed request.
+     *
+     * @param latencyNanos Latency of the request in nanoseconds.
+     * @param inFlight     Number of requests in flight when the request completed.
+     * @param dropped      Whether the request failed because the service is overloaded.
+     */
+    public synchronized void onSample(long latencyNanos, int inFlight, boolean dropped) {
+        if (latencyNanos <= 0) {
+            return;
+        }
+        if (--samplesUntilProbe <= 0) {
+            noLoadLatencyNanos = latencyNanos;
+            resetProbe();
+            return;
+        }
+        if (noLoadLatencyNanos == 0 || latencyNanos < noLoadLatencyNanos) {
+            noLoadLatencyNanos = latencyNanos;
+            return;
+        }
+
+        val step = Math.max(1, Math.log10(estimatedLimit));
+        if (dropped) {
+            update(estimatedLimit - step);
+            return;
+        }
+        if (inFlight * 2 < estimatedLimit) {
+            return;
+        }
+
+        val queue = Math.ceil(estimatedLimit * (1 - (double) noLoadLatencyNanos / latencyNanos));
+        if (queue <= step) {
+            update(estimatedLimit + 6 * step);
+        } else if (queue < 3 * step) {
+            update(estimatedLimit + step);
+        } else if (queue > 6 * step) {
+            update(estimatedLimit - step);
+        }
+    }
+
+    /**
+     * Set the limit, keeping it between the minimum and maximum limit.
+     *
+     * @param newLimit New limit.
+     */
+    private void update(double newLimit) {
+        estimatedLimit = Math.clamp(newLimit, minLimit, maxLimit);
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Schedule the next reset of the latency without load after a random number of samples
+     * between half and all of the probe multiplier times the limit.
+     */
+    private void resetProbe() {
+        val samples = PROBE_MULTIPLIER * (long) limit;
+        samplesUntilProbe = ThreadLocalRandom.current().nextLong(samples / 2, samples + 1);
+    }
+}
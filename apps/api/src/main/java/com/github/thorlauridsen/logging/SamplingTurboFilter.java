@@ -0,0 +1,90 @@
+package com.github.thorlauridsen.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.val;
+import org.slf4j.Marker;
+
+/**
+ * Logback turbo filter which only lets a sample of log events through for configured loggers.
+ * <p>
+ * Sample rates are configured per logger name prefix as a comma separated list, for example
+ * {@code com.github.thorlauridsen.service=0.1,com.github.thorlauridsen.persistence=0.01}.
+ * The most specific prefix matching a logger is used. Events at INFO level and below from a sampled
+ * logger are kept with the configured probability, while warnings and errors are always kept.
+ * <p>
+ * Turbo filters run before a log event is created, so dropped events cost neither
+ * message formatting nor allocation of the event.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final double KEEP_ALL = 1.0;
+
+    private final Map<String, Double> rateByLogger = new ConcurrentHashMap<>();
+    private Map<String, Double> rateByPrefix = Map.of();
+
+    /**
+     * Set the sample rates from a comma separated list of logger prefixes and rates.
+     * This is called by Logback with the value configured in logback-spring.xml.
+     *
+     * @param sampleRates Comma separated list of prefix=rate pairs.
+     * @throws IllegalArgumentException if a rate is not a number between 0 and 1.
+     */
+    public void setSampleRates(String sampleRates) {
+        val rates = new HashMap<String, Double>();
+        for (val entry : sampleRates.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            val separator = entry.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Sample rate must be given as logger=rate: " + entry);
+            }
+            val rate = Double.parseDouble(entry.substring(separator + 1).strip());
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("Sample rate must be between 0 and 1: " + entry);
+            }
+            rates.put(entry.substring(0, separator).strip(), rate);
+        }
+        this.rateByPrefix = Map.copyOf(rates);
+        this.rateByLogger.clear();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN) || rateByPrefix.isEmpty()) {
+            return FilterReply.NEUTRAL;
+        }
+
+        val rate = rateByLogger.computeIfAbsent(logger.getName(), this::findRate);
+        if (rate >= KEEP_ALL || ThreadLocalRandom.current().nextDouble() < rate) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.DENY;
+    }
+
+    /**
+     * Find the sample rate of the most specific prefix matching a logger name.
+     *
+     * @param loggerName Name of the logger.
+     * @return Sample rate between 0 and 1, or 1 if no prefix matches.
+     */
+    private double findRate(String loggerName) {
+        var rate = KEEP_ALL;
+        var matchedLength = -1;
+        for (val entry : rateByPrefix.entrySet()) {
+            val prefix = entry.getKey();
+            if (loggerName.startsWith(prefix) && prefix.length() > matchedLength) {
+                rate = entry.getValue();
+                matchedLength = prefix.length();
+            }
+        }
+        return rate;
+    }
+}
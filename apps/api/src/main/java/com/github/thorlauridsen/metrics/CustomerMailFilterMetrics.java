@@ -0,0 +1,33 @@
+package com.github.thorlauridsen.metrics;
+
+import com.github.thorlauridsen.persistence.ICustomerMailFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Metrics for the customer mail filter.
+ * Registers the memory footprint and the expected false positive rate of the
+ * {@link ICustomerMailFilter} as gauges, so they are available from the metrics endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerMailFilterMetrics implements MeterBinder {
+
+    private final ICustomerMailFilter mailFilter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("customer.mail.filter.size", mailFilter, ICustomerMailFilter::sizeInBytes)
+                .description("Memory used by the customer mail filter")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+        Gauge.builder("customer.mail.filter.false.positive.rate", mailFilter,
+                        ICustomerMailFilter::expectedFalsePositiveRate)
+                .description("Expected false positive rate of the customer mail filter")
+                .register(registry);
+    }
+}
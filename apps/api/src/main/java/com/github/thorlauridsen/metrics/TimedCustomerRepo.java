@@ -0,0 +1,128 @@
+package com.github.thorlauridsen.metrics;
+
+import com.github.thorlauridsen.model.Customer;
+import com.github.thorlauridsen.model.CustomerInput;
+import com.github.thorlauridsen.model.CustomerSaveResult;
+import com.github.thorlauridsen.model.ICustomerRepo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * Customer repository decorator which times every call to the repository.
+ * <p>
+ * Calls are recorded by the customer.repo timer with a percentile histogram, tagged with the
+ * repository method and the outcome of the call. Lookups have the outcome found or not_found,
+ * other calls have the outcome success, and calls which throw have the outcome error.
+ */
+@RequiredArgsConstructor
+public class TimedCustomerRepo implements ICustomerRepo {
+
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_ERROR = "error";
+
+    private final ICustomerRepo delegate;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Customer save(CustomerInput customerInput) {
+        return timed("save", () -> delegate.save(customerInput), result -> OUTCOME_SUCCESS);
+    }
+
+    @Override
+    public List<CustomerSaveResult> saveAll(List<CustomerInput> customerInputs) {
+        return timed("saveAll", () -> delegate.saveAll(customerInputs), result -> OUTCOME_SUCCESS);
+    }
+
+    @Override
+    public Optional<Customer> findById(UUID id) {
+        return timed("findById", () -> delegate.findById(id), TimedCustomerRepo::lookupOutcome);
+    }
+
+    @Override
+    public List<Customer> findAllById(List<UUID> ids) {
+        return timed("findAllById", () -> delegate.findAllById(ids), result -> OUTCOME_SUCCESS);
+    }
+
+    @Override
+    public Optional<Long> findVersionById(UUID id) {
+        return timed("findVersionById", () -> delegate.findVersionById(id), TimedCustomerRepo::lookupOutcome);
+    }
+
+    @Override
+    public Optional<Customer> findByMail(String mail) {
+        return timed("findByMail", () -> delegate.findByMail(mail), TimedCustomerRepo::lookupOutcome);
+    }
+
+    @Override
+    public boolean existsByMail(String mail) {
+        return timed("existsByMail", () -> delegate.existsByMail(mail), exists -> exists ? "found" : "not_found");
+    }
+
+    @Override
+    public List<Customer> findPage(UUID after, int limit) {
+        return timed("findPage", () -> delegate.findPage(after, limit), result -> OUTCOME_SUCCESS);
+    }
+
+    @Override
+    public void forEach(Consumer<Customer> action) {
+        timed("forEach", () -> {
+            delegate.forEach(action);
+            return null;
+        }, result -> OUTCOME_SUCCESS);
+    }
+
+    /**
+     * Call the delegate and record the duration with the outcome of the call.
+     *
+     * @param method  Name of the repository method.
+     * @param action  Call to the delegate.
+     * @param outcome Function deriving the outcome from the result of the call.
+     * @param <T>     Type of the result.
+     * @return Result of the call.
+     */
+    private <T> T timed(String method, Supplier<T> action, Function<T, String> outcome) {
+        val sample = Timer.start(meterRegistry);
+        var result = OUTCOME_ERROR;
+        try {
+            val value = action.get();
+            result = outcome.apply(value);
+            return value;
+        } finally {
+            sample.stop(timer(method, result));
+        }
+    }
+
+    /**
+     * Get the timer for a repository method and outcome.
+     *
+     * @param method  Name of the repository method.
+     * @param outcome Outcome of the call.
+     * @return {@link Timer}.
+     */
+    private Timer timer(String method, String outcome) {
+        return Timer.builder("customer.repo")
+                .description("Time spent in calls to the customer repository")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the outcome of a lookup.
+     *
+     * @param result Result of the lookup.
+     * @return found if the customer was found, otherwise not_found.
+     */
+    private static String lookupOutcome(Optional<?> result) {
+        return result.isPresent() ? "found" : "not_found";
+    }
+}
@@ -1,13 +1,31 @@
 package com.github.thorlauridsen.service;
 
-import com.github.thorlauridsen.exception.CustomerNotFoundException;
+import com.github.thorlauridsen.cache.ICustomerCache;
+import com.github.thorlauridsen.exception.InvalidCustomerIdsException;
+import com.github.thorlauridsen.exception.TooManyCustomerIdsException;
 import com.github.thorlauridsen.model.Customer;
 import com.github.thorlauridsen.model.CustomerInput;
+import com.github.thorlauridsen.model.CustomerLookup;
+import com.github.thorlauridsen.model.CustomerPage;
+import com.github.thorlauridsen.model.CustomerSaveResult;
 import com.github.thorlauridsen.model.ICustomerRepo;
+import com.github.thorlauridsen.persistence.CustomerMailConstraint;
+import com.github.thorlauridsen.persistence.ICustomerMailFilter;
+import com.github.thorlauridsen.web.exception.CustomerAlreadyExistsException;
+import com.github.thorlauridsen.web.exception.CustomerNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 /**
@@ -19,27 +37,106 @@ import org.springframework.stereotype.Service;
  * The service class knows nothing about data transfer objects or database entities.
  * It only knows about the model classes and here you can implement business logic.
  * The idea here is to keep the various layers separated.
+ * <p>
+ * Customer lookups and saves are timed by the customer.service timer,
+ * tagged with the method and the outcome of the call.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CustomerService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_LOOKUP_SIZE = 10_000;
+
+    private static final String OUTCOME_ERROR = "error";
+    private static final String OUTCOME_FOUND = "found";
+    private static final String OUTCOME_NOT_FOUND = "not_found";
+    private static final String OUTCOME_ALREADY_EXISTS = "already_exists";
+
     private final ICustomerRepo customerRepo;
+    private final ICustomerCache customerCache;
+    private final MeterRegistry meterRegistry;
+    private final ICustomerMailFilter mailFilter;
 
     /**
      * Save a customer.
+     * Fails if a customer with the same mail address already exists. This is enforced by the unique index
+     * on the normalised mail address, so concurrent saves of the same mail address cannot both succeed
+     * and a new mail address does not cost an extra lookup. If the in-memory mail filter is enabled and
+     * reports that the mail address might exist, the repository is asked first so the insert is not attempted.
+     * The saved customer is put in the cache so it can be found without a database lookup.
      *
      * @param customerInput {@link CustomerInput} for creating a customer.
      * @return {@link Customer}.
+     * @throws CustomerAlreadyExistsException if a customer with the same mail address already exists.
      */
-    public Customer save(CustomerInput customerInput) {
+    public Customer save(CustomerInput customerInput) throws CustomerAlreadyExistsException {
         log.info("Saving customer with mail: {}", customerInput.mail());
-        return customerRepo.save(customerInput);
+
+        val sample = Timer.start(meterRegistry);
+        var outcome = OUTCOME_ERROR;
+        try {
+            if (mailFilter.isEnabled()
+                    && mailFilter.mightContain(customerInput.mail())
+                    && customerRepo.existsByMail(customerInput.mail())) {
+                throw alreadyExists(customerInput);
+            }
+            val customer = saveUnique(customerInput);
+            customerCache.put(customer);
+            outcome = "created";
+            return customer;
+        } catch (CustomerAlreadyExistsException e) {
+            outcome = OUTCOME_ALREADY_EXISTS;
+            throw e;
+        } finally {
+            sample.stop(timer("save", outcome));
+        }
+    }
+
+    /**
+     * Save a customer and translate a violation of the unique mail index.
+     *
+     * @param customerInput {@link CustomerInput} for creating a customer.
+     * @return {@link Customer}.
+     * @throws CustomerAlreadyExistsException if a customer with the same mail address already exists.
+     */
+    private Customer saveUnique(CustomerInput customerInput) throws CustomerAlreadyExistsException {
+        try {
+            return customerRepo.save(customerInput);
+        } catch (DataIntegrityViolationException e) {
+            if (CustomerMailConstraint.isViolatedBy(e)) {
+                throw alreadyExists(customerInput);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Create the exception for a customer whose mail address already exists.
+     *
+     * @param customerInput {@link CustomerInput} for creating a customer.
+     * @return {@link CustomerAlreadyExistsException}.
+     */
+    private static CustomerAlreadyExistsException alreadyExists(CustomerInput customerInput) {
+        return new CustomerAlreadyExistsException("Customer already exists with mail: " + customerInput.mail());
+    }
+
+    /**
+     * Save multiple customers.
+     * Each customer is saved independently, so one failing customer does not prevent the others from being saved.
+     *
+     * @param customerInputs List of {@link CustomerInput} for creating customers.
+     * @return List of {@link CustomerSaveResult} in the same order as the given inputs.
+     */
+    public List<CustomerSaveResult> saveAll(List<CustomerInput> customerInputs) {
+        log.info("Saving batch of {} customers", customerInputs.size());
+        return customerRepo.saveAll(customerInputs);
     }
 
     /**
      * Find a customer by id.
+     * The customer is looked up in the cache first and only loaded from the repository if it is not cached.
      *
      * @param id UUID of the customer.
      * @return {@link Customer}.
@@ -48,11 +145,184 @@ public class CustomerService {
     public Customer findById(UUID id) throws CustomerNotFoundException {
         log.info("Finding customer with id: {}", id);
 
-        val customer = customerRepo.findById(id);
-        if (customer.isEmpty()) {
-            throw new CustomerNotFoundException("Customer not found with id: " + id);
+        val sample = Timer.start(meterRegistry);
+        var outcome = OUTCOME_ERROR;
+        try {
+            val customer = customerCache.get(id, customerRepo::findById);
+            if (customer.isEmpty()) {
+                outcome = OUTCOME_NOT_FOUND;
+                throw new CustomerNotFoundException("Customer not found with id: " + id);
+            }
+            log.info("Found customer with id: {}", id);
+            outcome = OUTCOME_FOUND;
+            return customer.get();
+        } finally {
+            sample.stop(timer("findById", outcome));
         }
-        log.info("Found customer with id: {}", id);
-        return customer.get();
+    }
+
+    /**
+     * Find multiple customers by id.
+     * Duplicate ids are only looked up once. Cached customers are taken from the cache and the rest
+     * are loaded from the repository with as few queries as possible, and then put in the cache.
+     *
+     * @param ids List of UUIDs of the customers.
+     * @return {@link CustomerLookup} with the found customers and missing ids in the order they were given.
+     * @throws TooManyCustomerIdsException if more than {@link #MAX_LOOKUP_SIZE} ids are given.
+     * @throws InvalidCustomerIdsException  if an id is null.
+     */
+    public CustomerLookup findAllById(List<UUID> ids) throws TooManyCustomerIdsException, InvalidCustomerIdsException {
+        log.info("Finding {} customers by id", ids.size());
+
+        val sample = Timer.start(meterRegistry);
+        var outcome = OUTCOME_ERROR;
+        try {
+            if (ids.size() > MAX_LOOKUP_SIZE) {
+                outcome = "too_many_ids";
+                throw new TooManyCustomerIdsException(
+                        "Cannot look up more than " + MAX_LOOKUP_SIZE + " customers at once: " + ids.size()
+                );
+            }
+            if (ids.stream().anyMatch(Objects::isNull)) {
+                outcome = "invalid_ids";
+                throw new InvalidCustomerIdsException("Customer ids must not be null");
+            }
+
+            val uniqueIds = new LinkedHashSet<>(ids);
+            val found = HashMap.<UUID, Customer>newHashMap(uniqueIds.size());
+            val uncachedIds = new ArrayList<UUID>();
+            for (val id : uniqueIds) {
+                customerCache.getIfPresent(id).ifPresentOrElse(
+                        customer -> found.put(id, customer),
+                        () -> uncachedIds.add(id)
+                );
+            }
+            if (!uncachedIds.isEmpty()) {
+                for (val customer : customerRepo.findAllById(uncachedIds)) {
+                    customerCache.put(customer);
+                    found.put(customer.id(), customer);
+                }
+            }
+
+            val customers = new ArrayList<Customer>(found.size());
+            val missingIds = new ArrayList<UUID>();
+            for (val id : uniqueIds) {
+                val customer = found.get(id);
+                if (customer != null) {
+                    customers.add(customer);
+                } else {
+                    missingIds.add(id);
+                }
+            }
+            outcome = missingIds.isEmpty() ? OUTCOME_FOUND : "partially_found";
+            return new CustomerLookup(customers, missingIds);
+        } finally {
+            sample.stop(timer("findAllById", outcome));
+        }
+    }
+
+    /**
+     * Find the version of a customer by id.
+     * A cached customer is used if there is one, otherwise only the version is looked up in the repository,
+     * so the customer does not have to be loaded to check whether it has changed.
+     *
+     * @param id UUID of the customer.
+     * @return Version of the customer.
+     * @throws CustomerNotFoundException if the customer is not found.
+     */
+    public long findVersionById(UUID id) throws CustomerNotFoundException {
+        log.info("Finding version of customer with id: {}", id);
+
+        val sample = Timer.start(meterRegistry);
+        var outcome = OUTCOME_ERROR;
+        try {
+            val version = customerCache.getIfPresent(id)
+                    .map(Customer::version)
+                    .or(() -> customerRepo.findVersionById(id));
+            if (version.isEmpty()) {
+                outcome = OUTCOME_NOT_FOUND;
+                throw new CustomerNotFoundException("Customer not found with id: " + id);
+            }
+            outcome = OUTCOME_FOUND;
+            return version.get();
+        } finally {
+            sample.stop(timer("findVersionById", outcome));
+        }
+    }
+
+    /**
+     * Find a customer by mail address.
+     * Mail addresses are compared case-insensitively.
+     *
+     * @param mail Mail address of the customer.
+     * @return {@link Customer}.
+     * @throws CustomerNotFoundException if the customer is not found.
+     */
+    public Customer findByMail(String mail) throws CustomerNotFoundException {
+        log.info("Finding customer with mail: {}", mail);
+
+        val sample = Timer.start(meterRegistry);
+        var outcome = OUTCOME_ERROR;
+        try {
+            val customer = customerRepo.findByMail(mail);
+            if (customer.isEmpty()) {
+                outcome = OUTCOME_NOT_FOUND;
+                throw new CustomerNotFoundException("Customer not found with mail: " + mail);
+            }
+            log.info("Found customer with mail: {}", mail);
+            outcome = OUTCOME_FOUND;
+            return customer.get();
+        } finally {
+            sample.stop(timer("findByMail", outcome));
+        }
+    }
+
+    /**
+     * Find a page of customers ordered by id.
+     * The limit is clamped between 1 and {@link #MAX_PAGE_SIZE}.
+     * One extra customer is looked up to determine whether there is a next page.
+     *
+     * @param after UUID of the last customer on the previous page, or null to find the first page.
+     * @param limit Maximum number of customers on the page.
+     * @return {@link CustomerPage}.
+     */
+    public CustomerPage findPage(UUID after, int limit) {
+        log.info("Finding page of customers after id: {}", after);
+
+        val pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        val customers = customerRepo.findPage(after, pageSize + 1);
+        if (customers.size() <= pageSize) {
+            return new CustomerPage(customers, null);
+        }
+
+        val page = customers.subList(0, pageSize);
+        return new CustomerPage(page, page.getLast().id());
+    }
+
+    /**
+     * Perform the given action for every customer.
+     * The customers are streamed from the repository and are not cached.
+     *
+     * @param action Action to perform for each {@link Customer}.
+     */
+    public void forEach(Consumer<Customer> action) {
+        log.info("Streaming all customers");
+        customerRepo.forEach(action);
+    }
+
+    /**
+     * Get the timer for a service method and outcome.
+     *
+     * @param method  Name of the service method.
+     * @param outcome Outcome of the call.
+     * @return {@link Timer}.
+     */
+    private Timer timer(String method, String outcome) {
+        return Timer.builder("customer.service")
+                .description("Time spent in calls to the customer service")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 }
@@ -0,0 +1,57 @@
+package com.github.thorlauridsen.validation;
+
+import com.github.thorlauridsen.web.dto.CustomerInputDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validator for customer input.
+ * <p>
+ * Applies the same bean validation rules as {@link jakarta.validation.Valid} on a request body,
+ * but returns the field errors instead of throwing an exception.
+ * This allows a single invalid customer in a larger request to be reported
+ * without rejecting the entire request.
+ * <p>
+ * Validations are timed by the customer.validation timer, tagged with whether the input was valid.
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerInputValidator {
+
+    private final Validator validator;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Validate a customer input.
+     *
+     * @param customerInput {@link CustomerInputDto} to validate.
+     * @return Map of field names to error messages. The map is empty if the input is valid.
+     */
+    public Map<String, String> validate(CustomerInputDto customerInput) {
+        if (customerInput == null) {
+            return Map.of("mail", "Email is required");
+        }
+
+        val sample = Timer.start(meterRegistry);
+        val fieldErrors = validator.validate(customerInput)
+                .stream()
+                .collect(Collectors.toMap(
+                        violation -> violation.getPropertyPath().toString(),
+                        ConstraintViolation::getMessage,
+                        (first, second) -> first
+                ));
+        sample.stop(Timer.builder("customer.validation")
+                .description("Time spent validating customer input")
+                .tag("outcome", fieldErrors.isEmpty() ? "valid" : "invalid")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        return fieldErrors;
+    }
+}
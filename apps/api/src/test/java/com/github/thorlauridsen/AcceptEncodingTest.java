@@ -0,0 +1,53 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.controller.AcceptEncoding;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for testing the {@link AcceptEncoding} parser.
+ */
+class AcceptEncodingTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "gzip",
+            "GZIP",
+            "x-gzip",
+            "deflate, gzip",
+            "gzip;q=0.5, br",
+            "gzip ; Q=1.0",
+            "*",
+            "br, *;q=0.1"
+    })
+    void acceptsGzip_gzipAcceptable_true(String acceptEncoding) {
+        assertTrue(AcceptEncoding.acceptsGzip(acceptEncoding));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "identity",
+            "br, deflate",
+            "gzip;q=0",
+            "gzip;q=0.000",
+            "gzip; q=0, *",
+            "*;q=0",
+            "gzip;q=abc",
+            "gzip;q=2",
+            "gzipped",
+            "deflate;note=gzip"
+    })
+    void acceptsGzip_gzipNotAcceptable_false(String acceptEncoding) {
+        assertFalse(AcceptEncoding.acceptsGzip(acceptEncoding));
+    }
+
+    @Test
+    void acceptsGzip_noHeader_false() {
+        assertFalse(AcceptEncoding.acceptsGzip(null));
+    }
+}
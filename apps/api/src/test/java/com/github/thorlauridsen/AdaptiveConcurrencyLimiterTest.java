@@ -0,0 +1,60 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.limit.AdaptiveConcurrencyLimiter;
+import com.github.thorlauridsen.limit.VegasLimit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for testing the {@link AdaptiveConcurrencyLimiter}.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void tryAcquire_limitReached_rejectsRequest() {
+        val registry = new SimpleMeterRegistry();
+        val limiter = new AdaptiveConcurrencyLimiter("read", new VegasLimit(2, 1, 2), registry);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, gauge(registry, "customer.concurrency.in.flight"));
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, registry.get("customer.concurrency.rejected").tag("operation", "read").counter().count());
+
+        limiter.release(1_000_000, false);
+        assertEquals(1, gauge(registry, "customer.concurrency.in.flight"));
+        assertTrue(limiter.tryAcquire());
+        assertEquals(1, registry.get("customer.concurrency.latency").tag("operation", "read").timer().count());
+    }
+
+    @Test
+    void release_droppedRequests_lowersLimit() {
+        val registry = new SimpleMeterRegistry();
+        val limiter = new AdaptiveConcurrencyLimiter("write", new VegasLimit(10, 1, 10), registry);
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(1_000_000, true);
+        }
+
+        assertEquals(1, gauge(registry, "customer.concurrency.limit"));
+        assertEquals(0.001, gauge(registry, "customer.concurrency.latency.no.load"), 1e-9);
+    }
+
+    /**
+     * Get the value of a gauge of the limiter.
+     *
+     * @param registry {@link SimpleMeterRegistry} the gauge is registered in.
+     * @param name     Name of the gauge.
+     * @return Value of the gauge.
+     */
+    private static double gauge(SimpleMeterRegistry registry, String name) {
+        return registry.get(name).gauge().value();
+    }
+}
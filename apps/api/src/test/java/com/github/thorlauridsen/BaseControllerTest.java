@@ -24,9 +24,36 @@ public class BaseControllerTest {
      * @return {@link RestTestClient.ResponseSpec} response.
      */
     public RestTestClient.ResponseSpec get(String getUrl) {
+        return get(getUrl, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    /**
+     * Test an HTTP GET request accepting the given media type.
+     *
+     * @param getUrl    the URL to send an HTTP GET request to.
+     * @param mediaType the media type to accept.
+     * @return {@link RestTestClient.ResponseSpec} response.
+     */
+    public RestTestClient.ResponseSpec get(String getUrl, String mediaType) {
+        return restTestClient.get()
+                .uri(getUrl)
+                .header(HttpHeaders.ACCEPT, mediaType)
+                .exchange();
+    }
+
+    /**
+     * Test an HTTP GET request with an additional request header.
+     *
+     * @param getUrl      the URL to send an HTTP GET request to.
+     * @param headerName  the name of the header to send.
+     * @param headerValue the value of the header to send.
+     * @return {@link RestTestClient.ResponseSpec} response.
+     */
+    public RestTestClient.ResponseSpec get(String getUrl, String headerName, String headerValue) {
         return restTestClient.get()
                 .uri(getUrl)
                 .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .header(headerName, headerValue)
                 .exchange();
     }
 
@@ -38,11 +65,41 @@ public class BaseControllerTest {
      * @return {@link RestTestClient.ResponseSpec} response.
      */
     public RestTestClient.ResponseSpec post(String postUrl, String jsonBody) {
+        return post(postUrl, jsonBody, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    /**
+     * Test an HTTP POST request with a body of the given content type.
+     *
+     * @param postUrl     the URL to send an HTTP POST request to.
+     * @param body        the body to send with the request.
+     * @param contentType the content type of the body.
+     * @return {@link RestTestClient.ResponseSpec} response.
+     */
+    public RestTestClient.ResponseSpec post(String postUrl, String body, String contentType) {
         return restTestClient.post()
                 .uri(postUrl)
-                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.CONTENT_TYPE, contentType)
                 .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
-                .body(jsonBody)
+                .body(body)
+                .exchange();
+    }
+
+    /**
+     * Test an HTTP POST request with a binary body of the given media type.
+     * The response is requested in the same media type.
+     *
+     * @param postUrl   the URL to send an HTTP POST request to.
+     * @param body      the binary body to send with the request.
+     * @param mediaType the media type of the body and the response.
+     * @return {@link RestTestClient.ResponseSpec} response.
+     */
+    public RestTestClient.ResponseSpec post(String postUrl, byte[] body, String mediaType) {
+        return restTestClient.post()
+                .uri(postUrl)
+                .header(HttpHeaders.CONTENT_TYPE, mediaType)
+                .header(HttpHeaders.ACCEPT, mediaType)
+                .body(body)
                 .exchange();
     }
 }
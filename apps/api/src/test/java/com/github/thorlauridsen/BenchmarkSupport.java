@@ -0,0 +1,149 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.model.CustomerInput;
+import com.github.thorlauridsen.model.ICustomerRepo;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import lombok.val;
+
+/**
+ * Shared helpers of the benchmark tests for creating databases, inserting customers,
+ * running concurrent clients and sending load to a running application.
+ */
+final class BenchmarkSupport {
+
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Get the JDBC URL of an H2 database file in the given directory.
+     * Benchmarks create their database files in a JUnit temporary directory,
+     * so the files are deleted once the benchmark has finished.
+     *
+     * @param directory Directory of the database file.
+     * @param name      Name of the database.
+     * @return JDBC URL of the H2 database file.
+     */
+    static String h2FileUrl(Path directory, String name) {
+        return "jdbc:h2:file:" + directory.resolve(name).toAbsolutePath();
+    }
+
+    /**
+     * Insert customers with a sequential number in batches.
+     *
+     * @param customerRepo {@link ICustomerRepo} to insert the customers with.
+     * @param from         Number of the first customer to insert.
+     * @param to           Number after the last customer to insert.
+     */
+    static void insertCustomers(ICustomerRepo customerRepo, int from, int to) {
+        for (int batchFrom = from; batchFrom < to; batchFrom += INSERT_BATCH_SIZE) {
+            val batchTo = Math.min(batchFrom + INSERT_BATCH_SIZE, to);
+            val inputs = new ArrayList<CustomerInput>(batchTo - batchFrom);
+            for (int i = batchFrom; i < batchTo; i++) {
+                inputs.add(new CustomerInput("customer" + i + "@gmail.com"));
+            }
+            customerRepo.saveAll(inputs);
+        }
+    }
+
+    /**
+     * Run the given client the given number of times concurrently and wait for all of them to finish.
+     * A client which fails fails the benchmark, so a broken run is not reported as a low throughput.
+     *
+     * @param executor {@link ExecutorService} to run the clients on.
+     * @param clients  Number of clients to run.
+     * @param client   Client to run.
+     * @throws IllegalStateException if a client failed.
+     */
+    static void runClients(ExecutorService executor, int clients, Callable<?> client) throws InterruptedException {
+        val futures = new ArrayList<Future<?>>(clients);
+        for (int i = 0; i < clients; i++) {
+            futures.add(executor.submit(client));
+        }
+        for (val future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Benchmark client failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Send the given number of requests, keeping the given number of requests in flight.
+     *
+     * @param requests       Number of requests to send.
+     * @param concurrency    Maximum number of requests in flight.
+     * @param request        Function creating the request with the given index.
+     * @param expectedStatus HTTP status code of a successful response.
+     * @return {@link LoadResult} with throughput and latency percentiles.
+     */
+    static LoadResult sendRequests(
+            int requests,
+            int concurrency,
+            IntFunction<HttpRequest> request,
+            int expectedStatus
+    ) throws InterruptedException {
+        val latencies = new long[requests];
+        val failed = new AtomicInteger();
+        val inFlight = new Semaphore(concurrency);
+
+        val start = System.nanoTime();
+        try (HttpClient client = HttpClient.newHttpClient();
+             var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                inFlight.acquire();
+                val index = i;
+                val httpRequest = request.apply(i);
+                executor.submit(() -> {
+                    val requestStart = System.nanoTime();
+                    try {
+                        val response = client.send(httpRequest, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != expectedStatus) {
+                            failed.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - requestStart;
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        val elapsedNanos = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new LoadResult(
+                requests * 1_000_000_000L / elapsedNanos,
+                latencies[requests / 2] / 1_000_000.0,
+                latencies[(int) (requests * 0.99)] / 1_000_000.0,
+                failed.get()
+        );
+    }
+
+    /**
+     * Result of sending load to an application.
+     *
+     * @param throughput Requests completed per second.
+     * @param p50        Median latency in milliseconds.
+     * @param p99        99th percentile latency in milliseconds.
+     * @param failed     Number of requests which did not return the expected status.
+     */
+    record LoadResult(long throughput, double p50, double p99, int failed) {
+    }
+}
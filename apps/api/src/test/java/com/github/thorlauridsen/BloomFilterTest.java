@@ -0,0 +1,59 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.persistence.BloomFilter;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for testing the {@link BloomFilter}.
+ */
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    void mightContain_addedValues_returnsTrue() {
+        val filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put("customer" + i + "@gmail.com");
+        }
+
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertTrue(filter.mightContain("customer" + i + "@gmail.com"));
+        }
+    }
+
+    @Test
+    void mightContain_unknownValues_falsePositiveRateWithinBound() {
+        val filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put("customer" + i + "@gmail.com");
+        }
+
+        var falsePositives = 0;
+        for (int i = 0; i < INSERTIONS; i++) {
+            if (filter.mightContain("unknown" + i + "@gmail.com")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < INSERTIONS * FALSE_POSITIVE_RATE * 2);
+    }
+
+    @Test
+    void mightContain_emptyFilter_returnsFalse() {
+        val filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+        assertFalse(filter.mightContain("alice@gmail.com"));
+    }
+
+    @Test
+    void constructor_invalidArguments_throwsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, FALSE_POSITIVE_RATE));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(INSERTIONS, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(INSERTIONS, 1));
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.bulkhead.BulkheadCustomerRepo;
+import com.github.thorlauridsen.exception.BulkheadFullException;
+import com.github.thorlauridsen.model.InMemoryCustomerRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for testing the {@link BulkheadCustomerRepo}.
+ */
+class BulkheadCustomerRepoTest {
+
+    @Test
+    void findById_noFreePermit_rejectsCall() throws InterruptedException {
+        val entered = new CountDownLatch(1);
+        val release = new CountDownLatch(1);
+        val delegate = new InMemoryCustomerRepo();
+        delegate.beforeFindById(() -> {
+            entered.countDown();
+            awaitUninterruptibly(release);
+        });
+        val registry = new SimpleMeterRegistry();
+        val repo = new BulkheadCustomerRepo(delegate, 1, Duration.ofMillis(50), registry);
+
+        val blockedCall = Thread.ofVirtual().start(() -> repo.findById(UUID.randomUUID()));
+        entered.await();
+
+        assertEquals(1, registry.get("customer.repo.bulkhead.in.flight").gauge().value());
+        assertThrows(BulkheadFullException.class, () -> repo.findById(UUID.randomUUID()));
+        assertEquals(1, registry.get("customer.repo.bulkhead.rejected").counter().count());
+
+        release.countDown();
+        blockedCall.join();
+
+        assertEquals(0, registry.get("customer.repo.bulkhead.in.flight").gauge().value());
+        assertTrue(repo.findById(UUID.randomUUID()).isEmpty());
+        assertEquals(3, registry.get("customer.repo.bulkhead.wait").timer().count());
+    }
+
+    /**
+     * Wait for a latch to be released, keeping the interrupt status if the wait is interrupted.
+     *
+     * @param latch {@link CountDownLatch} to wait for.
+     */
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.coalescing.CoalescingCustomerRepo;
+import com.github.thorlauridsen.model.Customer;
+import com.github.thorlauridsen.model.InMemoryCustomerRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for testing the {@link CoalescingCustomerRepo}.
+ */
+class CoalescingCustomerRepoTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Test
+    void findById_concurrentLookups_coalescedIntoSingleQuery() throws Exception {
+        val delegate = new InMemoryCustomerRepo();
+        delegate.recordBatches();
+        val existing = delegate.add("alice@gmail.com");
+        val missingId = UUID.randomUUID();
+        val registry = new SimpleMeterRegistry();
+        val repo = new CoalescingCustomerRepo(delegate, Duration.ofSeconds(1), 100, TIMEOUT, registry);
+
+        val results = new ArrayList<Future<Optional<Customer>>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                val id = i % 2 == 0 ? existing.id() : missingId;
+                results.add(executor.submit(() -> repo.findById(id)));
+            }
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            val customer = results.get(i).get();
+            if (i % 2 == 0) {
+                assertEquals(Optional.of(existing), customer);
+            } else {
+                assertTrue(customer.isEmpty());
+            }
+        }
+        assertEquals(1, delegate.lookedUpIds().size());
+        assertEquals(2, delegate.lookedUpIds().getFirst().size());
+        assertEquals(1, registry.get("customer.repo.coalescing.queries").counter().count());
+        assertEquals(8, registry.get("customer.repo.coalescing.shared").counter().count());
+        assertEquals(2, registry.get("customer.repo.coalescing.batch.size").summary().max());
+    }
+
+    @Test
+    void findById_batchFull_lookedUpBeforeWindowEnds() {
+        val delegate = new InMemoryCustomerRepo();
+        delegate.recordBatches();
+        val customer = delegate.add("bob@gmail.com");
+        val repo = new CoalescingCustomerRepo(delegate, Duration.ofMinutes(1), 1, TIMEOUT, new SimpleMeterRegistry());
+
+        assertEquals(Optional.of(customer), repo.findById(customer.id()));
+        assertEquals(1, delegate.lookedUpIds().size());
+    }
+
+    @Test
+    void findById_queryFails_failsEveryLookupOfBatch() {
+        val delegate = new InMemoryCustomerRepo();
+        delegate.recordBatches();
+        delegate.failBatchesWith(new IllegalStateException("Database unavailable"));
+        val repo = new CoalescingCustomerRepo(delegate, Duration.ZERO, 100, TIMEOUT, new SimpleMeterRegistry());
+
+        val exception = assertThrows(IllegalStateException.class, () -> repo.findById(UUID.randomUUID()));
+        assertEquals("Database unavailable", exception.getMessage());
+    }
+
+    @Test
+    void findById_queryThrowsError_failsEveryLookupOfBatch() throws Exception {
+        val delegate = new InMemoryCustomerRepo();
+        delegate.recordBatches();
+        delegate.failBatchesWith(new AssertionError("Query crashed"));
+        val repo = new CoalescingCustomerRepo(delegate, Duration.ofSeconds(1), 2, TIMEOUT, new SimpleMeterRegistry());
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            val first = executor.submit(() -> repo.findById(UUID.randomUUID()));
+            val second = executor.submit(() -> repo.findById(UUID.randomUUID()));
+
+            for (val lookup : List.of(first, second)) {
+                val exception = assertThrows(ExecutionException.class, lookup::get);
+                assertInstanceOf(AssertionError.class, exception.getCause());
+            }
+        }
+        assertEquals(1, delegate.lookedUpIds().size());
+    }
+}
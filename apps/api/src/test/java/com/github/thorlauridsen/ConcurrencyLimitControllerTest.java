@@ -0,0 +1,86 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.limit.AdaptiveConcurrencyLimiter;
+import com.github.thorlauridsen.web.dto.ErrorDto;
+import java.util.UUID;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import static com.github.thorlauridsen.web.BaseEndpoint.CUSTOMER_BASE_ENDPOINT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for testing the concurrency limits of the customer endpoints.
+ * The limits allow a single request in flight, so a test can take the only permit of a limiter
+ * and check which endpoints are rejected while it is held.
+ */
+@TestPropertySource(properties = {
+        "customer.concurrency-limit.enabled=true",
+        "customer.concurrency-limit.initial-limit=1",
+        "customer.concurrency-limit.min-limit=1",
+        "customer.concurrency-limit.max-limit=1",
+        "customer.concurrency-limit.retry-after=2s"
+})
+class ConcurrencyLimitControllerTest extends BaseControllerTest {
+
+    @Autowired
+    @Qualifier("readConcurrencyLimiter")
+    private AdaptiveConcurrencyLimiter readLimiter;
+
+    @Autowired
+    @Qualifier("writeConcurrencyLimiter")
+    private AdaptiveConcurrencyLimiter writeLimiter;
+
+    @Test
+    void readLimitReached_readsRejected_writesAdmitted() {
+        assertTrue(readLimiter.tryAcquire());
+        try {
+            assertRejected(get(CUSTOMER_BASE_ENDPOINT + "/" + UUID.randomUUID()));
+            assertRejected(post(CUSTOMER_BASE_ENDPOINT + "/lookup", "[\"" + UUID.randomUUID() + "\"]"));
+            post(CUSTOMER_BASE_ENDPOINT, "{\"mail\":\"read-limit@gmail.com\"}")
+                    .expectStatus().isEqualTo(HttpStatus.CREATED);
+        } finally {
+            readLimiter.release(0, false);
+        }
+
+        get(CUSTOMER_BASE_ENDPOINT + "/" + UUID.randomUUID()).expectStatus().isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void writeLimitReached_writesRejected_readsAdmitted() {
+        assertTrue(writeLimiter.tryAcquire());
+        try {
+            assertRejected(post(CUSTOMER_BASE_ENDPOINT, "{\"mail\":\"write-limit@gmail.com\"}"));
+            get(CUSTOMER_BASE_ENDPOINT + "/" + UUID.randomUUID()).expectStatus().isEqualTo(HttpStatus.NOT_FOUND);
+            post(CUSTOMER_BASE_ENDPOINT + "/lookup", "[\"" + UUID.randomUUID() + "\"]")
+                    .expectStatus().isEqualTo(HttpStatus.OK);
+        } finally {
+            writeLimiter.release(0, false);
+        }
+
+        post(CUSTOMER_BASE_ENDPOINT, "{\"mail\":\"write-limit@gmail.com\"}")
+                .expectStatus().isEqualTo(HttpStatus.CREATED);
+    }
+
+    /**
+     * Assert that a request was rejected by a concurrency limit.
+     *
+     * @param response {@link RestTestClient.ResponseSpec} of the request.
+     */
+    private void assertRejected(RestTestClient.ResponseSpec response) {
+        response.expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        response.expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "2");
+
+        val error = response.expectBody(ErrorDto.class).returnResult().getResponseBody();
+        assertNotNull(error);
+        assertEquals("Too many concurrent requests, please retry later", error.description());
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.cache.CustomerCache;
+import com.github.thorlauridsen.cache.CustomerCacheProperties;
+import com.github.thorlauridsen.model.Customer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for testing the {@link CustomerCache}.
+ */
+class CustomerCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CustomerCache customerCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        val properties = new CustomerCacheProperties(true, 100, Duration.ofMinutes(5), Duration.ofSeconds(30));
+        customerCache = new CustomerCache(properties, meterRegistry);
+    }
+
+    @Test
+    void get_sameIdTwice_loadsOnce() {
+        val customer = new Customer(UUID.randomUUID(), "alice@gmail.com");
+        val loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            val cachedCustomer = customerCache.get(customer.id(), id -> {
+                loads.incrementAndGet();
+                return Optional.of(customer);
+            });
+            assertEquals(Optional.of(customer), cachedCustomer);
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void get_missingCustomer_cachesMiss() {
+        val id = UUID.randomUUID();
+        val loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            val cachedCustomer = customerCache.get(id, missingId -> {
+                loads.incrementAndGet();
+                return Optional.empty();
+            });
+            assertTrue(cachedCustomer.isEmpty());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void put_customer_getDoesNotLoad() {
+        val customer = new Customer(UUID.randomUUID(), "bob@gmail.com");
+        customerCache.put(customer);
+
+        val cachedCustomer = customerCache.get(customer.id(), id -> {
+            throw new AssertionError("Customer should be cached");
+        });
+        assertEquals(Optional.of(customer), cachedCustomer);
+    }
+}
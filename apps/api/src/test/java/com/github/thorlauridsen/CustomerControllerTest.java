@@ -1,25 +1,41 @@
 package com.github.thorlauridsen;
 
-import com.github.thorlauridsen.dto.CustomerDto;
-import com.github.thorlauridsen.dto.CustomerInputDto;
-import com.github.thorlauridsen.dto.ErrorDto;
+import com.github.thorlauridsen.service.CustomerService;
+import com.github.thorlauridsen.web.dto.CustomerBatchResultDto;
+import com.github.thorlauridsen.web.dto.CustomerDto;
+import com.github.thorlauridsen.web.dto.CustomerImportResultDto;
+import com.github.thorlauridsen.web.dto.CustomerInputDto;
+import com.github.thorlauridsen.web.dto.CustomerLookupDto;
+import com.github.thorlauridsen.web.dto.CustomerPageDto;
+import com.github.thorlauridsen.web.dto.ErrorDto;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import lombok.val;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
 
-import static com.github.thorlauridsen.controller.BaseEndpoint.CUSTOMER_BASE_ENDPOINT;
+import static com.github.thorlauridsen.web.BaseEndpoint.APPLICATION_NDJSON_VALUE;
+import static com.github.thorlauridsen.web.BaseEndpoint.APPLICATION_SMILE_VALUE;
+import static com.github.thorlauridsen.web.BaseEndpoint.CUSTOMER_BASE_ENDPOINT;
+import static com.github.thorlauridsen.web.BaseEndpoint.TEXT_CSV_VALUE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -68,6 +84,53 @@ class CustomerControllerTest extends BaseControllerTest {
         assertCustomer(fetchedCustomer, mail);
     }
 
+    @Test
+    void getCustomer_matchingETag_returnsNotModified() {
+        val json = jsonMapper.writeValueAsString(new CustomerInputDto("yvonne@gmail.com"));
+        val createdCustomer = post(CUSTOMER_BASE_ENDPOINT, json)
+                .expectBody(CustomerDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(createdCustomer);
+        val url = CUSTOMER_BASE_ENDPOINT + "/" + createdCustomer.id();
+
+        val response = get(url).expectStatus().isEqualTo(HttpStatus.OK)
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache, public")
+                .expectBody(CustomerDto.class)
+                .returnResult();
+        val eTag = response.getResponseHeaders().getETag();
+        assertEquals("\"0\"", eTag);
+
+        get(url, HttpHeaders.IF_NONE_MATCH, eTag)
+                .expectStatus().isEqualTo(HttpStatus.NOT_MODIFIED)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, eTag)
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void getCustomer_staleETag_returnsCustomer() {
+        val json = jsonMapper.writeValueAsString(new CustomerInputDto("zoe@gmail.com"));
+        val createdCustomer = post(CUSTOMER_BASE_ENDPOINT, json)
+                .expectBody(CustomerDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(createdCustomer);
+
+        val response = get(CUSTOMER_BASE_ENDPOINT + "/" + createdCustomer.id(), HttpHeaders.IF_NONE_MATCH, "\"42\"");
+        response.expectStatus().isEqualTo(HttpStatus.OK)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"");
+
+        val fetchedCustomer = response.expectBody(CustomerDto.class).returnResult().getResponseBody();
+        assertCustomer(fetchedCustomer, "zoe@gmail.com");
+    }
+
+    @Test
+    void getCustomer_randomIdWithETag_returnsNotFound() {
+        val response = get(CUSTOMER_BASE_ENDPOINT + "/" + UUID.randomUUID(), HttpHeaders.IF_NONE_MATCH, "\"0\"");
+
+        response.expectStatus().isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
     @Test
     void postCustomer_blankEmail_returnsBadRequest() {
         val customer = new CustomerInputDto("");
@@ -98,6 +161,302 @@ class CustomerControllerTest extends BaseControllerTest {
         assertEquals("Invalid email format", error.fieldErrors().get("mail"));
     }
 
+    @Test
+    void postCustomerBatch_oneInvalidEmail_createsOthers() {
+        val customers = List.of(
+                new CustomerInputDto("heidi@gmail.com"),
+                new CustomerInputDto("invalid-email"),
+                new CustomerInputDto("ivan@gmail.com")
+        );
+        val json = jsonMapper.writeValueAsString(customers);
+        val response = post(CUSTOMER_BASE_ENDPOINT + "/batch", json);
+        response.expectStatus().isEqualTo(HttpStatus.OK);
+
+        val result = response.expectBody(CustomerBatchResultDto.class).returnResult().getResponseBody();
+        assertNotNull(result);
+        assertEquals(2, result.created());
+        assertEquals(1, result.failed());
+        assertEquals(3, result.items().size());
+
+        assertCustomer(result.items().get(0).customer(), "heidi@gmail.com");
+        assertNull(result.items().get(1).customer());
+        assertEquals("Invalid email format", result.items().get(1).fieldErrors().get("mail"));
+        assertCustomer(result.items().get(2).customer(), "ivan@gmail.com");
+
+        val response2 = get(CUSTOMER_BASE_ENDPOINT + "/" + result.items().get(2).customer().id());
+        response2.expectStatus().isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void lookupCustomers_foundAndMissingIds_returnsCustomersInGivenOrder() {
+        val inputs = List.of(new CustomerInputDto("nina@gmail.com"), new CustomerInputDto("olaf@gmail.com"));
+        val batch = post(CUSTOMER_BASE_ENDPOINT + "/batch", jsonMapper.writeValueAsString(inputs))
+                .expectBody(CustomerBatchResultDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(batch);
+        val nina = batch.items().get(0).customer();
+        val olaf = batch.items().get(1).customer();
+        val missingId = UUID.randomUUID();
+
+        val ids = List.of(olaf.id(), missingId, nina.id(), olaf.id());
+        val response = post(CUSTOMER_BASE_ENDPOINT + "/lookup", jsonMapper.writeValueAsString(ids));
+        response.expectStatus().isEqualTo(HttpStatus.OK);
+
+        val lookup = response.expectBody(CustomerLookupDto.class).returnResult().getResponseBody();
+        assertNotNull(lookup);
+        assertEquals(List.of(olaf.id(), nina.id()), lookup.customers().stream().map(CustomerDto::id).toList());
+        assertCustomer(lookup.customers().get(0), "olaf@gmail.com");
+        assertEquals(List.of(missingId), lookup.missingIds());
+    }
+
+    @Test
+    void lookupCustomers_tooManyIds_returnsBadRequest() {
+        val ids = Stream.generate(UUID::randomUUID).limit(CustomerService.MAX_LOOKUP_SIZE + 1).toList();
+        val response = post(CUSTOMER_BASE_ENDPOINT + "/lookup", jsonMapper.writeValueAsString(ids));
+
+        response.expectStatus().isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void lookupCustomers_nullId_returnsBadRequest() {
+        val body = "[\"" + UUID.randomUUID() + "\", null]";
+        val response = post(CUSTOMER_BASE_ENDPOINT + "/lookup", body);
+
+        response.expectStatus().isEqualTo(HttpStatus.BAD_REQUEST);
+        val error = response.expectBody(ErrorDto.class).returnResult().getResponseBody();
+        assertNotNull(error);
+        assertEquals("Customer ids must not be null", error.description());
+    }
+
+    @Test
+    void getCustomerByMail_differentCase_returnsCustomer() {
+        val json = jsonMapper.writeValueAsString(new CustomerInputDto("Walter@Gmail.com"));
+        val response = post(CUSTOMER_BASE_ENDPOINT, json);
+        response.expectStatus().isEqualTo(HttpStatus.CREATED);
+        val createdCustomer = response.expectBody(CustomerDto.class).returnResult().getResponseBody();
+        assertNotNull(createdCustomer);
+
+        val response2 = get(CUSTOMER_BASE_ENDPOINT + "?mail=walter@gmail.com");
+        response2.expectStatus().isEqualTo(HttpStatus.OK);
+
+        val fetchedCustomer = response2.expectBody(CustomerDto.class).returnResult().getResponseBody();
+        assertNotNull(fetchedCustomer);
+        assertEquals(createdCustomer.id(), fetchedCustomer.id());
+        assertEquals("Walter@Gmail.com", fetchedCustomer.mail());
+    }
+
+    @Test
+    void getCustomerByMail_unknownMail_returnsNotFound() {
+        val response = get(CUSTOMER_BASE_ENDPOINT + "?mail=nobody@gmail.com");
+
+        response.expectStatus().isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void postCustomerCbor_getCustomerCbor_success() {
+        val cborMapper = CBORMapper.builder().build();
+        val body = cborMapper.writeValueAsBytes(new CustomerInputDto("victor@gmail.com"));
+        val response = post(CUSTOMER_BASE_ENDPOINT, body, MediaType.APPLICATION_CBOR_VALUE);
+        response.expectStatus().isEqualTo(HttpStatus.CREATED)
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR);
+
+        val createdBytes = response.expectBody(byte[].class).returnResult().getResponseBody();
+        val createdCustomer = cborMapper.readValue(createdBytes, CustomerDto.class);
+        assertCustomer(createdCustomer, "victor@gmail.com");
+
+        val response2 = get(CUSTOMER_BASE_ENDPOINT + "/" + createdCustomer.id(), MediaType.APPLICATION_CBOR_VALUE);
+        response2.expectStatus().isEqualTo(HttpStatus.OK)
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        val fetchedBytes = response2.expectBody(byte[].class).returnResult().getResponseBody();
+        assertEquals(createdCustomer, cborMapper.readValue(fetchedBytes, CustomerDto.class));
+    }
+
+    @Test
+    void postCustomerCbor_invalidEmailFormat_returnsBadRequest() {
+        val cborMapper = CBORMapper.builder().build();
+        val body = cborMapper.writeValueAsBytes(new CustomerInputDto("invalid-email"));
+        val response = post(CUSTOMER_BASE_ENDPOINT, body, MediaType.APPLICATION_CBOR_VALUE);
+        response.expectStatus().isEqualTo(HttpStatus.BAD_REQUEST)
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR);
+
+        val errorBytes = response.expectBody(byte[].class).returnResult().getResponseBody();
+        val error = cborMapper.readValue(errorBytes, ErrorDto.class);
+        assertNotNull(error);
+        assertEquals("Validation failed", error.description());
+        assertEquals("Invalid email format", error.fieldErrors().get("mail"));
+    }
+
+    @Test
+    void lookupCustomersSmile_existingId_returnsCustomer() {
+        val json = jsonMapper.writeValueAsString(new CustomerInputDto("walter@gmail.com"));
+        val createdCustomer = post(CUSTOMER_BASE_ENDPOINT, json)
+                .expectBody(CustomerDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(createdCustomer);
+
+        val smileMapper = SmileMapper.builder().build();
+        val body = smileMapper.writeValueAsBytes(List.of(createdCustomer.id()));
+        val response = post(CUSTOMER_BASE_ENDPOINT + "/lookup", body, APPLICATION_SMILE_VALUE);
+        response.expectStatus().isEqualTo(HttpStatus.OK)
+                .expectHeader().contentType(APPLICATION_SMILE_VALUE);
+
+        val lookupBytes = response.expectBody(byte[].class).returnResult().getResponseBody();
+        val lookup = smileMapper.readValue(lookupBytes, CustomerLookupDto.class);
+        assertEquals(List.of(createdCustomer), lookup.customers());
+        assertTrue(lookup.missingIds().isEmpty());
+    }
+
+    @Test
+    void getCustomers_acceptAnything_returnsJson() {
+        get(CUSTOMER_BASE_ENDPOINT + "?limit=1", MediaType.ALL_VALUE)
+                .expectStatus().isEqualTo(HttpStatus.OK)
+                .expectHeader().contentType(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void postCustomer_existingMail_returnsConflict() {
+        val json = jsonMapper.writeValueAsString(new CustomerInputDto("xavier@gmail.com"));
+        post(CUSTOMER_BASE_ENDPOINT, json).expectStatus().isEqualTo(HttpStatus.CREATED);
+
+        val duplicateJson = jsonMapper.writeValueAsString(new CustomerInputDto("Xavier@gmail.com"));
+        val response = post(CUSTOMER_BASE_ENDPOINT, duplicateJson);
+        response.expectStatus().isEqualTo(HttpStatus.CONFLICT);
+
+        val error = response.expectBody(ErrorDto.class).returnResult().getResponseBody();
+        assertNotNull(error);
+        assertEquals("Customer already exists with mail: Xavier@gmail.com", error.description());
+    }
+
+    @Test
+    void getCustomer_afterLookup_exposesLayerMetrics() {
+        get(CUSTOMER_BASE_ENDPOINT + "/" + UUID.randomUUID()).expectStatus().isEqualTo(HttpStatus.NOT_FOUND);
+
+        for (val metric : List.of("customer.service", "customer.repo", "customer.errors", "http.server.requests")) {
+            get("/actuator/metrics/" + metric).expectStatus().isEqualTo(HttpStatus.OK);
+        }
+    }
+
+    @Test
+    void getCustomers_limitOne_returnsPageWithCursor() {
+        for (val mail : List.of("judy@gmail.com", "mallory@gmail.com")) {
+            val json = jsonMapper.writeValueAsString(new CustomerInputDto(mail));
+            post(CUSTOMER_BASE_ENDPOINT, json).expectStatus().isEqualTo(HttpStatus.CREATED);
+        }
+
+        val response = get(CUSTOMER_BASE_ENDPOINT + "?limit=1");
+        response.expectStatus().isEqualTo(HttpStatus.OK);
+
+        val page = response.expectBody(CustomerPageDto.class).returnResult().getResponseBody();
+        assertNotNull(page);
+        assertEquals(1, page.customers().size());
+        assertNotNull(page.nextCursor());
+        assertEquals(page.customers().getFirst().id(), page.nextCursor());
+
+        val response2 = get(CUSTOMER_BASE_ENDPOINT + "?limit=1&after=" + page.nextCursor());
+        response2.expectStatus().isEqualTo(HttpStatus.OK);
+
+        val nextPage = response2.expectBody(CustomerPageDto.class).returnResult().getResponseBody();
+        assertNotNull(nextPage);
+        assertEquals(1, nextPage.customers().size());
+        assertNotEquals(page.customers().getFirst().id(), nextPage.customers().getFirst().id());
+    }
+
+    @Test
+    void exportCustomers_containsCreatedCustomer() {
+        val json = jsonMapper.writeValueAsString(new CustomerInputDto("peggy@gmail.com"));
+        val createdCustomer = post(CUSTOMER_BASE_ENDPOINT, json)
+                .expectBody(CustomerDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(createdCustomer);
+
+        val response = get(CUSTOMER_BASE_ENDPOINT + "/export", APPLICATION_NDJSON_VALUE);
+        response.expectStatus().isEqualTo(HttpStatus.OK)
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        val body = response.expectBody(String.class).returnResult().getResponseBody();
+        assertNotNull(body);
+
+        val exportedCustomers = body.lines()
+                .map(line -> jsonMapper.readValue(line, CustomerDto.class))
+                .toList();
+        assertTrue(exportedCustomers.contains(createdCustomer));
+    }
+
+    @Test
+    void importCustomers_ndjsonWithInvalidLines_reportsRejectedLines() {
+        val body = """
+                {"mail": "quentin@gmail.com"}
+                {"mail": "invalid-email"}
+                not json
+                {"mail": "rupert@gmail.com"}
+                """;
+        val response = post(CUSTOMER_BASE_ENDPOINT + "/import", body, APPLICATION_NDJSON_VALUE);
+        response.expectStatus().isEqualTo(HttpStatus.OK);
+
+        val result = response.expectBody(CustomerImportResultDto.class).returnResult().getResponseBody();
+        assertNotNull(result);
+        assertEquals(2, result.accepted());
+        assertEquals(2, result.rejected());
+        assertEquals(List.of(2L, 3L), result.rejectedLines());
+    }
+
+    @Test
+    void importCustomers_csvWithHeader_importsCustomers() {
+        val body = """
+                mail
+                sybil@gmail.com
+                "trent@gmail.com"
+
+                """;
+        val response = post(CUSTOMER_BASE_ENDPOINT + "/import", body, TEXT_CSV_VALUE);
+        response.expectStatus().isEqualTo(HttpStatus.OK);
+
+        val result = response.expectBody(CustomerImportResultDto.class).returnResult().getResponseBody();
+        assertNotNull(result);
+        assertEquals(2, result.accepted());
+        assertEquals(0, result.rejected());
+        assertTrue(result.rejectedLines().isEmpty());
+    }
+
+    @Test
+    void importCustomers_csvWithBlankLinesBeforeHeader_skipsHeader() {
+        val body = """
+
+                   \t
+                id,mail
+                1,ursula@gmail.com
+                2,victor@gmail.com
+                """;
+        val response = post(CUSTOMER_BASE_ENDPOINT + "/import", body, TEXT_CSV_VALUE);
+        response.expectStatus().isEqualTo(HttpStatus.OK);
+
+        val result = response.expectBody(CustomerImportResultDto.class).returnResult().getResponseBody();
+        assertNotNull(result);
+        assertEquals(2, result.accepted());
+        assertEquals(0, result.rejected());
+        assertTrue(result.rejectedLines().isEmpty());
+    }
+
+    @Test
+    void importCustomers_manyInvalidLines_listsFirstRejectedLines() {
+        val body = "not json\n".repeat(1_005);
+        val response = post(CUSTOMER_BASE_ENDPOINT + "/import", body, APPLICATION_NDJSON_VALUE);
+        response.expectStatus().isEqualTo(HttpStatus.OK);
+
+        val result = response.expectBody(CustomerImportResultDto.class).returnResult().getResponseBody();
+        assertNotNull(result);
+        assertEquals(0, result.accepted());
+        assertEquals(1_005, result.rejected());
+        assertEquals(1_000, result.rejectedLines().size());
+        assertEquals(1L, result.rejectedLines().getFirst());
+        assertEquals(1_000L, result.rejectedLines().getLast());
+    }
+
     /**
      * Ensure that the customer is not null and that the id is not null.
      * Assert that the mail is equal to the expected mail.
@@ -0,0 +1,109 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.model.ICustomerRepo;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static com.github.thorlauridsen.web.BaseEndpoint.APPLICATION_NDJSON_VALUE;
+import static com.github.thorlauridsen.web.BaseEndpoint.CUSTOMER_BASE_ENDPOINT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark exporting millions of customers from a file based H2 database.
+ * The benchmark task runs with a small heap, so the export only succeeds
+ * if customers are streamed instead of being loaded into memory.
+ * <p>
+ * Run with {@code ./gradlew api:benchmark -Dbenchmark.rows=2000000}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext
+class CustomerExportBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 2_000_000);
+
+    @TempDir
+    static Path tempDir;
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private ICustomerRepo customerRepo;
+
+    /**
+     * Keep the exported customers in an H2 database file in the temporary directory of the benchmark,
+     * which JUnit deletes together with the file afterwards.
+     *
+     * @param registry {@link DynamicPropertyRegistry} to add the datasource URL to.
+     */
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> BenchmarkSupport.h2FileUrl(tempDir, "export"));
+    }
+
+    @Test
+    void exportCustomers_millionsOfRows_streamsAllCustomers() throws IOException, InterruptedException {
+        BenchmarkSupport.insertCustomers(customerRepo, 0, ROWS);
+
+        val uri = URI.create("http://localhost:" + port + CUSTOMER_BASE_ENDPOINT + "/export");
+        val request = HttpRequest.newBuilder(uri)
+                .header("Accept", APPLICATION_NDJSON_VALUE)
+                .build();
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            val start = System.nanoTime();
+            val response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            assertEquals(200, response.statusCode());
+
+            long lines = 0;
+            long peakHeapUsed = 0;
+            val body = new InputStreamReader(response.body(), StandardCharsets.UTF_8);
+            try (BufferedReader reader = new BufferedReader(body)) {
+                while (reader.readLine() != null) {
+                    lines++;
+                    if (lines % 100_000 == 0) {
+                        peakHeapUsed = Math.max(peakHeapUsed, usedHeap());
+                    }
+                }
+            }
+            val elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertEquals(ROWS, lines);
+            log.info("Exported {} customers in {} ms with peak heap usage {} MiB of {} MiB",
+                    lines,
+                    elapsedMillis,
+                    peakHeapUsed / (1024 * 1024),
+                    Runtime.getRuntime().maxMemory() / (1024 * 1024));
+        }
+    }
+
+    /**
+     * Get the currently used heap memory in bytes.
+     *
+     * @return Used heap memory in bytes.
+     */
+    private long usedHeap() {
+        val runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
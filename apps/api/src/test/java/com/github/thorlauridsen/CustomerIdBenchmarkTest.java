@@ -0,0 +1,126 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.common.CustomerIdGenerator;
+import com.github.thorlauridsen.common.CustomerIdProperties;
+import com.github.thorlauridsen.common.CustomerIdProperties.UuidVersion;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark comparing random UUIDv4 and time-ordered UUIDv7 customer ids.
+ * Inserts a configurable number of rows into a customer table on H2 and PostgreSQL
+ * and reports the insert throughput and the size of the primary key index.
+ * <p>
+ * Run with {@code ./gradlew api:benchmark -Dbenchmark.rows=1000000}.
+ * A local Docker instance is required as Testcontainers is used for PostgreSQL.
+ */
+@Slf4j
+@Tag("benchmark")
+@Testcontainers
+class CustomerIdBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int BATCH_SIZE = 1_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18");
+
+    @TempDir
+    static Path tempDir;
+
+    @ParameterizedTest
+    @EnumSource(UuidVersion.class)
+    void h2_insertCustomers(UuidVersion version) throws SQLException {
+        val url = "jdbc:h2:file:" + tempDir.resolve("customer-" + version).toAbsolutePath();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            // H2 has no separate size function for an index, so this reports the table including its index.
+            benchmark(connection, "H2", version, "SELECT DISK_SPACE_USED('CUSTOMER')");
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(UuidVersion.class)
+    void postgres_insertCustomers(UuidVersion version) throws SQLException {
+        val url = postgres.getJdbcUrl() + "&reWriteBatchedInserts=true";
+        try (Connection connection = DriverManager.getConnection(url, postgres.getUsername(), postgres.getPassword())) {
+            benchmark(connection, "PostgreSQL", version, "SELECT pg_relation_size('customer_pkey')");
+        }
+    }
+
+    /**
+     * Create an empty customer table, insert the configured number of rows
+     * in batches and log the insert throughput and index size.
+     *
+     * @param connection   {@link Connection} to the database.
+     * @param database     Name of the database used in the log output.
+     * @param version      {@link UuidVersion} used to generate the ids.
+     * @param indexSizeSql SQL query returning the size of the primary key index in bytes.
+     */
+    private void benchmark(
+            Connection connection,
+            String database,
+            UuidVersion version,
+            String indexSizeSql
+    ) throws SQLException {
+        val generator = new CustomerIdGenerator(new CustomerIdProperties(version));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS customer");
+            statement.execute("CREATE TABLE customer (id UUID PRIMARY KEY, mail VARCHAR(255) NOT NULL)");
+        }
+
+        connection.setAutoCommit(false);
+        val start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO customer (id, mail) VALUES (?, ?)")) {
+            for (int i = 1; i <= ROWS; i++) {
+                insert.setObject(1, generator.generate());
+                insert.setString(2, "customer" + i + "@gmail.com");
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0 || i == ROWS) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        val elapsedNanos = System.nanoTime() - start;
+        connection.setAutoCommit(true);
+
+        long indexSize;
+        long rowCount;
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet resultSet = statement.executeQuery(indexSizeSql)) {
+                resultSet.next();
+                indexSize = resultSet.getLong(1);
+            }
+            try (ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM customer")) {
+                resultSet.next();
+                rowCount = resultSet.getLong(1);
+            }
+        }
+        assertEquals(ROWS, rowCount);
+
+        val rowsPerSecond = ROWS / (elapsedNanos / 1_000_000_000.0);
+        log.info("{} {}: inserted {} rows in {} ms ({} rows/s), index size {} MiB",
+                database,
+                version,
+                ROWS,
+                elapsedNanos / 1_000_000,
+                Math.round(rowsPerSecond),
+                indexSize / (1024 * 1024));
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.common.CustomerIdGenerator;
+import com.github.thorlauridsen.common.CustomerIdProperties;
+import com.github.thorlauridsen.common.CustomerIdProperties.UuidVersion;
+import java.util.UUID;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for testing the {@link CustomerIdGenerator}.
+ */
+class CustomerIdGeneratorTest {
+
+    @Test
+    void generate_v4_returnsRandomUuid() {
+        val generator = new CustomerIdGenerator(new CustomerIdProperties(UuidVersion.V4));
+        val id = generator.generate();
+
+        assertEquals(4, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void generate_v7_returnsTimeOrderedUuids() {
+        val generator = new CustomerIdGenerator(new CustomerIdProperties(UuidVersion.V7));
+        val before = System.currentTimeMillis();
+
+        UUID previous = generator.generate();
+        for (int i = 0; i < 100_000; i++) {
+            val next = generator.generate();
+            assertEquals(7, next.version());
+            assertEquals(2, next.variant());
+            assertTrue(Long.compareUnsigned(previous.getMostSignificantBits(), next.getMostSignificantBits()) < 0);
+            previous = next;
+        }
+
+        val timestamp = previous.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before);
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.converter.CustomerJsonWriter;
+import com.github.thorlauridsen.web.dto.CustomerDto;
+import java.util.UUID;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for testing the {@link CustomerJsonWriter}.
+ * The output of the writer is compared byte for byte with the output of the {@link JsonMapper}
+ * configured by Spring Boot, which is the mapper the writer replaces for customer responses.
+ */
+@SpringBootTest
+class CustomerJsonWriterTest {
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "bob@gmail.com",
+            "Alice.Smith+newsletter@example.co.uk",
+            "{weird}'mail'!#$%&*=?^`|~@gmail.com"
+    })
+    void toJson_plainMail_matchesJsonMapper(String mail) {
+        val customer = new CustomerDto(UUID.randomUUID(), mail);
+
+        assertTrue(CustomerJsonWriter.canWrite(customer));
+        assertArrayEquals(jsonMapper.writeValueAsBytes(customer), CustomerJsonWriter.toJson(customer));
+    }
+
+    @Test
+    void toJson_nullFields_matchesJsonMapper() {
+        val customer = new CustomerDto(null, null);
+
+        assertTrue(CustomerJsonWriter.canWrite(customer));
+        assertArrayEquals(jsonMapper.writeValueAsBytes(customer), CustomerJsonWriter.toJson(customer));
+    }
+
+    @Test
+    void toJson_extremeUuids_matchesJsonMapper() {
+        for (val id : new UUID[]{new UUID(0, 0), new UUID(-1, -1), new UUID(Long.MIN_VALUE, Long.MAX_VALUE)}) {
+            val customer = new CustomerDto(id, "bob@gmail.com");
+            assertArrayEquals(jsonMapper.writeValueAsBytes(customer), CustomerJsonWriter.toJson(customer));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "\"quoted\"@gmail.com",
+            "back\\slash@gmail.com",
+            "slash/mail@gmail.com",
+            "tab\t@gmail.com",
+            "jürgen@gmail.com"
+    })
+    void canWrite_mailNeedingEscaping_leftToJsonMapper(String mail) {
+        assertFalse(CustomerJsonWriter.canWrite(new CustomerDto(UUID.randomUUID(), mail)));
+    }
+}
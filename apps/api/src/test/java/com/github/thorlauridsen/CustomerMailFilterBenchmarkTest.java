@@ -0,0 +1,68 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.persistence.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark the Bloom filter used for customer mail existence checks with tens of millions of mail addresses.
+ * Measures insert and lookup throughput, the observed false positive rate and the memory footprint.
+ * The benchmark task runs with a small heap, which the filter must fit in.
+ * <p>
+ * Run with {@code ./gradlew api:benchmark -Dbenchmark.filter.rows=10000000 -Dbenchmark.filter.fpp=0.01}.
+ */
+@Slf4j
+@Tag("benchmark")
+class CustomerMailFilterBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.filter.rows", 10_000_000);
+    private static final double FALSE_POSITIVE_RATE = Double.parseDouble(
+            System.getProperty("benchmark.filter.fpp", "0.01")
+    );
+
+    @Test
+    void bloomFilter_tensOfMillionsOfMails_staysWithinFalsePositiveRate() {
+        val filter = new BloomFilter(ROWS, FALSE_POSITIVE_RATE);
+
+        var start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            filter.put("customer" + i + "@gmail.com");
+        }
+        val putNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            assertTrue(filter.mightContain("customer" + i + "@gmail.com"));
+        }
+        val hitNanos = System.nanoTime() - start;
+
+        var falsePositives = 0L;
+        start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            if (filter.mightContain("unknown" + i + "@gmail.com")) {
+                falsePositives++;
+            }
+        }
+        val missNanos = System.nanoTime() - start;
+        val observedRate = (double) falsePositives / ROWS;
+
+        log.info("Bloom filter of {} mail addresses uses {} MiB with {} hash functions",
+                ROWS,
+                filter.sizeInBytes() / (1024 * 1024),
+                filter.getHashFunctions());
+        log.info("Put {} ns/op, known lookup {} ns/op, unknown lookup {} ns/op",
+                putNanos / ROWS,
+                hitNanos / ROWS,
+                missNanos / ROWS);
+        log.info("False positive rate observed {} expected {} configured {}",
+                observedRate,
+                filter.expectedFalsePositiveRate(),
+                FALSE_POSITIVE_RATE);
+
+        assertTrue(observedRate < FALSE_POSITIVE_RATE * 1.5);
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.model.ICustomerRepo;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark looking up customers by mail address as the customer table grows.
+ * The table is grown by a factor of ten at a time, and at each size the lookup latency
+ * is measured and the query plan is checked to use the unique index on the normalised mail column.
+ * If lookups are index probes the latency stays roughly flat as the table grows.
+ * <p>
+ * Run with {@code ./gradlew api:benchmark -Dbenchmark.rows=1000000 -Dbenchmark.lookups=10000}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = "logging.level.com.github.thorlauridsen=warn")
+@DirtiesContext
+class CustomerMailLookupBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int LOOKUPS = Integer.getInteger("benchmark.lookups", 10_000);
+    private static final int FIRST_STEP = 10_000;
+
+    @TempDir
+    static Path tempDir;
+
+    @Autowired
+    private ICustomerRepo customerRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Create the database of the benchmark as a file in a temporary directory,
+     * so the file is deleted once the benchmark has finished.
+     *
+     * @param registry {@link DynamicPropertyRegistry} to add the datasource URL to.
+     */
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> BenchmarkSupport.h2FileUrl(tempDir, "lookup"));
+    }
+
+    @Test
+    void findByMail_growingTable_usesIndex() {
+        var rows = 0;
+        for (int step = Math.min(FIRST_STEP, ROWS); rows < ROWS; step = Math.min(step * 10, ROWS)) {
+            BenchmarkSupport.insertCustomers(customerRepo, rows, step);
+            rows = step;
+
+            val plan = jdbcTemplate.queryForObject(
+                    "EXPLAIN SELECT id, mail FROM customer WHERE mail_normalized = 'customer0@gmail.com'",
+                    String.class
+            );
+            assertTrue(
+                    plan != null && plan.toLowerCase(Locale.ROOT).contains("ux_customer_mail_normalized"),
+                    "Expected lookup by mail to use the unique index but the plan was: " + plan
+            );
+
+            measureLookups(rows);
+        }
+    }
+
+    /**
+     * Look up random existing customers by mail address and log the latency.
+     *
+     * @param rows Number of customers currently in the table.
+     */
+    private void measureLookups(int rows) {
+        val random = ThreadLocalRandom.current();
+        for (int i = 0; i < LOOKUPS / 10; i++) {
+            customerRepo.findByMail("customer" + random.nextInt(rows) + "@gmail.com");
+        }
+
+        val latencies = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            val mail = "CUSTOMER" + random.nextInt(rows) + "@gmail.com";
+            val start = System.nanoTime();
+            val customer = customerRepo.findByMail(mail);
+            latencies[i] = System.nanoTime() - start;
+            assertTrue(customer.isPresent());
+        }
+
+        Arrays.sort(latencies);
+        log.warn("Looked up {} customers by mail in a table of {} rows: mean {} us, p50 {} us, p99 {} us",
+                LOOKUPS,
+                rows,
+                Arrays.stream(latencies).average().orElse(0) / 1000,
+                latencies[LOOKUPS / 2] / 1000,
+                latencies[(int) (LOOKUPS * 0.99)] / 1000);
+    }
+}
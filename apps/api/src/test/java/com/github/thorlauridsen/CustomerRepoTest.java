@@ -1,8 +1,14 @@
 package com.github.thorlauridsen;
 
+import com.github.thorlauridsen.model.Customer;
 import com.github.thorlauridsen.model.CustomerInput;
 import com.github.thorlauridsen.model.ICustomerRepo;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.val;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -11,14 +17,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Test class for testing the {@link ICustomerRepo}.
  * Spins up a Spring Boot context to exercise the repository.
+ * Customers are looked up by id in chunks of two, so lookups of a few customers span several queries.
+ * Each context gets its own in-memory database, so subclasses running the same tests do not collide
+ * on the unique mail index.
  */
-@SpringBootTest
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid};DB_CLOSE_DELAY=-1",
+        "customer.lookup.chunk-size=2"
+})
 class CustomerRepoTest {
 
     @Autowired
@@ -53,4 +67,130 @@ class CustomerRepoTest {
         val customer = customerRepo.findById(id);
         assertTrue(customer.isEmpty());
     }
+
+    @Test
+    void findAllById_idsSpanningChunks_findsExistingCustomers() {
+        val inputs = List.of(
+                new CustomerInput("uma@gmail.com"),
+                new CustomerInput("ursula@gmail.com"),
+                new CustomerInput("wendy@gmail.com")
+        );
+        val savedIds = customerRepo.saveAll(inputs)
+                .stream()
+                .map(result -> result.customer().id())
+                .toList();
+
+        val ids = new ArrayList<>(savedIds);
+        ids.add(1, UUID.randomUUID());
+        val customers = customerRepo.findAllById(ids);
+
+        assertEquals(savedIds.size(), customers.size());
+        assertEquals(
+                new HashSet<>(savedIds),
+                customers.stream().map(Customer::id).collect(Collectors.toSet())
+        );
+    }
+
+    @Test
+    void findVersionById_savedCustomer_returnsVersionOfCustomer() {
+        val customer = customerRepo.save(new CustomerInput("trent@gmail.com"));
+
+        assertEquals(Optional.of(customer.version()), customerRepo.findVersionById(customer.id()));
+        assertTrue(customerRepo.findVersionById(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void saveAllCustomers_getCustomers_success() {
+        val mails = List.of("carol@gmail.com", "dave@gmail.com", "erin@gmail.com");
+        val inputs = mails.stream().map(CustomerInput::new).toList();
+
+        val results = customerRepo.saveAll(inputs);
+        assertEquals(mails.size(), results.size());
+
+        for (int i = 0; i < mails.size(); i++) {
+            val result = results.get(i);
+            assertTrue(result.isSuccess());
+            assertNull(result.error());
+            assertEquals(mails.get(i), result.customer().mail());
+
+            val foundCustomer = customerRepo.findById(result.customer().id());
+            assertTrue(foundCustomer.isPresent());
+            assertEquals(mails.get(i), foundCustomer.get().mail());
+        }
+    }
+
+    @Test
+    void saveAllCustomers_invalidCustomer_savesOthers() {
+        val inputs = List.of(
+                new CustomerInput("frank@gmail.com"),
+                new CustomerInput(null),
+                new CustomerInput("grace@gmail.com")
+        );
+
+        val results = customerRepo.saveAll(inputs);
+        assertEquals(inputs.size(), results.size());
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertNotNull(results.get(1).error());
+        assertTrue(results.get(2).isSuccess());
+
+        assertTrue(customerRepo.findById(results.get(0).customer().id()).isPresent());
+        assertTrue(customerRepo.findById(results.get(2).customer().id()).isPresent());
+    }
+
+    @Test
+    void findPage_pageThroughCustomers_findsAllSavedCustomers() {
+        val inputs = List.of(
+                new CustomerInput("judy@gmail.com"),
+                new CustomerInput("mallory@gmail.com"),
+                new CustomerInput("oscar@gmail.com")
+        );
+        val savedIds = customerRepo.saveAll(inputs)
+                .stream()
+                .map(result -> result.customer().id())
+                .toList();
+
+        val foundIds = new HashSet<UUID>();
+        UUID after = null;
+        while (true) {
+            val page = customerRepo.findPage(after, 2);
+            assertTrue(page.size() <= 2);
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(customer -> assertTrue(foundIds.add(customer.id())));
+            after = page.getLast().id();
+        }
+
+        assertTrue(foundIds.containsAll(savedIds));
+    }
+
+    @Test
+    void findByMail_differentCase_findsCustomer() {
+        val savedCustomer = customerRepo.save(new CustomerInput("Peggy@Gmail.com"));
+
+        val foundCustomer = customerRepo.findByMail("peggy@gmail.COM");
+        assertTrue(foundCustomer.isPresent());
+        assertEquals(savedCustomer.id(), foundCustomer.get().id());
+        assertEquals("Peggy@Gmail.com", foundCustomer.get().mail());
+    }
+
+    @Test
+    void findByMail_nonExistentMail_returnsEmpty() {
+        val customer = customerRepo.findByMail("nobody@gmail.com");
+        assertTrue(customer.isEmpty());
+    }
+
+    @Test
+    void saveAllCustomers_sameMailDifferentCase_rejectsDuplicate() {
+        val inputs = List.of(
+                new CustomerInput("victor@gmail.com"),
+                new CustomerInput("VICTOR@gmail.com")
+        );
+
+        val results = customerRepo.saveAll(inputs);
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+    }
 }
@@ -1,10 +1,12 @@
 package com.github.thorlauridsen;
 
-import com.github.thorlauridsen.exception.CustomerNotFoundException;
 import com.github.thorlauridsen.model.Customer;
 import com.github.thorlauridsen.model.CustomerInput;
 import com.github.thorlauridsen.persistence.CustomerRepo;
 import com.github.thorlauridsen.service.CustomerService;
+import com.github.thorlauridsen.web.exception.CustomerAlreadyExistsException;
+import com.github.thorlauridsen.web.exception.CustomerNotFoundException;
+import com.github.thorlauridsen.web.exception.DomainException;
 import java.util.UUID;
 import lombok.val;
 import org.junit.jupiter.api.Test;
@@ -50,7 +52,7 @@ class CustomerServiceTest {
             "alice@gmail.com",
             "bob@gmail.com"
     })
-    void saveCustomerAndGetCustomerSuccess(String mail) throws CustomerNotFoundException {
+    void saveCustomerAndGetCustomerSuccess(String mail) throws DomainException {
         val customer = new CustomerInput(mail);
 
         val savedCustomer = customerService.save(customer);
@@ -60,6 +62,14 @@ class CustomerServiceTest {
         assertCustomer(fetchedCustomer, mail);
     }
 
+    @Test
+    void saveCustomerWithExistingMailInDifferentCaseThrowsAlreadyExists() throws DomainException {
+        customerService.save(new CustomerInput("carol@gmail.com"));
+
+        val duplicate = new CustomerInput("Carol@Gmail.com");
+        assertThrows(CustomerAlreadyExistsException.class, () -> customerService.save(duplicate));
+    }
+
     /**
      * Ensure that the customer is not null and that the id is not null.
      * Assert that the mail is equal to the expected mail.
@@ -0,0 +1,119 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.BenchmarkSupport.LoadResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import static com.github.thorlauridsen.web.BaseEndpoint.CUSTOMER_BASE_ENDPOINT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark comparing creating customers with a transaction per customer
+ * with committing concurrent creates together.
+ * <p>
+ * Each mode starts the application on a random port and creates the same number of customers
+ * with a high number of concurrent requests. The throughput and latency percentiles of each mode are logged,
+ * together with the mean number of customers per commit when group commits are enabled.
+ * Group commits trade a little latency, at most the window, for fewer commits.
+ * The gain depends on how expensive a commit is, so it is best measured against PostgreSQL.
+ * <p>
+ * Run with {@code ./gradlew api:benchmark -Dbenchmark.concurrency=64 -Dbenchmark.requests=20000}.
+ * The database defaults to an H2 database file in a temporary directory
+ * and can be changed with {@code -Dbenchmark.datasource.url}.
+ */
+@Slf4j
+@Tag("benchmark")
+class GroupCommitBenchmarkTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 64);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+    private static final String DATASOURCE_URL = System.getProperty("benchmark.datasource.url");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void postCustomers_highConcurrency_compareSingleAndGroupCommits() throws InterruptedException {
+        val single = run(false);
+        val group = run(true);
+
+        log.info("Mode      | Throughput (req/s) | p50 (ms) | p99 (ms) | Customers per commit | Failed");
+        log.info("Single    | {} | {} | {} | 1 | {}",
+                single.throughput(), single.p50(), single.p99(), single.failed());
+        log.info("Group     | {} | {} | {} | {} | {}",
+                group.throughput(), group.p50(), group.p99(), group.customersPerCommit(), group.failed());
+
+        assertEquals(0, single.failed());
+        assertEquals(0, group.failed());
+    }
+
+    /**
+     * Start the application in the given mode and create customers.
+     *
+     * @param groupCommit Whether concurrent creates are committed together.
+     * @return {@link Result} of the run.
+     */
+    private Result run(boolean groupCommit) throws InterruptedException {
+        val url = DATASOURCE_URL != null
+                ? DATASOURCE_URL
+                : BenchmarkSupport.h2FileUrl(tempDir, "group-commit-" + groupCommit);
+        val application = new SpringApplicationBuilder(SampleApplication.class).properties(
+                "server.port=0",
+                "spring.datasource.url=" + url,
+                "customer.group-commit.enabled=" + groupCommit,
+                "logging.level.com.github.thorlauridsen=warn"
+        );
+
+        try (ConfigurableApplicationContext context = application.run()) {
+            val port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            val load = sendRequests(port);
+
+            val batchSize = context.getBean(MeterRegistry.class)
+                    .find("customer.repo.group.commit.batch.size")
+                    .summary();
+            val customersPerCommit = batchSize != null ? batchSize.mean() : 1;
+            return new Result(load.throughput(), load.p50(), load.p99(), customersPerCommit, load.failed());
+        }
+    }
+
+    /**
+     * Create the configured number of customers, keeping the configured number of requests in flight.
+     *
+     * @param port Port of the application.
+     * @return {@link LoadResult} with throughput and latency percentiles.
+     */
+    private LoadResult sendRequests(int port) throws InterruptedException {
+        val uri = URI.create("http://localhost:" + port + CUSTOMER_BASE_ENDPOINT);
+        val prefix = UUID.randomUUID();
+        IntFunction<HttpRequest> request = i -> HttpRequest.newBuilder(uri)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString("{\"mail\":\"customer" + i + "-" + prefix + "@gmail.com\"}"))
+                .build();
+        return BenchmarkSupport.sendRequests(REQUESTS, CONCURRENCY, request, 201);
+    }
+
+    /**
+     * Result of a benchmark run.
+     *
+     * @param throughput         Requests completed per second.
+     * @param p50                Median latency in milliseconds.
+     * @param p99                99th percentile latency in milliseconds.
+     * @param customersPerCommit Mean number of customers saved per commit.
+     * @param failed             Number of requests which did not return 201 Created.
+     */
+    private record Result(long throughput, double p50, double p99, double customersPerCommit, int failed) {
+    }
+}
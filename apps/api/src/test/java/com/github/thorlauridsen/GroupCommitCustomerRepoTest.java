@@ -0,0 +1,152 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.exception.CustomerSaveFailedException;
+import com.github.thorlauridsen.groupcommit.GroupCommitCustomerRepo;
+import com.github.thorlauridsen.model.Customer;
+import com.github.thorlauridsen.model.CustomerInput;
+import com.github.thorlauridsen.model.InMemoryCustomerRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for testing the {@link GroupCommitCustomerRepo}.
+ */
+class GroupCommitCustomerRepoTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Test
+    void save_concurrentSaves_committedTogether() throws Exception {
+        val delegate = new InMemoryCustomerRepo();
+        delegate.recordBatches();
+        val registry = new SimpleMeterRegistry();
+        val repo = new GroupCommitCustomerRepo(delegate, Duration.ofSeconds(1), 100, TIMEOUT, registry);
+
+        val results = new ArrayList<Future<Customer>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                val input = new CustomerInput("customer" + i + "@gmail.com");
+                results.add(executor.submit(() -> repo.save(input)));
+            }
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals("customer" + i + "@gmail.com", results.get(i).get().mail());
+        }
+        assertEquals(1, delegate.savedBatches().size());
+        assertEquals(10, delegate.savedBatches().getFirst().size());
+        assertEquals(1, registry.get("customer.repo.group.commit.commits").counter().count());
+        assertEquals(10, registry.get("customer.repo.group.commit.batch.size").summary().max());
+    }
+
+    @Test
+    void save_oneCustomerFails_failsOnlyItsOwnSave() throws Exception {
+        val delegate = new InMemoryCustomerRepo();
+        delegate.recordBatches();
+        delegate.failSavesOf("mallory@gmail.com");
+        val repo = new GroupCommitCustomerRepo(delegate, Duration.ofSeconds(1), 2, TIMEOUT, new SimpleMeterRegistry());
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            val alice = executor.submit(() -> repo.save(new CustomerInput("alice@gmail.com")));
+            val mallory = executor.submit(() -> repo.save(new CustomerInput("mallory@gmail.com")));
+
+            assertEquals("alice@gmail.com", alice.get().mail());
+            val exception = assertThrows(ExecutionException.class, mallory::get);
+            assertInstanceOf(CustomerSaveFailedException.class, exception.getCause());
+            assertEquals(InMemoryCustomerRepo.SAVE_FAILED_ERROR, exception.getCause().getMessage());
+        }
+        assertEquals(1, delegate.savedBatches().size());
+    }
+
+    @Test
+    void save_batchFull_committedBeforeWindowEnds() {
+        val delegate = new InMemoryCustomerRepo();
+        delegate.recordBatches();
+        val repo = new GroupCommitCustomerRepo(delegate, Duration.ofMinutes(1), 1, TIMEOUT, new SimpleMeterRegistry());
+
+        assertEquals("bob@gmail.com", repo.save(new CustomerInput("bob@gmail.com")).mail());
+        assertEquals(1, delegate.savedBatches().size());
+    }
+
+    @Test
+    void save_commitFails_failsEverySaveOfBatch() {
+        val delegate = new InMemoryCustomerRepo();
+        delegate.recordBatches();
+        delegate.failBatchesWith(new IllegalStateException("Database unavailable"));
+        val repo = new GroupCommitCustomerRepo(delegate, Duration.ZERO, 100, TIMEOUT, new SimpleMeterRegistry());
+
+        val exception = assertThrows(
+                IllegalStateException.class,
+                () -> repo.save(new CustomerInput("carol@gmail.com"))
+        );
+        assertEquals("Database unavailable", exception.getMessage());
+    }
+
+    @Test
+    void save_commitThrowsError_failsEverySaveOfBatch() throws Exception {
+        val delegate = new InMemoryCustomerRepo();
+        delegate.recordBatches();
+        delegate.failBatchesWith(new AssertionError("Commit crashed"));
+        val repo = new GroupCommitCustomerRepo(delegate, Duration.ofSeconds(1), 2, TIMEOUT, new SimpleMeterRegistry());
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            val first = executor.submit(() -> repo.save(new CustomerInput("dave@gmail.com")));
+            val second = executor.submit(() -> repo.save(new CustomerInput("erin@gmail.com")));
+
+            for (val save : List.of(first, second)) {
+                val exception = assertThrows(ExecutionException.class, save::get);
+                assertInstanceOf(AssertionError.class, exception.getCause());
+            }
+        }
+    }
+
+    @Test
+    void save_commitReturnsTooFewResults_failsSavesWithoutResult() {
+        val delegate = new InMemoryCustomerRepo();
+        delegate.recordBatches();
+        delegate.dropSaveResults();
+        val repo = new GroupCommitCustomerRepo(delegate, Duration.ZERO, 100, TIMEOUT, new SimpleMeterRegistry());
+
+        val exception = assertThrows(
+                CustomerSaveFailedException.class,
+                () -> repo.save(new CustomerInput("frank@gmail.com"))
+        );
+        assertEquals("No result was returned for the customer by its batch", exception.getMessage());
+    }
+
+    @Test
+    void save_batchNotCommittedInTime_followerTimesOut() throws Exception {
+        val delegate = new InMemoryCustomerRepo();
+        delegate.recordBatches();
+        val window = Duration.ofSeconds(2);
+        val repo = new GroupCommitCustomerRepo(delegate, window, 100, Duration.ofMillis(100), new SimpleMeterRegistry());
+
+        val failures = new ArrayList<Throwable>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            val leader = executor.submit(() -> repo.save(new CustomerInput("grace@gmail.com")));
+            val follower = executor.submit(() -> repo.save(new CustomerInput("heidi@gmail.com")));
+            for (val save : List.of(leader, follower)) {
+                try {
+                    save.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+        }
+
+        assertEquals(1, failures.size());
+        assertInstanceOf(CustomerSaveFailedException.class, failures.getFirst());
+        assertEquals("Batch of the customer was not committed within PT0.1S", failures.getFirst().getMessage());
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.persistence.JdbcCustomerRepo;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Test class for testing the {@link JdbcCustomerRepo}.
+ * Runs every test of {@link CustomerRepoTest} with the JDBC repository selected.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid};DB_CLOSE_DELAY=-1",
+        "customer.repo.implementation=jdbc",
+        "customer.lookup.chunk-size=2"
+})
+class JdbcCustomerRepoTest extends CustomerRepoTest {
+}
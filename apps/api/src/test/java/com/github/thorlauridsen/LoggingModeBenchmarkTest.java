@@ -0,0 +1,127 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.model.CustomerInput;
+import com.github.thorlauridsen.service.CustomerService;
+import com.github.thorlauridsen.web.exception.DomainException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark comparing the throughput of the customer service with synchronous logging,
+ * asynchronous logging and asynchronous sampled logging.
+ * <p>
+ * Each mode starts the application without a web server against an in-memory H2 database with
+ * the customer cache disabled. A number of threads then save and look up customers for a fixed
+ * duration, so every call writes the INFO events of both the service and the repository.
+ * While measuring, standard output is discarded so the cost of logging itself is measured
+ * rather than the speed of the terminal or the Gradle test output.
+ * <p>
+ * Run with {@code ./gradlew api:benchmark -Dbenchmark.threads=16 -Dbenchmark.seconds=10}.
+ */
+@Slf4j
+@Tag("benchmark")
+class LoggingModeBenchmarkTest {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 16);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 10);
+    private static final int CUSTOMERS = 1_000;
+    private static final int WRITE_EVERY = 10;
+
+    @Test
+    void customerService_saveAndFind_compareLoggingModes() throws InterruptedException {
+        val sync = run(null, "");
+        val async = run("async-logging", "");
+        val sampled = run("async-logging", null);
+
+        log.warn("Mode      | Throughput (ops/s)");
+        log.warn("Sync      | {}", sync);
+        log.warn("Async     | {}", async);
+        log.warn("Sampled   | {}", sampled);
+
+        assertTrue(sync > 0);
+        assertTrue(async > 0);
+        assertTrue(sampled > 0);
+    }
+
+    /**
+     * Start the application in the given logging mode and call the customer service.
+     *
+     * @param profile     Profile to activate, or null for the default synchronous logging.
+     * @param sampleRates Sample rates to use, or null to keep the sample rates of the profile.
+     * @return Number of service calls completed per second.
+     */
+    private long run(String profile, String sampleRates) throws InterruptedException {
+        val properties = new ArrayList<>(List.of(
+                "spring.main.web-application-type=none",
+                "spring.datasource.url=jdbc:h2:mem:logging-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "customer.cache.enabled=false"
+        ));
+        if (sampleRates != null) {
+            properties.add("customer.logging.sample-rates=" + sampleRates);
+        }
+        val application = new SpringApplicationBuilder(SampleApplication.class)
+                .properties(properties.toArray(String[]::new));
+        if (profile != null) {
+            application.profiles(profile);
+        }
+
+        try (ConfigurableApplicationContext context = application.run()) {
+            val customerService = context.getBean(CustomerService.class);
+            val ids = new ArrayList<UUID>(CUSTOMERS);
+            for (int i = 0; i < CUSTOMERS; i++) {
+                val customer = customerService.save(new CustomerInput("customer" + i + "-" + UUID.randomUUID() + "@gmail.com"));
+                ids.add(customer.id());
+            }
+            return measure(customerService, ids);
+        } catch (DomainException e) {
+            throw new IllegalStateException("Could not insert customers", e);
+        }
+    }
+
+    /**
+     * Call the customer service from several threads for the configured duration.
+     * Every tenth call saves a new customer and the other calls look up an existing customer.
+     *
+     * @param customerService {@link CustomerService} to call.
+     * @param ids             List of ids of existing customers.
+     * @return Number of service calls completed per second.
+     */
+    private long measure(CustomerService customerService, List<UUID> ids) throws InterruptedException {
+        val operations = new LongAdder();
+        val out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        val deadline = System.nanoTime() + SECONDS * 1_000_000_000L;
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            BenchmarkSupport.runClients(executor, THREADS, () -> {
+                val random = ThreadLocalRandom.current();
+                for (long i = 0; System.nanoTime() < deadline; i++) {
+                    if (i % WRITE_EVERY == 0) {
+                        customerService.save(new CustomerInput(UUID.randomUUID() + "@gmail.com"));
+                    } else {
+                        customerService.findById(ids.get(random.nextInt(ids.size())));
+                    }
+                    operations.increment();
+                }
+                return null;
+            });
+        } finally {
+            System.setOut(out);
+        }
+        return operations.sum() / SECONDS;
+    }
+}
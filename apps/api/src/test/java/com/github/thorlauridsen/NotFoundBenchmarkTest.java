@@ -0,0 +1,167 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.model.ICustomerRepo;
+import com.github.thorlauridsen.web.exception.CustomerNotFoundException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.lang.NonNull;
+
+import static com.github.thorlauridsen.web.BaseEndpoint.CUSTOMER_BASE_ENDPOINT;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark comparing the throughput of requests for unknown customers when every expected error
+ * is logged at ERROR level with the logging of expected errors aggregated into periodic summaries.
+ * <p>
+ * Each mode starts the application on a random port with the customer cache disabled, so every
+ * request looks up the customer in the database before answering 404 Not Found. A number of clients
+ * then request random customer ids for a fixed duration, and the throughput of each mode is logged.
+ * <p>
+ * Domain exceptions do not capture a stack trace. As a baseline, the first run logs every error
+ * and captures a stack trace for every customer which is not found, as a domain exception did before.
+ * <p>
+ * Run with {@code ./gradlew api:benchmark -Dbenchmark.threads=32 -Dbenchmark.seconds=10}.
+ */
+@Slf4j
+@Tag("benchmark")
+class NotFoundBenchmarkTest {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 32);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 10);
+
+    @Test
+    void getCustomer_unknownIds_compareErrorLogModes() throws InterruptedException {
+        val stackTraces = run("each", true);
+        val each = run("each", false);
+        val aggregated = run("aggregated", false);
+
+        log.warn("Mode                 | Throughput (req/s)");
+        log.warn("Each + stack traces  | {}", stackTraces);
+        log.warn("Each                 | {}", each);
+        log.warn("Aggregated           | {}", aggregated);
+
+        assertTrue(stackTraces > 0);
+        assertTrue(each > 0);
+        assertTrue(aggregated > 0);
+    }
+
+    /**
+     * Start the application with the given error log mode and request unknown customers.
+     *
+     * @param mode               Mode of logging expected errors.
+     * @param captureStackTraces Whether a stack trace is captured for every customer which is not found.
+     * @return Number of 404 responses per second.
+     */
+    private long run(String mode, boolean captureStackTraces) throws InterruptedException {
+        val application = new SpringApplicationBuilder(SampleApplication.class).properties(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:not-found-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "customer.cache.enabled=false",
+                "customer.error-log.mode=" + mode,
+                "logging.level.com.github.thorlauridsen.service=warn",
+                "logging.level.com.github.thorlauridsen.persistence=warn"
+        );
+        if (captureStackTraces) {
+            application.sources(StackTraceBaseline.class);
+        }
+
+        try (ConfigurableApplicationContext context = application.run()) {
+            val port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            val baseUri = "http://localhost:" + port + CUSTOMER_BASE_ENDPOINT + "/";
+            sendRequests(baseUri, 1);
+            return sendRequests(baseUri, SECONDS);
+        }
+    }
+
+    /**
+     * Request random customer ids from the configured number of clients for the given duration.
+     *
+     * @param baseUri Base URI of the customer endpoint.
+     * @param seconds Duration to send requests for.
+     * @return Number of 404 responses per second.
+     */
+    private long sendRequests(String baseUri, int seconds) throws InterruptedException {
+        val notFound = new LongAdder();
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        try (HttpClient client = HttpClient.newHttpClient();
+             var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            BenchmarkSupport.runClients(executor, THREADS, () -> {
+                while (System.nanoTime() < deadline) {
+                    val request = HttpRequest.newBuilder(URI.create(baseUri + UUID.randomUUID())).build();
+                    val response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 404) {
+                        notFound.increment();
+                    }
+                }
+                return null;
+            });
+        }
+        return notFound.sum() / seconds;
+    }
+
+    /**
+     * Configuration of the baseline run, which wraps the primary customer repository so that a stack trace
+     * is captured whenever a customer is not found by id. The stack trace is captured right below the
+     * customer service, which then throws the {@link CustomerNotFoundException}, so it costs about as much
+     * as a domain exception capturing its own stack trace. This class is added as a source of the
+     * application rather than annotated as a configuration, so component scanning does not pick it up.
+     */
+    static class StackTraceBaseline {
+
+        /**
+         * Last captured exception, kept reachable so the JIT cannot leave out capturing the stack trace.
+         */
+        private static volatile Throwable lastNotFound;
+
+        /**
+         * Wrap the primary customer repository in a proxy capturing a stack trace for every empty lookup by id.
+         *
+         * @return {@link BeanPostProcessor} wrapping the primary customer repository.
+         */
+        @Bean
+        static BeanPostProcessor stackTraceCapturingCustomerRepo() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                    if (!"primaryCustomerRepo".equals(beanName) || !(bean instanceof ICustomerRepo customerRepo)) {
+                        return bean;
+                    }
+                    return Proxy.newProxyInstance(
+                            ICustomerRepo.class.getClassLoader(),
+                            new Class<?>[]{ICustomerRepo.class},
+                            (proxy, method, args) -> {
+                                final Object result;
+                                try {
+                                    result = method.invoke(customerRepo, args);
+                                } catch (InvocationTargetException e) {
+                                    throw e.getCause();
+                                }
+                                if ("findById".equals(method.getName()) && Optional.empty().equals(result)) {
+                                    lastNotFound = new Exception("Customer not found");
+                                }
+                                return result;
+                            }
+                    );
+                }
+            };
+        }
+    }
+}
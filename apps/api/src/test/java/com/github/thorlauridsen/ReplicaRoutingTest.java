@@ -0,0 +1,136 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.model.Customer;
+import com.github.thorlauridsen.model.CustomerInput;
+import com.github.thorlauridsen.model.ICustomerRepo;
+import com.github.thorlauridsen.persistence.ReplicaRoutingDataSource;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for testing read/write splitting between the primary database and read replicas.
+ * Two separate in-memory H2 databases stand in for the replicas. Each test inserts customers
+ * directly into the replicas, so it can tell which database a read was served from.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica-primary;DB_CLOSE_DELAY=-1",
+        "customer.replica.datasources[0].url=" + ReplicaRoutingTest.REPLICA_0_URL,
+        "customer.replica.datasources[0].username=sa",
+        "customer.replica.datasources[1].url=" + ReplicaRoutingTest.REPLICA_1_URL,
+        "customer.replica.datasources[1].username=sa",
+        "customer.replica.health-check-interval=1h",
+        "customer.replica.max-lag=10s",
+        "customer.replica.lag-query=SELECT seconds FROM replica_lag",
+        "customer.mail-filter.enabled=false"
+})
+class ReplicaRoutingTest {
+
+    static final String REPLICA_0_URL = "jdbc:h2:mem:replica-0;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_1_URL = "jdbc:h2:mem:replica-1;DB_CLOSE_DELAY=-1";
+
+    private final List<JdbcTemplate> replicas = List.of(
+            new JdbcTemplate(new DriverManagerDataSource(REPLICA_0_URL, "sa", "")),
+            new JdbcTemplate(new DriverManagerDataSource(REPLICA_1_URL, "sa", ""))
+    );
+
+    @Autowired
+    private ICustomerRepo customerRepo;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaDataSource;
+
+    @BeforeEach
+    void setup() {
+        for (val replica : replicas) {
+            replica.execute("CREATE TABLE IF NOT EXISTS customer "
+                    + "(id UUID PRIMARY KEY, mail VARCHAR(255) NOT NULL, mail_normalized VARCHAR(255) NOT NULL, "
+                    + "version BIGINT DEFAULT 0 NOT NULL)");
+            replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds DOUBLE)");
+            replica.execute("DELETE FROM customer");
+            replica.execute("DELETE FROM replica_lag");
+            replica.execute("INSERT INTO replica_lag VALUES (0)");
+        }
+        replicaDataSource.checkHealth();
+        assertEquals(2, replicaDataSource.healthyReplicas());
+    }
+
+    @Test
+    void findById_customerOnReplicas_balancedAcrossReplicas() {
+        val id = insertOnReplicas();
+
+        val mails = new HashSet<String>();
+        for (int i = 0; i < 4; i++) {
+            mails.add(customerRepo.findById(id).map(Customer::mail).orElseThrow());
+        }
+
+        assertEquals(Set.of("replica0@gmail.com", "replica1@gmail.com"), mails);
+    }
+
+    @Test
+    void save_customer_writtenToPrimary() {
+        val customer = customerRepo.save(new CustomerInput("primary@gmail.com"));
+
+        for (val replica : replicas) {
+            val count = replica.queryForObject("SELECT COUNT(*) FROM customer WHERE id = ?", Long.class, customer.id());
+            assertEquals(0, count);
+        }
+    }
+
+    @Test
+    void existsByMail_customerNotOnReplicas_answeredByPrimary() {
+        customerRepo.save(new CustomerInput("lagging@gmail.com"));
+
+        assertTrue(customerRepo.findByMail("lagging@gmail.com").isEmpty());
+        assertTrue(customerRepo.existsByMail("LAGGING@gmail.com"));
+    }
+
+    @Test
+    void findById_replicaLagging_notUsed() {
+        val id = insertOnReplicas();
+        replicas.getFirst().update("UPDATE replica_lag SET seconds = 60");
+        replicaDataSource.checkHealth();
+
+        assertEquals(1, replicaDataSource.healthyReplicas());
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica1@gmail.com", customerRepo.findById(id).map(Customer::mail).orElseThrow());
+        }
+    }
+
+    @Test
+    void findById_allReplicasLagging_fallsBackToPrimary() {
+        val customer = customerRepo.save(new CustomerInput("fallback@gmail.com"));
+        replicas.forEach(replica -> replica.update("UPDATE replica_lag SET seconds = 60"));
+        replicaDataSource.checkHealth();
+
+        assertEquals(0, replicaDataSource.healthyReplicas());
+        val found = customerRepo.findById(customer.id());
+        assertTrue(found.isPresent());
+        assertEquals("fallback@gmail.com", found.get().mail());
+    }
+
+    /**
+     * Insert a customer with the same id but a different mail address on each replica.
+     *
+     * @return UUID of the inserted customer.
+     */
+    private UUID insertOnReplicas() {
+        val id = UUID.randomUUID();
+        for (int i = 0; i < replicas.size(); i++) {
+            val mail = "replica" + i + "@gmail.com";
+            replicas.get(i).update("INSERT INTO customer (id, mail, mail_normalized) VALUES (?, ?, ?)", id, mail, mail);
+        }
+        return id;
+    }
+}
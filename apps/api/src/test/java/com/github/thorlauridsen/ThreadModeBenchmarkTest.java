@@ -0,0 +1,112 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.BenchmarkSupport.LoadResult;
+import com.github.thorlauridsen.model.CustomerInput;
+import com.github.thorlauridsen.model.ICustomerRepo;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static com.github.thorlauridsen.web.BaseEndpoint.CUSTOMER_BASE_ENDPOINT;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark comparing request handling on platform threads with request handling
+ * on virtual threads behind the customer repository bulkhead.
+ * <p>
+ * Each mode starts the application on a random port with the customer cache disabled,
+ * so every request calls the database. The same number of lookups is then sent with a high
+ * number of concurrent requests, and the throughput and latency percentiles of each mode are logged.
+ * <p>
+ * Run with {@code ./gradlew api:benchmark -Dbenchmark.concurrency=2000 -Dbenchmark.requests=50000}.
+ * The database defaults to an in-memory H2 database and can be changed with {@code -Dbenchmark.datasource.url}.
+ */
+@Slf4j
+@Tag("benchmark")
+class ThreadModeBenchmarkTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 2_000);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 50_000);
+    private static final int CUSTOMERS = 1_000;
+    private static final String DATASOURCE_URL = System.getProperty("benchmark.datasource.url");
+
+    @Test
+    void getCustomers_highConcurrency_comparePlatformAndVirtualThreads() throws InterruptedException {
+        val platform = run(false);
+        val virtual = run(true);
+
+        log.info("Mode      | Throughput (req/s) | p50 (ms) | p99 (ms) | Failed");
+        log.info("Platform  | {} | {} | {} | {}", platform.throughput(), platform.p50(), platform.p99(), platform.failed());
+        log.info("Virtual   | {} | {} | {} | {}", virtual.throughput(), virtual.p50(), virtual.p99(), virtual.failed());
+
+        assertTrue(platform.failed() < REQUESTS);
+        assertTrue(virtual.failed() < REQUESTS);
+    }
+
+    /**
+     * Start the application in the given mode and send lookups of random customers.
+     *
+     * @param virtualThreads Whether requests are handled on virtual threads behind the bulkhead.
+     * @return {@link LoadResult} of the run.
+     */
+    private LoadResult run(boolean virtualThreads) throws InterruptedException {
+        val url = DATASOURCE_URL != null
+                ? DATASOURCE_URL
+                : "jdbc:h2:mem:threads-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        val application = new SpringApplicationBuilder(SampleApplication.class).properties(
+                "server.port=0",
+                "spring.datasource.url=" + url,
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "customer.bulkhead.enabled=" + virtualThreads,
+                "customer.cache.enabled=false",
+                "logging.level.com.github.thorlauridsen=warn"
+        );
+
+        try (ConfigurableApplicationContext context = application.run()) {
+            val port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            val ids = insertCustomers(context.getBean(ICustomerRepo.class));
+            return sendRequests(port, ids);
+        }
+    }
+
+    /**
+     * Insert customers to look up.
+     *
+     * @param customerRepo {@link ICustomerRepo} to insert the customers with.
+     * @return List of ids of the inserted customers.
+     */
+    private List<UUID> insertCustomers(ICustomerRepo customerRepo) {
+        val prefix = UUID.randomUUID();
+        val inputs = new ArrayList<CustomerInput>(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            inputs.add(new CustomerInput("customer" + i + "-" + prefix + "@gmail.com"));
+        }
+        return customerRepo.saveAll(inputs)
+                .stream()
+                .map(result -> result.customer().id())
+                .toList();
+    }
+
+    /**
+     * Send the configured number of requests, keeping the configured number of requests in flight.
+     *
+     * @param port Port of the application.
+     * @param ids  List of customer ids to look up.
+     * @return {@link LoadResult} with throughput and latency percentiles.
+     */
+    private LoadResult sendRequests(int port, List<UUID> ids) throws InterruptedException {
+        val baseUri = "http://localhost:" + port + CUSTOMER_BASE_ENDPOINT + "/";
+        IntFunction<HttpRequest> request = i -> HttpRequest.newBuilder(URI.create(baseUri + ids.get(i % ids.size())))
+                .build();
+        return BenchmarkSupport.sendRequests(REQUESTS, CONCURRENCY, request, 200);
+    }
+}
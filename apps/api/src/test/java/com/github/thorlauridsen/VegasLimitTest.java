@@ -0,0 +1,70 @@
+package com.github.thorlauridsen;
+
+import com.github.thorlauridsen.limit.VegasLimit;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for testing the {@link VegasLimit}.
+ */
+class VegasLimitTest {
+
+    private static final long MILLISECOND = 1_000_000;
+
+    @Test
+    void onSample_flatLatencyAtLimit_raisesLimit() {
+        val limit = new VegasLimit(20, 1, 200);
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(MILLISECOND, limit.getLimit(), false);
+        }
+
+        assertTrue(limit.getLimit() > 20);
+        assertEquals(MILLISECOND, limit.getNoLoadLatencyNanos());
+    }
+
+    @Test
+    void onSample_increasingLatencyAtLimit_lowersLimit() {
+        val limit = new VegasLimit(20, 1, 200);
+        limit.onSample(MILLISECOND, 20, false);
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(10 * MILLISECOND, limit.getLimit(), false);
+        }
+
+        assertTrue(limit.getLimit() < 20);
+    }
+
+    @Test
+    void onSample_dropped_lowersLimitToMinimum() {
+        val limit = new VegasLimit(20, 5, 200);
+        limit.onSample(MILLISECOND, 20, false);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(MILLISECOND, 1, true);
+        }
+
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    void onSample_lessThanHalfOfLimitInFlight_keepsLimit() {
+        val limit = new VegasLimit(20, 1, 200);
+        limit.onSample(MILLISECOND, 1, false);
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(10 * MILLISECOND, 1, false);
+        }
+
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void constructor_initialLimitAboveMaximum_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new VegasLimit(300, 1, 200));
+    }
+}
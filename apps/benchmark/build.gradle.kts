@@ -0,0 +1,54 @@
+plugins {
+	alias(local.plugins.jmh)
+	alias(local.plugins.lombok)
+	alias(local.plugins.springboot)
+	alias(local.plugins.spring.dependencies)
+}
+
+dependencies {
+	// The benchmark subproject measures code from the api, model, persistence and web subprojects
+	jmh(projects.api)
+	jmh(projects.model)
+	jmh(projects.persistence)
+	jmh(projects.web)
+
+	// In-memory customer repository for benchmarking the service layer without a database
+	jmh(testFixtures(projects.model))
+
+	// Spring Boot dependencies used directly by the benchmarks
+	jmh(local.springboot.starter)
+	jmh(local.springboot.starter.actuator)
+	jmh(local.springboot.starter.validation)
+	jmh(local.springboot.starter.webmvc)
+
+	// Jackson binary data formats compared with JSON by the benchmarks
+	jmh(local.jackson.dataformat.cbor)
+	jmh(local.jackson.dataformat.smile)
+
+	// JMH dependencies
+	jmh(local.jmh.core)
+	jmh(local.jmh.generator.annprocess)
+}
+
+// Benchmarks are run with ./gradlew benchmark:jmh and a subset can be selected with -Pjmh.includes=<regex>.
+// Profilers can be added with -Pjmh.profilers=<profiler>, for example gc to measure the allocation rate.
+// Results are written as JSON so runs of different commits can be compared.
+jmh {
+	jmhVersion = local.versions.jmh
+	includes = providers.gradleProperty("jmh.includes").map { listOf(it) }.orElse(listOf())
+	profilers = providers.gradleProperty("jmh.profilers").map { it.split(",") }.orElse(listOf())
+	fork = 1
+	warmupIterations = 3
+	iterations = 5
+	resultFormat = "JSON"
+	resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+}
+
+// Disabling bootJar and bootRun is necessary for a subproject
+// that uses the Spring Boot plugin but is not supposed to be executable.
+tasks.bootJar {
+	enabled = false
+}
+tasks.bootRun {
+	enabled = false
+}
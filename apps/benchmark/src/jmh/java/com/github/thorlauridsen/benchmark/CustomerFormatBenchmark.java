@@ -0,0 +1,97 @@
+package com.github.thorlauridsen.benchmark;
+
+import com.github.thorlauridsen.web.dto.CustomerDto;
+import com.github.thorlauridsen.web.dto.CustomerPageDto;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.val;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Benchmark encoding and decoding customers as JSON, CBOR and Smile.
+ * <p>
+ * A single customer is encoded as a {@link CustomerDto} and more customers as a {@link CustomerPageDto},
+ * the same way the customer endpoints return them. The size of the encoded payload is reported
+ * as the payloadBytes secondary result of the encode benchmark, so it is part of the JMH results
+ * of every format and number of customers. Run with {@code -Pjmh.profilers=gc}
+ * to also compare the allocation per encoded and decoded payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CustomerFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"1", "1000"})
+    private int customers;
+
+    private ObjectMapper mapper;
+    private Object value;
+    private Class<?> valueType;
+    private byte[] encoded;
+
+    /**
+     * Create the mapper of the format and encode the customers once for the decode benchmark.
+     */
+    @Setup
+    public void setup() {
+        mapper = switch (format) {
+            case "json" -> JsonMapper.builder().build();
+            case "cbor" -> CBORMapper.builder().build();
+            case "smile" -> SmileMapper.builder().build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+
+        val dtos = new ArrayList<CustomerDto>(customers);
+        for (int i = 0; i < customers; i++) {
+            dtos.add(new CustomerDto(UUID.randomUUID(), "customer" + i + "@gmail.com"));
+        }
+        if (customers == 1) {
+            value = dtos.getFirst();
+            valueType = CustomerDto.class;
+        } else {
+            value = new CustomerPageDto(dtos, dtos.getLast().id());
+            valueType = CustomerPageDto.class;
+        }
+
+        encoded = mapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public byte[] encode(Payload payload) {
+        val bytes = mapper.writeValueAsBytes(value);
+        payload.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object decode() {
+        return mapper.readValue(encoded, valueType);
+    }
+
+    /**
+     * Size of the payload written by the last encode call, reported by JMH as a secondary result.
+     * The counter is assigned rather than incremented, so the result is the size of a single payload.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        public long payloadBytes;
+    }
+}
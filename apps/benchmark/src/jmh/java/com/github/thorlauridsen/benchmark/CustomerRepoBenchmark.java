@@ -0,0 +1,91 @@
+package com.github.thorlauridsen.benchmark;
+
+import com.github.thorlauridsen.SampleApplication;
+import com.github.thorlauridsen.model.Customer;
+import com.github.thorlauridsen.model.CustomerInput;
+import com.github.thorlauridsen.model.ICustomerRepo;
+import com.github.thorlauridsen.persistence.CustomerRepo;
+import com.github.thorlauridsen.persistence.CustomerRepoProperties.Implementation;
+import com.github.thorlauridsen.persistence.JdbcCustomerRepo;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Benchmark the {@link CustomerRepo} and the {@link JdbcCustomerRepo} against an in-memory H2 database.
+ * The application context is started without a web server, so the repository
+ * is configured exactly as in the application and the schema is created by Liquibase.
+ * <p>
+ * Run with {@code -Pjmh.profilers=gc} to compare the allocation rate of the implementations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CustomerRepoBenchmark {
+
+    private static final int CUSTOMERS = 10_000;
+
+    @Param({"JPA", "JDBC"})
+    private Implementation implementation;
+
+    private final AtomicLong mailCounter = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private ICustomerRepo customerRepo;
+    private UUID[] ids;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(SampleApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + implementation + ";DB_CLOSE_DELAY=-1",
+                        "logging.level.com.github.thorlauridsen=warn"
+                )
+                .run();
+        customerRepo = switch (implementation) {
+            case JPA -> context.getBean(CustomerRepo.class);
+            case JDBC -> context.getBean(JdbcCustomerRepo.class);
+        };
+
+        ids = new UUID[CUSTOMERS];
+        for (int i = 0; i < CUSTOMERS; i++) {
+            val customer = customerRepo.save(new CustomerInput("existing" + i + "@gmail.com"));
+            ids[i] = customer.id();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Customer> findById() {
+        return customerRepo.findById(ids[ThreadLocalRandom.current().nextInt(CUSTOMERS)]);
+    }
+
+    @Benchmark
+    public Optional<Customer> findByMail() {
+        return customerRepo.findByMail("existing" + ThreadLocalRandom.current().nextInt(CUSTOMERS) + "@gmail.com");
+    }
+
+    @Benchmark
+    public Customer save() {
+        return customerRepo.save(new CustomerInput("customer" + mailCounter.incrementAndGet() + "@gmail.com"));
+    }
+}
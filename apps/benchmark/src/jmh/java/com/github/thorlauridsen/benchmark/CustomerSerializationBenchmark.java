@@ -0,0 +1,44 @@
+package com.github.thorlauridsen.benchmark;
+
+import com.github.thorlauridsen.converter.CustomerJsonWriter;
+import com.github.thorlauridsen.model.Customer;
+import com.github.thorlauridsen.web.dto.CustomerDto;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Benchmark converting a {@link Customer} to a {@link CustomerDto} and serializing it to JSON.
+ * <p>
+ * Serializing with the {@link JsonMapper} is compared with the {@link CustomerJsonWriter} used for
+ * customer responses. Run with {@code -Pjmh.profilers=gc} to compare the allocation per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CustomerSerializationBenchmark {
+
+    private final Customer customer = new Customer(UUID.randomUUID(), "bob@gmail.com");
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Benchmark
+    public CustomerDto fromModel() {
+        return CustomerDto.fromModel(customer);
+    }
+
+    @Benchmark
+    public byte[] fromModelAndSerialize() {
+        return jsonMapper.writeValueAsBytes(CustomerDto.fromModel(customer));
+    }
+
+    @Benchmark
+    public byte[] fromModelAndWriteJson() {
+        return CustomerJsonWriter.toJson(CustomerDto.fromModel(customer));
+    }
+}
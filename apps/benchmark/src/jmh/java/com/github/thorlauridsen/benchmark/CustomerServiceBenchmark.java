@@ -0,0 +1,78 @@
+package com.github.thorlauridsen.benchmark;
+
+import com.github.thorlauridsen.cache.CustomerCache;
+import com.github.thorlauridsen.cache.CustomerCacheProperties;
+import com.github.thorlauridsen.cache.ICustomerCache;
+import com.github.thorlauridsen.cache.NoOpCustomerCache;
+import com.github.thorlauridsen.model.Customer;
+import com.github.thorlauridsen.model.CustomerInput;
+import com.github.thorlauridsen.model.InMemoryCustomerRepo;
+import com.github.thorlauridsen.persistence.NoOpCustomerMailFilter;
+import com.github.thorlauridsen.service.CustomerService;
+import com.github.thorlauridsen.web.exception.DomainException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark the {@link CustomerService} against an {@link InMemoryCustomerRepo},
+ * with and without the customer cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CustomerServiceBenchmark {
+
+    private static final int CUSTOMERS = 10_000;
+
+    @Param({"none", "caffeine"})
+    public String cache;
+
+    private final AtomicLong mailCounter = new AtomicLong();
+    private CustomerService customerService;
+    private UUID[] ids;
+
+    /**
+     * Create a new service and repository with existing customers for every iteration,
+     * so customers saved by the save benchmark do not accumulate across iterations.
+     */
+    @Setup(Level.Iteration)
+    public void setup() {
+        val customerRepo = new InMemoryCustomerRepo();
+        val meterRegistry = new SimpleMeterRegistry();
+        ICustomerCache customerCache = "caffeine".equals(cache)
+                ? new CustomerCache(
+                        new CustomerCacheProperties(true, CUSTOMERS, Duration.ofMinutes(5), Duration.ofSeconds(30)),
+                        meterRegistry)
+                : new NoOpCustomerCache();
+        customerService = new CustomerService(customerRepo, customerCache, meterRegistry, new NoOpCustomerMailFilter());
+
+        ids = new UUID[CUSTOMERS];
+        for (int i = 0; i < CUSTOMERS; i++) {
+            ids[i] = customerRepo.save(new CustomerInput("existing" + i + "@gmail.com")).id();
+        }
+    }
+
+    @Benchmark
+    public Customer findById() throws DomainException {
+        return customerService.findById(ids[ThreadLocalRandom.current().nextInt(CUSTOMERS)]);
+    }
+
+    @Benchmark
+    public Customer save() throws DomainException {
+        return customerService.save(new CustomerInput("customer" + mailCounter.incrementAndGet() + "@gmail.com"));
+    }
+}
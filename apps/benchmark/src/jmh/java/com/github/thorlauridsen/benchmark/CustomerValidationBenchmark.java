@@ -0,0 +1,52 @@
+package com.github.thorlauridsen.benchmark;
+
+import com.github.thorlauridsen.validation.CustomerInputValidator;
+import com.github.thorlauridsen.web.dto.CustomerInputDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmark validating customer input with the {@link CustomerInputValidator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CustomerValidationBenchmark {
+
+    private final CustomerInputDto validInput = new CustomerInputDto("bob@gmail.com");
+    private final CustomerInputDto invalidInput = new CustomerInputDto("invalid-email");
+    private ValidatorFactory validatorFactory;
+    private CustomerInputValidator validator;
+
+    @Setup
+    public void setup() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = new CustomerInputValidator(validatorFactory.getValidator(), new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Map<String, String> validateValidInput() {
+        return validator.validate(validInput);
+    }
+
+    @Benchmark
+    public Map<String, String> validateInvalidInput() {
+        return validator.validate(invalidInput);
+    }
+}
@@ -0,0 +1,35 @@
+plugins {
+	alias(local.plugins.lombok)
+	alias(local.plugins.springboot)
+	alias(local.plugins.spring.dependencies)
+}
+
+dependencies {
+	// The loadtest subproject starts the application from the api subproject
+	implementation(projects.api)
+
+	// Spring Boot dependencies for starting the application
+	implementation(local.springboot.starter)
+
+	// HdrHistogram for recording latency distributions
+	implementation(local.hdrhistogram)
+}
+
+// The load test is run with ./gradlew loadtest:loadTest and configured with -Dloadtest.* system properties.
+// The task fails if a latency budget or the maximum error rate is exceeded.
+val loadTest by tasks.registering(JavaExec::class) {
+	description = "Runs the HTTP load test against the application."
+	group = "verification"
+	mainClass = "com.github.thorlauridsen.loadtest.LoadTestApplication"
+	classpath = sourceSets.main.get().runtimeClasspath
+	systemProperties(providers.systemPropertiesPrefixedBy("loadtest.").get())
+}
+
+// Disabling bootJar and bootRun is necessary for a subproject
+// that uses the Spring Boot plugin but is not supposed to be packaged.
+tasks.bootJar {
+	enabled = false
+}
+tasks.bootRun {
+	enabled = false
+}
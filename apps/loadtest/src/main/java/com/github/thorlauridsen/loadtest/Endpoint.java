@@ -0,0 +1,18 @@
+package com.github.thorlauridsen.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Endpoints driven by the load test.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Endpoint {
+    CREATE("create", "POST /customers", 201),
+    GET("get", "GET /customers/{id}", 200);
+
+    private final String key;
+    private final String description;
+    private final int expectedStatus;
+}
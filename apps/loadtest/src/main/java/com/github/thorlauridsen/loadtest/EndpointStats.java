@@ -0,0 +1,84 @@
+package com.github.thorlauridsen.loadtest;
+
+import java.util.concurrent.atomic.LongAdder;
+import lombok.val;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histogram and error counts of a single endpoint.
+ * Latencies are recorded in microseconds with three significant digits.
+ */
+public class EndpointStats {
+
+    private final Histogram histogram = new ConcurrentHistogram(3);
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Record the latency of a completed request.
+     *
+     * @param latencyNanos Latency of the request in nanoseconds.
+     * @param success      Whether the request returned the expected status.
+     */
+    public void record(long latencyNanos, boolean success) {
+        histogram.recordValue(Math.max(1, latencyNanos / 1000));
+        if (!success) {
+            failed.increment();
+        }
+    }
+
+    /**
+     * Record a request that was never sent because too many requests were outstanding.
+     */
+    public void recordDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * Get the number of completed requests.
+     *
+     * @return Number of completed requests.
+     */
+    public long completed() {
+        return histogram.getTotalCount();
+    }
+
+    /**
+     * Get the number of requests which failed or were dropped.
+     *
+     * @return Number of errors.
+     */
+    public long errors() {
+        return failed.sum() + dropped.sum();
+    }
+
+    /**
+     * Get the share of requests which failed or were dropped.
+     *
+     * @return Error rate between 0 and 1.
+     */
+    public double errorRate() {
+        val requests = completed() + dropped.sum();
+        return requests == 0 ? 0 : (double) errors() / requests;
+    }
+
+    /**
+     * Get the latency at the given percentile in milliseconds.
+     *
+     * @param percentile Percentile between 0 and 100.
+     * @return Latency in milliseconds.
+     */
+    public double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * Get the maximum latency in milliseconds.
+     *
+     * @return Maximum latency in milliseconds.
+     */
+    public double maxMillis() {
+        return histogram.getMaxValue() / 1000.0;
+    }
+}
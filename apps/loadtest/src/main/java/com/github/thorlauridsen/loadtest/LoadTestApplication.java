@@ -0,0 +1,129 @@
+package com.github.thorlauridsen.loadtest;
+
+import com.github.thorlauridsen.SampleApplication;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Entry point of the HTTP load test.
+ * <p>
+ * Starts {@link SampleApplication} on a random port against an in-memory H2 database,
+ * unless loadtest.base-url points to an already running application. Customers are created
+ * for the get requests, then a warmup phase and a recorded phase are run by the
+ * {@link OpenModelLoadGenerator}. Throughput and latency percentiles are reported per endpoint,
+ * together with the peak heap and thread usage of the application sampled by the {@link ServerMetricsSampler},
+ * and the process exits with status 1 if a latency budget or the maximum error rate is exceeded.
+ */
+@Slf4j
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        val properties = LoadTestProperties.fromSystemProperties();
+
+        ConfigurableApplicationContext context = null;
+        var baseUrl = properties.baseUrl();
+        if (baseUrl == null) {
+            context = new SpringApplicationBuilder(SampleApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "logging.level.com.github.thorlauridsen=warn"
+                    )
+                    .run(args);
+            baseUrl = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+        }
+
+        List<String> violations;
+        try (OpenModelLoadGenerator generator = new OpenModelLoadGenerator(baseUrl, properties)) {
+            val ids = generator.createCustomers();
+
+            log.info("Warming up for {} at {} requests per second", properties.warmup(), properties.rate());
+            generator.run(properties.warmup(), ids);
+
+            log.info("Recording for {} at {} requests per second", properties.duration(), properties.rate());
+            try (ServerMetricsSampler sampler = new ServerMetricsSampler(baseUrl, generator::inFlight)) {
+                val stats = generator.run(properties.duration(), ids);
+                violations = report(stats, properties);
+                report(sampler);
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+
+        if (!violations.isEmpty()) {
+            violations.forEach(violation -> log.error("Budget exceeded: {}", violation));
+            System.exit(1);
+        }
+        log.info("All latency budgets met");
+    }
+
+    /**
+     * Log the peak heap and thread usage of the application during the recorded phase.
+     *
+     * @param sampler {@link ServerMetricsSampler} which sampled the application.
+     */
+    private static void report(ServerMetricsSampler sampler) {
+        if (!sampler.isAvailable()) {
+            log.info("Server metrics not available, expose the actuator metrics endpoint to report them");
+            return;
+        }
+        log.info(String.format("Server peak heap %.1f MiB (baseline %.1f MiB), peak threads %.0f, "
+                        + "peak requests in flight %d, heap per request in flight %.1f KiB",
+                sampler.getPeakHeapBytes() / (1024 * 1024),
+                sampler.getBaselineHeapBytes() / (1024 * 1024),
+                sampler.getPeakThreads(),
+                sampler.getPeakInFlight(),
+                sampler.heapPerInFlightKib()));
+    }
+
+    /**
+     * Log the results of each endpoint and check them against the budgets.
+     *
+     * @param stats      Map of {@link EndpointStats} per {@link Endpoint}.
+     * @param properties {@link LoadTestProperties} containing the budgets.
+     * @return List of budget violations, empty if all budgets are met.
+     */
+    private static List<String> report(Map<Endpoint, EndpointStats> stats, LoadTestProperties properties) {
+        val violations = new ArrayList<String>();
+        val seconds = properties.duration().toMillis() / 1000.0;
+
+        log.info(String.format("%-22s %10s %8s %10s %10s %10s %10s %10s",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (val entry : stats.entrySet()) {
+            val endpoint = entry.getKey();
+            val endpointStats = entry.getValue();
+            val p99 = endpointStats.percentileMillis(99);
+            val p999 = endpointStats.percentileMillis(99.9);
+
+            log.info(String.format("%-22s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f",
+                    endpoint.getDescription(),
+                    endpointStats.completed(),
+                    endpointStats.errors(),
+                    endpointStats.completed() / seconds,
+                    endpointStats.percentileMillis(50),
+                    p99,
+                    p999,
+                    endpointStats.maxMillis()));
+
+            val p99Budget = properties.p99Budgets().get(endpoint).toMillis();
+            if (p99 > p99Budget) {
+                violations.add(endpoint.getDescription() + " p99 " + p99 + " ms > " + p99Budget + " ms");
+            }
+            val p999Budget = properties.p999Budgets().get(endpoint).toMillis();
+            if (p999 > p999Budget) {
+                violations.add(endpoint.getDescription() + " p99.9 " + p999 + " ms > " + p999Budget + " ms");
+            }
+            if (endpointStats.errorRate() > properties.maxErrorRate()) {
+                violations.add(endpoint.getDescription() + " error rate " + endpointStats.errorRate()
+                        + " > " + properties.maxErrorRate());
+            }
+        }
+        return violations;
+    }
+}
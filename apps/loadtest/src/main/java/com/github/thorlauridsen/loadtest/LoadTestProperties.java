@@ -0,0 +1,74 @@
+package com.github.thorlauridsen.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.val;
+
+/**
+ * Configuration of a load test run.
+ * All values are read from system properties prefixed with loadtest.
+ *
+ * @param baseUrl      Base URL of an already running application, or null to start the application on a random port.
+ * @param rate         Number of requests started per second, regardless of how long earlier requests take.
+ * @param warmup       Duration of the warmup phase, which is not recorded.
+ * @param duration     Duration of the recorded phase.
+ * @param createRatio  Share of requests which create a customer, between 0 and 1. The rest get a customer.
+ * @param customers    Number of customers created before the test, which are looked up by the get requests.
+ * @param maxInFlight  Maximum number of outstanding requests. Requests beyond this are counted as errors.
+ * @param maxErrorRate Maximum share of failed requests per endpoint before the run fails.
+ * @param p99Budgets   Maximum p99 latency per endpoint.
+ * @param p999Budgets  Maximum p99.9 latency per endpoint.
+ */
+public record LoadTestProperties(
+        String baseUrl,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        double createRatio,
+        int customers,
+        int maxInFlight,
+        double maxErrorRate,
+        Map<Endpoint, Duration> p99Budgets,
+        Map<Endpoint, Duration> p999Budgets
+) {
+
+    /**
+     * Read the configuration from system properties.
+     *
+     * @return {@link LoadTestProperties}.
+     */
+    public static LoadTestProperties fromSystemProperties() {
+        val p99Budgets = new EnumMap<Endpoint, Duration>(Endpoint.class);
+        p99Budgets.put(Endpoint.CREATE, millis("loadtest.budget.create.p99-ms", 100));
+        p99Budgets.put(Endpoint.GET, millis("loadtest.budget.get.p99-ms", 50));
+
+        val p999Budgets = new EnumMap<Endpoint, Duration>(Endpoint.class);
+        p999Budgets.put(Endpoint.CREATE, millis("loadtest.budget.create.p999-ms", 250));
+        p999Budgets.put(Endpoint.GET, millis("loadtest.budget.get.p999-ms", 100));
+
+        return new LoadTestProperties(
+                System.getProperty("loadtest.base-url"),
+                Integer.getInteger("loadtest.rate", 500),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30)),
+                Double.parseDouble(System.getProperty("loadtest.create-ratio", "0.2")),
+                Integer.getInteger("loadtest.customers", 1000),
+                Integer.getInteger("loadtest.max-in-flight", 10_000),
+                Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.001")),
+                p99Budgets,
+                p999Budgets
+        );
+    }
+
+    /**
+     * Read a duration in milliseconds from a system property.
+     *
+     * @param name         Name of the system property.
+     * @param defaultValue Default number of milliseconds.
+     * @return {@link Duration}.
+     */
+    private static Duration millis(String name, long defaultValue) {
+        return Duration.ofMillis(Long.getLong(name, defaultValue));
+    }
+}
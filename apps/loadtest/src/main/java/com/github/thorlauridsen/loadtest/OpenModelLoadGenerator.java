@@ -0,0 +1,188 @@
+package com.github.thorlauridsen.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+/**
+ * Load generator which starts requests at a fixed arrival rate.
+ * <p>
+ * This is an open model: request number i is scheduled to start at i / rate seconds after the
+ * start of a phase, no matter how long earlier requests take. Each request runs on its own virtual thread.
+ * Latency is measured from the scheduled start time rather than the time the request was actually sent,
+ * so if the generator or the application falls behind the delay is included in the recorded latency.
+ * This avoids coordinated omission, where a slow response hides the requests that should have been sent meanwhile.
+ */
+@Slf4j
+public class OpenModelLoadGenerator implements AutoCloseable {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final String baseUrl;
+    private final LoadTestProperties properties;
+    private final Semaphore inFlight;
+
+    /**
+     * Constructor for open model load generator.
+     *
+     * @param baseUrl    Base URL of the application.
+     * @param properties {@link LoadTestProperties} of the run.
+     */
+    public OpenModelLoadGenerator(String baseUrl, LoadTestProperties properties) {
+        this.baseUrl = baseUrl;
+        this.properties = properties;
+        this.inFlight = new Semaphore(properties.maxInFlight());
+    }
+
+    /**
+     * Create customers to be looked up by the get requests.
+     *
+     * @return List of ids of the created customers.
+     * @throws IllegalStateException if a customer could not be created.
+     */
+    public List<UUID> createCustomers() throws IOException, InterruptedException {
+        log.info("Creating {} customers", properties.customers());
+
+        val ids = new ArrayList<UUID>(properties.customers());
+        for (int i = 0; i < properties.customers(); i++) {
+            val response = client.send(createRequest(), HttpResponse.BodyHandlers.ofString());
+            val location = response.headers().firstValue("Location");
+            if (response.statusCode() != Endpoint.CREATE.getExpectedStatus() || location.isEmpty()) {
+                throw new IllegalStateException("Could not create customer: " + response.body());
+            }
+            ids.add(UUID.fromString(location.get().substring(location.get().lastIndexOf('/') + 1)));
+        }
+        return ids;
+    }
+
+    /**
+     * Run a phase of the load test.
+     *
+     * @param duration Duration of the phase.
+     * @param ids      List of customer ids to look up.
+     * @return Map of {@link EndpointStats} per {@link Endpoint}.
+     */
+    public Map<Endpoint, EndpointStats> run(Duration duration, List<UUID> ids) throws InterruptedException {
+        val stats = new EnumMap<Endpoint, EndpointStats>(Endpoint.class);
+        for (val endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+
+        val intervalNanos = 1_000_000_000.0 / properties.rate();
+        val requests = (long) (duration.toNanos() / intervalNanos);
+        val start = System.nanoTime();
+
+        for (long i = 0; i < requests; i++) {
+            val scheduledStart = start + (long) (i * intervalNanos);
+            waitUntil(scheduledStart);
+
+            val endpoint = ThreadLocalRandom.current().nextDouble() < properties.createRatio()
+                    ? Endpoint.CREATE
+                    : Endpoint.GET;
+            val endpointStats = stats.get(endpoint);
+            if (!inFlight.tryAcquire()) {
+                endpointStats.recordDropped();
+                continue;
+            }
+
+            val request = endpoint == Endpoint.CREATE
+                    ? createRequest()
+                    : getRequest(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+            executor.execute(() -> send(request, endpoint, endpointStats, scheduledStart));
+        }
+
+        // Wait for all outstanding requests of the phase to complete
+        inFlight.acquire(properties.maxInFlight());
+        inFlight.release(properties.maxInFlight());
+        return stats;
+    }
+
+    /**
+     * Get the number of requests currently in flight.
+     *
+     * @return Number of outstanding requests.
+     */
+    public int inFlight() {
+        return properties.maxInFlight() - inFlight.availablePermits();
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+        client.close();
+    }
+
+    /**
+     * Send a request and record its latency measured from the scheduled start time.
+     *
+     * @param request        {@link HttpRequest} to send.
+     * @param endpoint       {@link Endpoint} of the request.
+     * @param stats          {@link EndpointStats} to record the result in.
+     * @param scheduledStart Time in nanoseconds at which the request was scheduled to start.
+     */
+    private void send(HttpRequest request, Endpoint endpoint, EndpointStats stats, long scheduledStart) {
+        var success = false;
+        try {
+            val response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() == endpoint.getExpectedStatus();
+        } catch (Exception e) {
+            log.debug("Request to {} failed", endpoint.getDescription(), e);
+        } finally {
+            stats.record(System.nanoTime() - scheduledStart, success);
+            inFlight.release();
+        }
+    }
+
+    /**
+     * Park the current thread until the given time.
+     *
+     * @param deadline Time in nanoseconds to wait until.
+     */
+    private void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Build a request creating a customer with a unique mail address.
+     *
+     * @return {@link HttpRequest}.
+     */
+    private HttpRequest createRequest() {
+        val body = "{\"mail\":\"loadtest-" + UUID.randomUUID() + "@gmail.com\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/customers"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * Build a request getting the customer with the given id.
+     *
+     * @param id UUID of the customer.
+     * @return {@link HttpRequest}.
+     */
+    private HttpRequest getRequest(UUID id) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/customers/" + id))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+}
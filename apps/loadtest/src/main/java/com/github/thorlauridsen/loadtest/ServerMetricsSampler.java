@@ -0,0 +1,126 @@
+package com.github.thorlauridsen.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.OptionalDouble;
+import java.util.function.IntSupplier;
+import java.util.regex.Pattern;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+/**
+ * Sampler of the heap and thread usage of the application under test.
+ * <p>
+ * Once a second the used heap and the number of live threads are read from the actuator metrics endpoint
+ * of the application, together with the number of requests in flight. The peaks are kept, so the
+ * memory and threads used per concurrent connection can be compared between applications.
+ * If the metrics endpoint cannot be reached, sampling stops and no server metrics are reported.
+ */
+@Slf4j
+public class ServerMetricsSampler implements AutoCloseable {
+
+    private static final Duration INTERVAL = Duration.ofSeconds(1);
+    private static final Pattern VALUE_PATTERN = Pattern.compile("\"value\"\\s*:\\s*([0-9.Ee+-]+)");
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final String baseUrl;
+    private final IntSupplier inFlight;
+    private final Thread thread;
+    private volatile boolean available = true;
+
+    @Getter
+    private volatile double baselineHeapBytes;
+
+    @Getter
+    private volatile double peakHeapBytes;
+
+    @Getter
+    private volatile double peakThreads;
+
+    @Getter
+    private volatile int peakInFlight;
+
+    /**
+     * Constructor for a server metrics sampler.
+     * The baseline heap usage is sampled immediately and sampling continues on a background thread.
+     *
+     * @param baseUrl  Base URL of the application.
+     * @param inFlight Supplier of the number of requests currently in flight.
+     */
+    public ServerMetricsSampler(String baseUrl, IntSupplier inFlight) {
+        this.baseUrl = baseUrl;
+        this.inFlight = inFlight;
+        this.baselineHeapBytes = metric("jvm.memory.used?tag=area:heap").orElse(0);
+        this.thread = Thread.ofVirtual().name("server-metrics-sampler").start(this::sample);
+    }
+
+    /**
+     * Check whether the metrics endpoint of the application could be read.
+     *
+     * @return True if server metrics were sampled.
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Get the peak heap growth per request in flight in kibibytes.
+     *
+     * @return Heap used above the baseline per request in flight, or 0 if no request was in flight.
+     */
+    public double heapPerInFlightKib() {
+        return peakInFlight == 0 ? 0 : (peakHeapBytes - baselineHeapBytes) / peakInFlight / 1024;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        thread.interrupt();
+        thread.join();
+        client.close();
+    }
+
+    /**
+     * Sample the metrics once a second until interrupted or the metrics endpoint cannot be read.
+     */
+    private void sample() {
+        while (available && !Thread.currentThread().isInterrupted()) {
+            peakInFlight = Math.max(peakInFlight, inFlight.getAsInt());
+            metric("jvm.memory.used?tag=area:heap").ifPresent(heap -> peakHeapBytes = Math.max(peakHeapBytes, heap));
+            metric("jvm.threads.live").ifPresent(threads -> peakThreads = Math.max(peakThreads, threads));
+            try {
+                Thread.sleep(INTERVAL);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Read the first measurement of a metric from the actuator metrics endpoint.
+     *
+     * @param metric Name of the metric including any tag query.
+     * @return Value of the metric, or empty if it could not be read.
+     */
+    private OptionalDouble metric(String metric) {
+        try {
+            val request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + metric)).GET().build();
+            val response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            val matcher = VALUE_PATTERN.matcher(response.body());
+            if (response.statusCode() == 200 && matcher.find()) {
+                return OptionalDouble.of(Double.parseDouble(matcher.group(1)));
+            }
+            log.warn("Could not read metric {} from the application, status {}", metric, response.statusCode());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return OptionalDouble.empty();
+        } catch (Exception e) {
+            log.warn("Could not read metric {} from the application", metric, e);
+        }
+        available = false;
+        return OptionalDouble.empty();
+    }
+}
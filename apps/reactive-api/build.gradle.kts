@@ -0,0 +1,47 @@
+plugins {
+	alias(local.plugins.lombok)
+	alias(local.plugins.springboot)
+	alias(local.plugins.spring.dependencies)
+}
+
+dependencies {
+	// The reactive-api subproject reuses the model, common and web subproject but not the blocking persistence subproject
+	implementation(projects.model)
+	implementation(projects.common)
+	implementation(projects.web)
+
+	// Spring Boot dependencies
+	implementation(local.springboot.starter.validation)
+	implementation(local.springboot.starter.webflux)
+
+	// Spring Boot R2DBC dependency for non-blocking database access
+	implementation(local.springboot.starter.data.r2dbc)
+
+	// Spring Boot Actuator for exposing health and metrics endpoints
+	implementation(local.springboot.starter.actuator)
+	runtimeOnly(local.micrometer.registry.prometheus)
+
+	// R2DBC drivers for H2 and PostgreSQL
+	runtimeOnly(local.r2dbc.h2)
+	runtimeOnly(local.r2dbc.postgresql)
+
+	// Liquibase migrates the database with the changelog shared with the api subproject.
+	// Liquibase needs JDBC, so the JDBC drivers are only used for the migration.
+	implementation(local.springboot.starter.liquibase)
+	runtimeOnly(projects.schema)
+	runtimeOnly(local.h2database)
+	runtimeOnly(local.postgres)
+
+	// Springdoc OpenAPI for providing Swagger documentation
+	implementation(local.springdoc.openapi.starter.webflux)
+
+	// Spring Boot test dependencies
+	testImplementation(local.springboot.starter.test)
+
+	// JUnit platform launcher dependency for running JUnit tests
+	testRuntimeOnly(local.junit.platform.launcher)
+}
+
+tasks.test {
+	useJUnitPlatform()
+}
@@ -0,0 +1,26 @@
+package com.github.thorlauridsen.reactive;
+
+import com.github.thorlauridsen.common.CustomerIdGenerator;
+import com.github.thorlauridsen.common.CustomerIdProperties;
+import com.github.thorlauridsen.web.exception.CustomerErrorLogProperties;
+import com.github.thorlauridsen.web.exception.ErrorResponder;
+import com.github.thorlauridsen.web.exception.ExpectedErrorLogger;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Main entry point for the reactive application.
+ * The components of the common and web subprojects are imported,
+ * since they are outside the package scanned for components.
+ */
+@SpringBootApplication
+@Import({CustomerIdGenerator.class, ExpectedErrorLogger.class, ErrorResponder.class})
+@EnableConfigurationProperties({CustomerIdProperties.class, CustomerErrorLogProperties.class})
+public class ReactiveSampleApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveSampleApplication.class, args);
+    }
+}
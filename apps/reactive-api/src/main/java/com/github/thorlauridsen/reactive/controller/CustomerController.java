@@ -0,0 +1,89 @@
+package com.github.thorlauridsen.reactive.controller;
+
+import com.github.thorlauridsen.reactive.service.ReactiveCustomerService;
+import com.github.thorlauridsen.web.dto.CustomerDto;
+import com.github.thorlauridsen.web.dto.CustomerInputDto;
+import com.github.thorlauridsen.web.dto.CustomerPageDto;
+import java.net.URI;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.github.thorlauridsen.web.BaseEndpoint.CUSTOMER_BASE_ENDPOINT;
+
+/**
+ * Reactive customer controller class.
+ * This class implements the {@link ICustomerController} interface and
+ * defines the endpoints for the customer controller.
+ */
+@RestController
+@RequiredArgsConstructor
+public class CustomerController implements ICustomerController {
+
+    private final ReactiveCustomerService customerService;
+
+    /**
+     * Save a customer.
+     * Creates the URI location for the newly created customer.
+     *
+     * @param customer Input object for creating a customer.
+     * @return {@link Mono} emitting a {@link ResponseEntity} with URI location and {@link CustomerDto}.
+     */
+    @Override
+    public Mono<ResponseEntity<CustomerDto>> save(CustomerInputDto customer) {
+        return customerService.save(customer.toModel())
+                .map(saved -> ResponseEntity.created(URI.create(CUSTOMER_BASE_ENDPOINT + "/" + saved.id()))
+                        .body(CustomerDto.fromModel(saved)));
+    }
+
+    /**
+     * Retrieve a customer by ID.
+     *
+     * @param id UUID of the customer to retrieve.
+     * @return {@link Mono} emitting a {@link ResponseEntity} with {@link CustomerDto}.
+     */
+    @Override
+    public Mono<ResponseEntity<CustomerDto>> get(UUID id) {
+        return customerService.findById(id)
+                .map(customer -> ResponseEntity.ok(CustomerDto.fromModel(customer)));
+    }
+
+    /**
+     * Retrieve a customer by mail address.
+     *
+     * @param mail Mail address of the customer to retrieve.
+     * @return {@link Mono} emitting a {@link ResponseEntity} with {@link CustomerDto}.
+     */
+    @Override
+    public Mono<ResponseEntity<CustomerDto>> getByMail(String mail) {
+        return customerService.findByMail(mail)
+                .map(customer -> ResponseEntity.ok(CustomerDto.fromModel(customer)));
+    }
+
+    /**
+     * Retrieve a page of customers ordered by id.
+     *
+     * @param after UUID cursor of the last customer on the previous page.
+     * @param limit Maximum number of customers on the page.
+     * @return {@link Mono} emitting a {@link ResponseEntity} with {@link CustomerPageDto}.
+     */
+    @Override
+    public Mono<ResponseEntity<CustomerPageDto>> list(UUID after, int limit) {
+        return customerService.findPage(after, limit)
+                .map(page -> ResponseEntity.ok(CustomerPageDto.fromModel(page)));
+    }
+
+    /**
+     * Export all customers as newline delimited JSON.
+     * Customers are read from the database as fast as the client consumes them.
+     *
+     * @return {@link Flux} of {@link CustomerDto}.
+     */
+    @Override
+    public Flux<CustomerDto> export() {
+        return customerService.findAll().map(CustomerDto::fromModel);
+    }
+}
@@ -0,0 +1,152 @@
+package com.github.thorlauridsen.reactive.controller;
+
+import com.github.thorlauridsen.web.dto.CustomerDto;
+import com.github.thorlauridsen.web.dto.CustomerInputDto;
+import com.github.thorlauridsen.web.dto.CustomerPageDto;
+import com.github.thorlauridsen.web.dto.ErrorDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.util.UUID;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.github.thorlauridsen.web.BaseEndpoint.APPLICATION_NDJSON_VALUE;
+import static com.github.thorlauridsen.web.BaseEndpoint.CUSTOMER_BASE_ENDPOINT;
+
+/**
+ * Reactive customer controller interface.
+ * This interface defines the same customer endpoints as the controller of the api subproject,
+ * but every endpoint returns a {@link Mono} or {@link Flux} so no request blocks a thread.
+ * It also defines the operations which will be used in the OpenAPI documentation.
+ */
+@Tag(
+        name = "Customer Controller",
+        description = "API for managing customers"
+)
+@RequestMapping(CUSTOMER_BASE_ENDPOINT)
+public interface ICustomerController {
+
+    /**
+     * Save a customer.
+     *
+     * @param customer Input object for creating a customer.
+     * @return {@link Mono} emitting a {@link ResponseEntity} with {@link CustomerDto}.
+     */
+    @PostMapping
+    @Operation(
+            summary = "Create a new customer",
+            description = "Creates a new customer with the provided email address."
+    )
+    @ApiResponse(
+            responseCode = "201",
+            description = "Customer successfully created"
+    )
+    @ApiResponse(
+            responseCode = "409",
+            description = "Customer already exists with given mail address",
+            content = @Content(schema = @Schema(implementation = ErrorDto.class))
+    )
+    Mono<ResponseEntity<CustomerDto>> save(@Valid @RequestBody CustomerInputDto customer);
+
+    /**
+     * Retrieve a customer by ID.
+     *
+     * @param id UUID of the customer to retrieve.
+     * @return {@link Mono} emitting a {@link ResponseEntity} with {@link CustomerDto}.
+     */
+    @GetMapping("/{id}")
+    @Operation(
+            summary = "Retrieve a customer by ID",
+            description = "Retrieve a customer by ID"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved customer"
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Customer not found with given id",
+            content = @Content(schema = @Schema(implementation = ErrorDto.class))
+    )
+    Mono<ResponseEntity<CustomerDto>> get(
+            @Parameter(description = "UUID of the customer to retrieve", required = true)
+            @PathVariable UUID id
+    );
+
+    /**
+     * Retrieve a customer by mail address.
+     *
+     * @param mail Mail address of the customer to retrieve.
+     * @return {@link Mono} emitting a {@link ResponseEntity} with {@link CustomerDto}.
+     */
+    @GetMapping(params = "mail")
+    @Operation(
+            summary = "Retrieve a customer by mail address",
+            description = "Retrieve a customer by mail address. The mail address is compared case-insensitively."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved customer"
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Customer not found with given mail address",
+            content = @Content(schema = @Schema(implementation = ErrorDto.class))
+    )
+    Mono<ResponseEntity<CustomerDto>> getByMail(
+            @Parameter(description = "Mail address of the customer to retrieve", required = true)
+            @RequestParam String mail
+    );
+
+    /**
+     * Retrieve a page of customers ordered by id.
+     *
+     * @param after UUID cursor of the last customer on the previous page.
+     * @param limit Maximum number of customers on the page.
+     * @return {@link Mono} emitting a {@link ResponseEntity} with {@link CustomerPageDto}.
+     */
+    @GetMapping
+    @Operation(
+            summary = "Retrieve a page of customers",
+            description = "Retrieve customers ordered by id. Use the nextCursor of a page as the after parameter "
+                    + "to retrieve the next page."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved page of customers"
+    )
+    Mono<ResponseEntity<CustomerPageDto>> list(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) UUID after,
+            @Parameter(description = "Maximum number of customers on the page, at most 1000")
+            @RequestParam(defaultValue = "50") int limit
+    );
+
+    /**
+     * Export all customers as newline delimited JSON.
+     *
+     * @return {@link Flux} of {@link CustomerDto} written as one line each.
+     */
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Export all customers",
+            description = "Streams all customers as newline delimited JSON with one customer per line."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Successfully streamed all customers"
+    )
+    Flux<CustomerDto> export();
+}
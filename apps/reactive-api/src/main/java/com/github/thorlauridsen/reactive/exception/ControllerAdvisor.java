@@ -0,0 +1,78 @@
+package com.github.thorlauridsen.reactive.exception;
+
+import com.github.thorlauridsen.web.dto.ErrorDto;
+import com.github.thorlauridsen.web.exception.DomainException;
+import com.github.thorlauridsen.web.exception.ErrorResponder;
+import com.github.thorlauridsen.web.exception.ExpectedErrorLogger;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controller advisor for handling exceptions.
+ * This ensures that whenever an exception is thrown, a proper error response is returned to the client.
+ * The responses are created by the {@link ErrorResponder} shared with the api.
+ * <p>
+ * Domain exceptions and validation failures are expected and are logged by the {@link ExpectedErrorLogger}.
+ * Any other exception is unexpected and logged with its stack trace.
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class ControllerAdvisor extends ResponseEntityExceptionHandler {
+
+    private final ErrorResponder errorResponder;
+
+    /**
+     * Handles all domain exceptions.
+     * If any {@link DomainException} is emitted, this method will
+     * catch it and return a response entity with an {@link ErrorDto}.
+     * The returned HTTP status code will be derived from the specific {@link DomainException}.
+     *
+     * @param exception The domain exception to handle.
+     * @return A response entity with an {@link ErrorDto}.
+     */
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ErrorDto> handleDomainException(DomainException exception) {
+        return errorResponder.expected(exception, exception.getHttpStatus());
+    }
+
+    /**
+     * Handles all exceptions.
+     * Returns an HTTP 500 status code if no domain exception is thrown.
+     *
+     * @param exception The exception to handle.
+     * @return A response entity with an {@link ErrorDto}.
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorDto> handleEverything(Exception exception) {
+        return errorResponder.unexpected(exception);
+    }
+
+    @Override
+    protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(
+            WebExchangeBindException exception,
+            @NonNull HttpHeaders headers,
+            @NonNull HttpStatusCode status,
+            @NonNull ServerWebExchange exchange
+    ) {
+        val fieldErrors = exception.getFieldErrors()
+                .stream()
+                .collect(Collectors.toMap(
+                        FieldError::getField,
+                        fe -> fe.getDefaultMessage() != null ? fe.getDefaultMessage() : "Invalid value",
+                        (first, second) -> first
+                ));
+        return Mono.just(errorResponder.validationFailed(exception, fieldErrors));
+    }
+}
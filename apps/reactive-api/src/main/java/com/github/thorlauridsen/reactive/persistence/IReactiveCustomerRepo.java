@@ -0,0 +1,57 @@
+package com.github.thorlauridsen.reactive.persistence;
+
+import com.github.thorlauridsen.model.Customer;
+import com.github.thorlauridsen.model.CustomerInput;
+import java.util.UUID;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive customer repository interface.
+ * This is the non-blocking counterpart of the ICustomerRepo from the model subproject.
+ * Every method returns immediately, and the result is emitted once the database has responded.
+ */
+public interface IReactiveCustomerRepo {
+
+    /**
+     * Save a customer.
+     *
+     * @param customerInput Input object for creating a customer.
+     * @return {@link Mono} emitting the saved {@link Customer}.
+     */
+    Mono<Customer> save(CustomerInput customerInput);
+
+    /**
+     * Find a customer by id.
+     *
+     * @param id UUID of the customer.
+     * @return {@link Mono} emitting the {@link Customer}, or empty if it does not exist.
+     */
+    Mono<Customer> findById(UUID id);
+
+    /**
+     * Find a customer by mail address.
+     * Mail addresses are compared case-insensitively.
+     *
+     * @param mail Mail address of the customer.
+     * @return {@link Mono} emitting the {@link Customer}, or empty if it does not exist.
+     */
+    Mono<Customer> findByMail(String mail);
+
+    /**
+     * Find a page of customers ordered by id.
+     *
+     * @param after UUID of the last customer on the previous page, or null to find the first page.
+     * @param limit Maximum number of customers to find.
+     * @return {@link Flux} emitting the {@link Customer} ordered by id.
+     */
+    Flux<Customer> findPage(UUID after, int limit);
+
+    /**
+     * Find all customers.
+     * The customers are emitted as they are read, so they are never held in memory together.
+     *
+     * @return {@link Flux} emitting every {@link Customer}.
+     */
+    Flux<Customer> findAll();
+}
@@ -0,0 +1,137 @@
+package com.github.thorlauridsen.reactive.persistence;
+
+import com.github.thorlauridsen.common.CustomerIdGenerator;
+import com.github.thorlauridsen.common.CustomerMail;
+import com.github.thorlauridsen.model.Customer;
+import com.github.thorlauridsen.model.CustomerInput;
+import io.r2dbc.spi.Readable;
+import java.util.UUID;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive customer repository using R2DBC.
+ * <p>
+ * Every query is executed with the {@link DatabaseClient}, and rows are mapped directly to {@link Customer} models.
+ * It uses the same customer table as the api subproject, including the normalised mail column
+ * with its unique index, so both applications can share a database. Ids are generated and mail
+ * addresses are normalised the same way as in the api subproject.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveCustomerRepo implements IReactiveCustomerRepo {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO customer (id, mail, mail_normalized) VALUES (:id, :mail, :mailNormalized)";
+    private static final String SELECT_BY_ID_SQL = "SELECT id, mail FROM customer WHERE id = :id";
+    private static final String SELECT_BY_MAIL_SQL = "SELECT id, mail FROM customer WHERE mail_normalized = :mail";
+    private static final String SELECT_FIRST_PAGE_SQL = "SELECT id, mail FROM customer ORDER BY id LIMIT :limit";
+    private static final String SELECT_PAGE_AFTER_SQL =
+            "SELECT id, mail FROM customer WHERE id > :after ORDER BY id LIMIT :limit";
+    private static final String SELECT_ALL_SQL = "SELECT id, mail FROM customer";
+    private static final Function<Readable, Customer> CUSTOMER_MAPPER = row -> new Customer(
+            row.get("id", UUID.class),
+            row.get("mail", String.class)
+    );
+
+    private final DatabaseClient databaseClient;
+    private final CustomerIdGenerator idGenerator;
+
+    /**
+     * Save a customer with a single INSERT statement.
+     * Customer ids are generated by the {@link CustomerIdGenerator}.
+     *
+     * @param customerInput Input object for creating a customer.
+     * @return {@link Mono} emitting the saved {@link Customer}.
+     */
+    @Override
+    public Mono<Customer> save(CustomerInput customerInput) {
+        log.info("Saving customer with mail: {}", customerInput.mail());
+
+        val customer = new Customer(idGenerator.generate(), customerInput.mail());
+        return databaseClient.sql(INSERT_SQL)
+                .bind("id", customer.id())
+                .bind("mail", customer.mail())
+                .bind("mailNormalized", CustomerMail.normalize(customer.mail()))
+                .then()
+                .thenReturn(customer);
+    }
+
+    /**
+     * Find a customer by id using the primary key.
+     *
+     * @param id UUID of the customer.
+     * @return {@link Mono} emitting the {@link Customer}, or empty if it does not exist.
+     */
+    @Override
+    public Mono<Customer> findById(UUID id) {
+        log.info("Finding customer with id: {}", id);
+        return databaseClient.sql(SELECT_BY_ID_SQL)
+                .bind("id", id)
+                .map(CUSTOMER_MAPPER)
+                .one();
+    }
+
+    /**
+     * Find a customer by mail address.
+     * The mail address is normalised and looked up using the unique index on the normalised mail column.
+     *
+     * @param mail Mail address of the customer.
+     * @return {@link Mono} emitting the {@link Customer}, or empty if it does not exist.
+     */
+    @Override
+    public Mono<Customer> findByMail(String mail) {
+        log.info("Finding customer with mail: {}", mail);
+        return databaseClient.sql(SELECT_BY_MAIL_SQL)
+                .bind("mail", CustomerMail.normalize(mail))
+                .map(CUSTOMER_MAPPER)
+                .one();
+    }
+
+    /**
+     * Find a page of customers ordered by id.
+     * This uses keyset pagination on the primary key instead of an offset,
+     * so the database can seek directly to the first customer of the page.
+     *
+     * @param after UUID of the last customer on the previous page, or null to find the first page.
+     * @param limit Maximum number of customers to find.
+     * @return {@link Flux} emitting the {@link Customer} ordered by id.
+     */
+    @Override
+    public Flux<Customer> findPage(UUID after, int limit) {
+        log.info("Finding {} customers after id: {}", limit, after);
+        if (after == null) {
+            return databaseClient.sql(SELECT_FIRST_PAGE_SQL)
+                    .bind("limit", limit)
+                    .map(CUSTOMER_MAPPER)
+                    .all();
+        }
+        return databaseClient.sql(SELECT_PAGE_AFTER_SQL)
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(CUSTOMER_MAPPER)
+                .all();
+    }
+
+    /**
+     * Find all customers.
+     * Rows are requested from the database as the subscriber consumes them,
+     * so a slow client applies backpressure instead of the customers being buffered in memory.
+     *
+     * @return {@link Flux} emitting every {@link Customer}.
+     */
+    @Override
+    public Flux<Customer> findAll() {
+        log.info("Streaming all customers");
+        return databaseClient.sql(SELECT_ALL_SQL)
+                .map(CUSTOMER_MAPPER)
+                .all();
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.thorlauridsen.reactive.service;
+
+import com.github.thorlauridsen.model.Customer;
+import com.github.thorlauridsen.model.CustomerInput;
+import com.github.thorlauridsen.model.CustomerPage;
+import com.github.thorlauridsen.reactive.persistence.IReactiveCustomerRepo;
+import com.github.thorlauridsen.web.exception.CustomerAlreadyExistsException;
+import com.github.thorlauridsen.web.exception.CustomerNotFoundException;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive customer service class.
+ * <p>
+ * This class uses the {@link IReactiveCustomerRepo} to interact with the repository.
+ * None of its methods block, so a request waiting for the database does not hold a thread.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveCustomerService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final IReactiveCustomerRepo customerRepo;
+
+    /**
+     * Save a customer.
+     * Fails with a {@link CustomerAlreadyExistsException} if a customer with the same mail address already exists.
+     *
+     * @param customerInput {@link CustomerInput} for creating a customer.
+     * @return {@link Mono} emitting the saved {@link Customer}.
+     */
+    public Mono<Customer> save(CustomerInput customerInput) {
+        log.info("Saving customer with mail: {}", customerInput.mail());
+        return customerRepo.findByMail(customerInput.mail())
+                .flatMap(existing -> Mono.<Customer>error(new CustomerAlreadyExistsException(
+                        "Customer already exists with mail: " + customerInput.mail()
+                )))
+                .switchIfEmpty(Mono.defer(() -> customerRepo.save(customerInput)));
+    }
+
+    /**
+     * Find a customer by id.
+     *
+     * @param id UUID of the customer.
+     * @return {@link Mono} emitting the {@link Customer},
+     * or failing with a {@link CustomerNotFoundException} if the customer is not found.
+     */
+    public Mono<Customer> findById(UUID id) {
+        log.info("Finding customer with id: {}", id);
+        return customerRepo.findById(id)
+                .switchIfEmpty(Mono.error(() -> new CustomerNotFoundException("Customer not found with id: " + id)));
+    }
+
+    /**
+     * Find a customer by mail address.
+     * Mail addresses are compared case-insensitively.
+     *
+     * @param mail Mail address of the customer.
+     * @return {@link Mono} emitting the {@link Customer},
+     * or failing with a {@link CustomerNotFoundException} if the customer is not found.
+     */
+    public Mono<Customer> findByMail(String mail) {
+        log.info("Finding customer with mail: {}", mail);
+        return customerRepo.findByMail(mail)
+                .switchIfEmpty(Mono.error(() -> new CustomerNotFoundException("Customer not found with mail: " + mail)));
+    }
+
+    /**
+     * Find a page of customers ordered by id.
+     * The limit is clamped between 1 and {@link #MAX_PAGE_SIZE}.
+     * One extra customer is looked up to determine whether there is a next page.
+     *
+     * @param after UUID of the last customer on the previous page, or null to find the first page.
+     * @param limit Maximum number of customers on the page.
+     * @return {@link Mono} emitting the {@link CustomerPage}.
+     */
+    public Mono<CustomerPage> findPage(UUID after, int limit) {
+        log.info("Finding page of customers after id: {}", after);
+
+        val pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        return customerRepo.findPage(after, pageSize + 1)
+                .collectList()
+                .map(customers -> {
+                    if (customers.size() <= pageSize) {
+                        return new CustomerPage(customers, null);
+                    }
+                    val page = customers.subList(0, pageSize);
+                    return new CustomerPage(page, page.getLast().id());
+                });
+    }
+
+    /**
+     * Find all customers.
+     * The customers are streamed from the repository as the subscriber consumes them.
+     *
+     * @return {@link Flux} emitting every {@link Customer}.
+     */
+    public Flux<Customer> findAll() {
+        log.info("Streaming all customers");
+        return customerRepo.findAll();
+    }
+}
@@ -0,0 +1,155 @@
+package com.github.thorlauridsen.reactive;
+
+import com.github.thorlauridsen.web.dto.CustomerDto;
+import com.github.thorlauridsen.web.dto.CustomerInputDto;
+import com.github.thorlauridsen.web.dto.CustomerPageDto;
+import com.github.thorlauridsen.web.dto.ErrorDto;
+import java.util.UUID;
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static com.github.thorlauridsen.web.BaseEndpoint.APPLICATION_NDJSON_VALUE;
+import static com.github.thorlauridsen.web.BaseEndpoint.CUSTOMER_BASE_ENDPOINT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for testing the reactive CustomerController.
+ * Spins up the reactive application on a random port against an in-memory H2 database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveCustomerControllerTest {
+
+    @Value("${local.server.port}")
+    private int port;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setup() {
+        webTestClient = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .build();
+    }
+
+    @Test
+    void postCustomer_getCustomer_success() {
+        val mail = "reactive-" + UUID.randomUUID() + "@gmail.com";
+        val created = post(mail)
+                .expectStatus().isEqualTo(HttpStatus.CREATED)
+                .expectHeader().exists("Location")
+                .expectBody(CustomerDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(created);
+        assertEquals(mail, created.mail());
+
+        val fetched = webTestClient.get()
+                .uri(CUSTOMER_BASE_ENDPOINT + "/" + created.id())
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.OK)
+                .expectBody(CustomerDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertEquals(created, fetched);
+    }
+
+    @Test
+    void getCustomer_randomId_returnsNotFound() {
+        webTestClient.get()
+                .uri(CUSTOMER_BASE_ENDPOINT + "/" + UUID.randomUUID())
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.NOT_FOUND)
+                .expectBody(ErrorDto.class);
+    }
+
+    @Test
+    void getCustomerByMail_differentCase_success() {
+        val mail = "reactive-" + UUID.randomUUID() + "@gmail.com";
+        post(mail).expectStatus().isEqualTo(HttpStatus.CREATED);
+
+        val fetched = webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(CUSTOMER_BASE_ENDPOINT).queryParam("mail", mail.toUpperCase()).build())
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.OK)
+                .expectBody(CustomerDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(fetched);
+        assertEquals(mail, fetched.mail());
+    }
+
+    @Test
+    void postCustomer_duplicateMail_returnsConflict() {
+        val mail = "reactive-" + UUID.randomUUID() + "@gmail.com";
+        post(mail).expectStatus().isEqualTo(HttpStatus.CREATED);
+        post(mail).expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void postCustomer_invalidEmail_returnsBadRequest() {
+        val error = post("not-a-mail")
+                .expectStatus().isEqualTo(HttpStatus.BAD_REQUEST)
+                .expectBody(ErrorDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(error);
+        assertTrue(error.fieldErrors().containsKey("mail"));
+    }
+
+    @Test
+    void listCustomers_limit_returnsPageWithCursor() {
+        for (int i = 0; i < 3; i++) {
+            post("page-" + UUID.randomUUID() + "@gmail.com").expectStatus().isEqualTo(HttpStatus.CREATED);
+        }
+
+        val page = webTestClient.get()
+                .uri(CUSTOMER_BASE_ENDPOINT + "?limit=2")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.OK)
+                .expectBody(CustomerPageDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(page);
+        assertEquals(2, page.customers().size());
+        assertEquals(page.customers().getLast().id(), page.nextCursor());
+    }
+
+    @Test
+    void exportCustomers_streamsNewlineDelimitedJson() {
+        post("export-" + UUID.randomUUID() + "@gmail.com").expectStatus().isEqualTo(HttpStatus.CREATED);
+
+        val customers = webTestClient.get()
+                .uri(CUSTOMER_BASE_ENDPOINT + "/export")
+                .accept(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.OK)
+                .returnResult(CustomerDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertNotNull(customers);
+        assertTrue(customers.stream().anyMatch(customer -> customer.mail().startsWith("export-")));
+    }
+
+    /**
+     * Post a customer with the given mail address.
+     *
+     * @param mail Mail address of the customer.
+     * @return {@link WebTestClient.ResponseSpec} of the response.
+     */
+    private WebTestClient.ResponseSpec post(String mail) {
+        return webTestClient.post()
+                .uri(CUSTOMER_BASE_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CustomerInputDto(mail))
+                .exchange();
+    }
+}
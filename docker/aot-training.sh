@@ -0,0 +1,78 @@
+#!/bin/sh
+# Training run creating a JDK AOT cache of the api.
+#
+# Usage: aot-training.sh <app-dir> [<boot-jar>]
+#
+# If a boot jar is given, it is first extracted into <app-dir>.
+# The extracted application in <app-dir> is then started with -XX:AOTCacheOutput,
+# the customer endpoints are exercised and the application is stopped.
+# When the JVM exits it writes the classes it loaded and linked, and the method profiles
+# it collected, to <app-dir>/app.aot. Start the application with -XX:AOTCache=app.aot to use it.
+#
+# The cache is only valid for the same JDK and the same class path,
+# so it must be created by the JDK and in the directory that later run the application.
+# The java executable can be set with the JAVA environment variable.
+set -eu
+
+APP_DIR=$1
+JAVA=${JAVA:-java}
+PORT=${AOT_TRAINING_PORT:-8080}
+ITERATIONS=${AOT_TRAINING_ITERATIONS:-50}
+BASE_URL="http://localhost:$PORT/customers"
+
+if [ $# -ge 2 ]; then
+    rm -rf "$APP_DIR"
+    "$JAVA" -Djarmode=tools -jar "$2" extract --destination "$APP_DIR"
+fi
+cd "$APP_DIR"
+rm -f app.aot
+
+"$JAVA" -XX:AOTCacheOutput=app.aot -jar api.jar --server.port="$PORT" &
+PID=$!
+
+echo "Waiting for the application to start"
+ATTEMPTS=0
+until curl -fs "http://localhost:$PORT/actuator/health" > /dev/null; do
+    ATTEMPTS=$((ATTEMPTS + 1))
+    if [ "$ATTEMPTS" -gt 120 ]; then
+        echo "Application did not start within 120 seconds"
+        kill "$PID"
+        exit 1
+    fi
+    sleep 1
+done
+
+echo "Exercising the customer endpoints $ITERATIONS times"
+i=0
+while [ "$i" -lt "$ITERATIONS" ]; do
+    i=$((i + 1))
+    MAIL="training$i@gmail.com"
+
+    ID=$(curl -fs -X POST "$BASE_URL" -H 'Content-Type: application/json' -d "{\"mail\":\"$MAIL\"}" \
+        | sed -n 's/.*"id":"\([^"]*\)".*/\1/p')
+    curl -fs -o /dev/null "$BASE_URL/$ID"
+    curl -fs -o /dev/null -H 'If-None-Match: "0"' "$BASE_URL/$ID"
+    curl -fs -o /dev/null "$BASE_URL?mail=$MAIL"
+    curl -fs -o /dev/null "$BASE_URL?limit=10"
+    curl -fs -o /dev/null -X POST "$BASE_URL/lookup" -H 'Content-Type: application/json' \
+        -d "[\"$ID\", \"00000000-0000-0000-0000-000000000000\"]"
+    curl -fs -o /dev/null -X POST "$BASE_URL/batch" -H 'Content-Type: application/json' \
+        -d "[{\"mail\":\"batch$i@gmail.com\"}, {\"mail\":\"invalid\"}]"
+    curl -fs -o /dev/null -X POST "$BASE_URL/import" -H 'Content-Type: application/x-ndjson' \
+        --data-binary "{\"mail\":\"import$i@gmail.com\"}"
+
+    # Error responses are part of the training as well
+    curl -s -o /dev/null "$BASE_URL/00000000-0000-0000-0000-000000000000"
+    curl -s -o /dev/null -X POST "$BASE_URL" -H 'Content-Type: application/json' -d '{"mail":""}'
+done
+curl -fs -o /dev/null "$BASE_URL/export"
+
+echo "Stopping the application and writing the AOT cache"
+kill -TERM "$PID"
+wait "$PID" || true
+
+if [ ! -f app.aot ]; then
+    echo "AOT cache was not created"
+    exit 1
+fi
+echo "Created AOT cache $APP_DIR/app.aot"
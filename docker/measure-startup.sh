@@ -0,0 +1,61 @@
+#!/bin/sh
+# Measure the startup time and time to first request of the api image with and without the JDK AOT cache.
+#
+# Usage: docker/measure-startup.sh [runs]
+#
+# Both images are built from docker/Dockerfile. The image without the cache is the plain stage
+# and the image with the cache is the final runtime stage. Each image is started the given number
+# of times against its in-memory H2 database. For every run the startup time reported by Spring Boot
+# and the time from starting the container until GET /customers first succeeds are recorded,
+# and the median of each is printed.
+set -eu
+
+RUNS=${1:-5}
+PORT=${MEASURE_PORT:-18080}
+cd "$(dirname "$0")/.."
+
+docker build -f docker/Dockerfile --target plain -t spring-boot-java-sample:plain .
+docker build -f docker/Dockerfile --target runtime -t spring-boot-java-sample:aot .
+
+# Print the median of the numbers given on standard input.
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print (NR % 2) ? values[(NR + 1) / 2] : (values[NR / 2] + values[NR / 2 + 1]) / 2 }'
+}
+
+# Start the image the configured number of times and print the median startup time and time to first request.
+measure() {
+    IMAGE=$1
+    STARTUP_TIMES=""
+    FIRST_REQUEST_TIMES=""
+
+    run=0
+    while [ "$run" -lt "$RUNS" ]; do
+        run=$((run + 1))
+        START=$(date +%s%N)
+        CONTAINER=$(docker run -d -p "$PORT:8080" "$IMAGE")
+        until curl -fs -o /dev/null "http://localhost:$PORT/customers?limit=1"; do
+            sleep 0.05
+        done
+        END=$(date +%s%N)
+
+        STARTUP=$(docker logs "$CONTAINER" 2>&1 | sed -n 's/.*Started SampleApplication in \([0-9.]*\) seconds.*/\1/p')
+        docker rm -f "$CONTAINER" > /dev/null
+
+        FIRST_REQUEST=$(awk "BEGIN { print ($END - $START) / 1000000000 }")
+        echo "$IMAGE run $run: started in ${STARTUP}s, first request after ${FIRST_REQUEST}s"
+        STARTUP_TIMES="$STARTUP_TIMES$STARTUP\n"
+        FIRST_REQUEST_TIMES="$FIRST_REQUEST_TIMES$FIRST_REQUEST\n"
+    done
+
+    printf "%-32s | %-16s | %s\n" "$IMAGE" \
+        "$(printf "$STARTUP_TIMES" | median)" \
+        "$(printf "$FIRST_REQUEST_TIMES" | median)" >> /tmp/startup-results
+}
+
+rm -f /tmp/startup-results
+measure spring-boot-java-sample:plain
+measure spring-boot-java-sample:aot
+
+echo
+printf "%-32s | %-16s | %s\n" "Image" "Startup (s)" "First request (s)"
+cat /tmp/startup-results
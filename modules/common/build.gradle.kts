@@ -0,0 +1,19 @@
+plugins {
+    alias(local.plugins.lombok)
+    alias(local.plugins.springboot)
+    alias(local.plugins.spring.dependencies)
+}
+
+dependencies {
+    // The common subproject only needs Spring Boot for its components and configuration properties
+    implementation(local.springboot.starter)
+}
+
+// Disabling bootJar and bootRun is necessary for a subproject/module
+// that uses the Spring Boot plugin but is not supposed to be executable.
+tasks.bootJar {
+    enabled = false
+}
+tasks.bootRun {
+    enabled = false
+}
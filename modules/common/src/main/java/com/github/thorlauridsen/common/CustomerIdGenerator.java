@@ -0,0 +1,68 @@
+package com.github.thorlauridsen.common;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generator for customer ids.
+ * <p>
+ * Depending on {@link CustomerIdProperties#version()} this generates either random
+ * UUIDv4 ids or time-ordered UUIDv7 ids as described in RFC 9562.
+ * Time-ordered ids keep inserts at the end of the primary key index,
+ * which avoids page splits and index bloat on large tables.
+ * <p>
+ * The UUIDv7 ids are monotonic within this generator. The 12 bits following the
+ * millisecond timestamp are used as a counter, so ids generated within the same
+ * millisecond are still ordered. If the counter overflows, the timestamp is advanced
+ * by one millisecond. The remaining 62 bits are random but not cryptographically secure,
+ * so the ids should not be used as secrets.
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerIdGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_RFC_9562 = 0x8000000000000000L;
+
+    private final CustomerIdProperties properties;
+    private final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    /**
+     * Generate a new customer id.
+     *
+     * @return UUID for a new customer.
+     */
+    public UUID generate() {
+        return switch (properties.version()) {
+            case V4 -> UUID.randomUUID();
+            case V7 -> timeOrdered();
+        };
+    }
+
+    /**
+     * Generate a time-ordered UUIDv7.
+     *
+     * @return Time-ordered UUID.
+     */
+    private UUID timeOrdered() {
+        long previous;
+        long next;
+        do {
+            previous = lastTimestampAndCounter.get();
+            next = Math.max(System.currentTimeMillis() << COUNTER_BITS, previous + 1);
+        } while (!lastTimestampAndCounter.compareAndSet(previous, next));
+
+        val timestamp = next >>> COUNTER_BITS;
+        val counter = next & COUNTER_MASK;
+        val mostSigBits = (timestamp << 16) | VERSION_7 | counter;
+        val leastSigBits = (ThreadLocalRandom.current().nextLong() & VARIANT_MASK) | VARIANT_RFC_9562;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
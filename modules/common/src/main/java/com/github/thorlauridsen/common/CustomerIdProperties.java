@@ -0,0 +1,26 @@
+package com.github.thorlauridsen.common;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for generating customer ids.
+ *
+ * @param version {@link UuidVersion} used when generating new customer ids.
+ */
+@ConfigurationProperties(prefix = "customer.id")
+public record CustomerIdProperties(
+        @DefaultValue("V7") UuidVersion version
+) {
+
+    /**
+     * Supported UUID versions for customer ids.
+     * <p>
+     * {@link #V4} generates random ids which are spread evenly across the primary key index.
+     * {@link #V7} generates time-ordered ids which are appended to the end of the primary key index.
+     */
+    public enum UuidVersion {
+        V4,
+        V7
+    }
+}
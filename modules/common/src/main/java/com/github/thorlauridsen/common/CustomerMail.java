@@ -0,0 +1,23 @@
+package com.github.thorlauridsen.common;
+
+import java.util.Locale;
+import lombok.experimental.UtilityClass;
+
+/**
+ * This class contains the normalisation of customer mail addresses.
+ * Mail addresses are stored both as given and normalised, and the normalised
+ * mail address is used for uniqueness and lookups so they are case-insensitive.
+ */
+@UtilityClass
+public class CustomerMail {
+
+    /**
+     * Normalise a mail address by converting it to lower case.
+     *
+     * @param mail Mail address to normalise.
+     * @return Normalised mail address, or null if the given mail address is null.
+     */
+    public static String normalize(String mail) {
+        return mail == null ? null : mail.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,3 +1,7 @@
-// This build.gradle.kts is empty because the model
-// subproject should be pure code without any dependencies.
+// The model subproject should be pure code without any dependencies.
 // You should be very mindful about adding dependencies here.
+// Test fixtures, such as an in-memory customer repository,
+// are shared with the tests and benchmarks of other subprojects.
+plugins {
+	`java-test-fixtures`
+}
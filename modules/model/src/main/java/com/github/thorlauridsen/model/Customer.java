@@ -5,12 +5,27 @@ import java.util.UUID;
 /**
  * Customer model class.
  * Represents a customer with an id and an email.
+ * <p>
+ * The version is incremented every time the customer is updated,
+ * so it identifies a specific revision of the customer.
  *
- * @param id   UUID of the customer.
- * @param mail Mail as string of the customer.
+ * @param id      UUID of the customer.
+ * @param mail    Mail as string of the customer.
+ * @param version Version of the customer.
  */
 public record Customer(
         UUID id,
-        String mail
+        String mail,
+        long version
 ) {
+
+    /**
+     * Constructor for a customer that has not been updated since it was created.
+     *
+     * @param id   UUID of the customer.
+     * @param mail Mail as string of the customer.
+     */
+    public Customer(UUID id, String mail) {
+        this(id, mail, 0);
+    }
 }
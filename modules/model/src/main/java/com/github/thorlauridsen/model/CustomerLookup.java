@@ -0,0 +1,17 @@
+package com.github.thorlauridsen.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Customer lookup model class.
+ * Represents the result of looking up multiple customers by id.
+ *
+ * @param customers  List of {@link Customer} that were found, in the order their ids were given.
+ * @param missingIds List of ids that were not found, in the order they were given.
+ */
+public record CustomerLookup(
+        List<Customer> customers,
+        List<UUID> missingIds
+) {
+}
@@ -0,0 +1,17 @@
+package com.github.thorlauridsen.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Customer page model class.
+ * Represents a page of customers ordered by id.
+ *
+ * @param customers  List of {@link Customer} on this page.
+ * @param nextCursor UUID of the last customer on this page if there are more customers, otherwise null.
+ */
+public record CustomerPage(
+        List<Customer> customers,
+        UUID nextCursor
+) {
+}
@@ -0,0 +1,43 @@
+package com.github.thorlauridsen.model;
+
+/**
+ * Result of saving a single customer as part of a batch.
+ * Either the saved customer or an error describing why it could not be saved is present.
+ *
+ * @param customer {@link Customer} that was saved, or null if saving failed.
+ * @param error    Description of why the customer could not be saved, or null if saving succeeded.
+ */
+public record CustomerSaveResult(
+        Customer customer,
+        String error
+) {
+
+    /**
+     * Create a successful result.
+     *
+     * @param customer {@link Customer} that was saved.
+     * @return {@link CustomerSaveResult} containing the customer.
+     */
+    public static CustomerSaveResult success(Customer customer) {
+        return new CustomerSaveResult(customer, null);
+    }
+
+    /**
+     * Create a failed result.
+     *
+     * @param error Description of why the customer could not be saved.
+     * @return {@link CustomerSaveResult} containing the error.
+     */
+    public static CustomerSaveResult failure(String error) {
+        return new CustomerSaveResult(null, error);
+    }
+
+    /**
+     * Check whether the customer was saved.
+     *
+     * @return true if the customer was saved, otherwise false.
+     */
+    public boolean isSuccess() {
+        return customer != null;
+    }
+}
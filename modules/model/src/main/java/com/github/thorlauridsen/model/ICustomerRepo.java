@@ -1,7 +1,9 @@
 package com.github.thorlauridsen.model;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Customer repository interface.
@@ -19,6 +21,16 @@ public interface ICustomerRepo {
      */
     Customer save(CustomerInput customerInput);
 
+    /**
+     * Save multiple customers in the database.
+     * Each customer is saved independently, so a customer that cannot
+     * be saved does not prevent the other customers from being saved.
+     *
+     * @param customerInputs List of input objects for creating customers.
+     * @return List of {@link CustomerSaveResult} in the same order as the given inputs.
+     */
+    List<CustomerSaveResult> saveAll(List<CustomerInput> customerInputs);
+
     /**
      * Find a customer by id.
      *
@@ -26,4 +38,63 @@ public interface ICustomerRepo {
      * @return {@link Optional} of {@link Customer}.
      */
     Optional<Customer> findById(UUID id);
+
+    /**
+     * Find all customers with the given ids.
+     * Ids that do not belong to a customer are ignored.
+     *
+     * @param ids List of UUIDs of the customers.
+     * @return List of {@link Customer} that were found, in no particular order.
+     */
+    List<Customer> findAllById(List<UUID> ids);
+
+    /**
+     * Find the version of a customer by id.
+     * This is cheaper than {@link #findById(UUID)} when only the version is needed,
+     * such as when validating an entity tag.
+     *
+     * @param id UUID of the customer.
+     * @return {@link Optional} of the version of the customer.
+     */
+    Optional<Long> findVersionById(UUID id);
+
+    /**
+     * Find a customer by mail address.
+     * Mail addresses are compared case-insensitively.
+     *
+     * @param mail Mail address of the customer.
+     * @return {@link Optional} of {@link Customer}.
+     */
+    Optional<Customer> findByMail(String mail);
+
+    /**
+     * Check whether a customer with the given mail address exists.
+     * Mail addresses are compared case-insensitively.
+     * <p>
+     * Unlike {@link #findByMail(String)}, this is answered by the primary database, even when reads are
+     * routed to read replicas, so it can be used to check for duplicates before saving a customer.
+     *
+     * @param mail Mail address of the customer.
+     * @return true if a customer with the mail address exists, otherwise false.
+     */
+    boolean existsByMail(String mail);
+
+    /**
+     * Find a page of customers ordered by id.
+     * Uses keyset pagination so the cost of finding a page does not depend on how far into the table it is.
+     *
+     * @param after UUID of the last customer on the previous page, or null to find the first page.
+     * @param limit Maximum number of customers to find.
+     * @return List of {@link Customer} ordered by id.
+     */
+    List<Customer> findPage(UUID after, int limit);
+
+    /**
+     * Perform the given action for every customer.
+     * The customers are streamed from the database one at a time,
+     * so the number of customers does not affect memory usage.
+     *
+     * @param action Action to perform for each {@link Customer}.
+     */
+    void forEach(Consumer<Customer> action);
 }
@@ -0,0 +1,209 @@
+package com.github.thorlauridsen.model;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Customer repository which keeps customers in memory.
+ * This is used by tests and benchmarks of the repository decorators and the service layer,
+ * so they can run without a database.
+ * <p>
+ * Mail addresses are compared case-insensitively as in the real repositories.
+ * The repository can be configured to fail or block, and to record the inputs of every
+ * {@link #saveAll(List)} and {@link #findAllById(List)} call, so tests can check how calls were batched.
+ */
+public class InMemoryCustomerRepo implements ICustomerRepo {
+
+    /**
+     * Error of the result of a customer whose save fails, see {@link #failSavesOf(String)}.
+     */
+    public static final String SAVE_FAILED_ERROR = "Customer violates a database constraint";
+
+    private final ConcurrentSkipListMap<UUID, Customer> customers = new ConcurrentSkipListMap<>();
+    private final Map<String, Customer> customersByMail = new ConcurrentHashMap<>();
+    private final List<List<CustomerInput>> savedBatches = new CopyOnWriteArrayList<>();
+    private final List<List<UUID>> lookedUpIds = new CopyOnWriteArrayList<>();
+    private volatile boolean recording;
+    private volatile Throwable batchFailure;
+    private volatile String failingMail;
+    private volatile boolean droppingSaveResults;
+    private volatile Runnable beforeFindById = () -> {
+    };
+
+    /**
+     * Add a customer with the given mail address.
+     *
+     * @param mail Mail address of the customer.
+     * @return Added {@link Customer}.
+     */
+    public Customer add(String mail) {
+        Customer customer = new Customer(UUID.randomUUID(), mail);
+        customers.put(customer.id(), customer);
+        customersByMail.put(normalize(mail), customer);
+        return customer;
+    }
+
+    /**
+     * Record the inputs of every following {@link #saveAll(List)} and {@link #findAllById(List)} call.
+     * Recording is off by default, so benchmarks do not accumulate the calls.
+     */
+    public void recordBatches() {
+        recording = true;
+    }
+
+    /**
+     * Get the inputs of every recorded {@link #saveAll(List)} call.
+     *
+     * @return List of the customer inputs of each call.
+     */
+    public List<List<CustomerInput>> savedBatches() {
+        return savedBatches;
+    }
+
+    /**
+     * Get the ids of every recorded {@link #findAllById(List)} call.
+     *
+     * @return List of the ids of each call.
+     */
+    public List<List<UUID>> lookedUpIds() {
+        return lookedUpIds;
+    }
+
+    /**
+     * Fail every following {@link #saveAll(List)} and {@link #findAllById(List)} call.
+     *
+     * @param failure {@link RuntimeException} or {@link Error} to throw.
+     */
+    public void failBatchesWith(Throwable failure) {
+        if (!(failure instanceof RuntimeException) && !(failure instanceof Error)) {
+            throw new IllegalArgumentException("Only unchecked exceptions can be thrown", failure);
+        }
+        this.batchFailure = failure;
+    }
+
+    /**
+     * Fail saves of customers with the given mail address.
+     * {@link #save(CustomerInput)} throws an {@link IllegalStateException} and {@link #saveAll(List)}
+     * returns a failed {@link CustomerSaveResult} with {@link #SAVE_FAILED_ERROR}.
+     *
+     * @param mail Mail address of the customers whose saves fail.
+     */
+    public void failSavesOf(String mail) {
+        this.failingMail = mail;
+    }
+
+    /**
+     * Make every following {@link #saveAll(List)} call save the customers but return no results.
+     */
+    public void dropSaveResults() {
+        this.droppingSaveResults = true;
+    }
+
+    /**
+     * Run the given action at the start of every {@link #findById(UUID)} call,
+     * for example to block lookups until a test releases them.
+     *
+     * @param action Action to run before a lookup by id.
+     */
+    public void beforeFindById(Runnable action) {
+        this.beforeFindById = action;
+    }
+
+    @Override
+    public Customer save(CustomerInput customerInput) {
+        if (customerInput.mail().equals(failingMail)) {
+            throw new IllegalStateException(SAVE_FAILED_ERROR);
+        }
+        return add(customerInput.mail());
+    }
+
+    @Override
+    public List<CustomerSaveResult> saveAll(List<CustomerInput> customerInputs) {
+        if (recording) {
+            savedBatches.add(List.copyOf(customerInputs));
+        }
+        throwBatchFailure();
+        List<CustomerSaveResult> results = customerInputs.stream()
+                .map(input -> input.mail().equals(failingMail)
+                        ? CustomerSaveResult.failure(SAVE_FAILED_ERROR)
+                        : CustomerSaveResult.success(add(input.mail())))
+                .toList();
+        return droppingSaveResults ? List.of() : results;
+    }
+
+    @Override
+    public Optional<Customer> findById(UUID id) {
+        beforeFindById.run();
+        return Optional.ofNullable(customers.get(id));
+    }
+
+    @Override
+    public List<Customer> findAllById(List<UUID> ids) {
+        if (recording) {
+            lookedUpIds.add(List.copyOf(ids));
+        }
+        throwBatchFailure();
+        return ids.stream()
+                .map(customers::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public Optional<Long> findVersionById(UUID id) {
+        return Optional.ofNullable(customers.get(id)).map(Customer::version);
+    }
+
+    @Override
+    public Optional<Customer> findByMail(String mail) {
+        return Optional.ofNullable(customersByMail.get(normalize(mail)));
+    }
+
+    @Override
+    public boolean existsByMail(String mail) {
+        return customersByMail.containsKey(normalize(mail));
+    }
+
+    @Override
+    public List<Customer> findPage(UUID after, int limit) {
+        ConcurrentNavigableMap<UUID, Customer> tail = after == null ? customers : customers.tailMap(after, false);
+        return tail.values().stream().limit(limit).toList();
+    }
+
+    @Override
+    public void forEach(Consumer<Customer> action) {
+        customers.values().forEach(action);
+    }
+
+    /**
+     * Throw the configured failure of batch calls, if any.
+     */
+    private void throwBatchFailure() {
+        Throwable failure = batchFailure;
+        if (failure instanceof RuntimeException e) {
+            throw e;
+        }
+        if (failure instanceof Error e) {
+            throw e;
+        }
+    }
+
+    /**
+     * Normalise a mail address for case-insensitive comparison.
+     *
+     * @param mail Mail address to normalise.
+     * @return Lower case mail address.
+     */
+    private static String normalize(String mail) {
+        return mail.toLowerCase(Locale.ROOT);
+    }
+}
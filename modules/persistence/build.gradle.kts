@@ -8,8 +8,15 @@ dependencies {
     // The persistence subproject needs access to the model subproject
     implementation(projects.model)
 
+    // Customer ids and mail normalisation are shared with the reactive-api subproject
+    implementation(projects.common)
+
     // Spring Boot dependencies
     implementation(local.springboot.starter.jpa)
+
+    // PostgreSQL driver API for bulk inserts with COPY.
+    // The driver itself is provided at runtime by the application.
+    compileOnly(local.postgres)
 }
 
 // Disabling bootJar and bootRun is necessary for a subproject/module
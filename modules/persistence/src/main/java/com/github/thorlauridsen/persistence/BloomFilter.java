@@ -0,0 +1,151 @@
+package com.github.thorlauridsen.persistence;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import lombok.val;
+
+/**
+ * Thread-safe Bloom filter of strings.
+ * <p>
+ * A Bloom filter answers whether a value might have been added or has definitely not been added,
+ * using a fixed number of bits regardless of the length of the values. The number of bits and hash
+ * functions are derived from the expected number of insertions and the desired false positive rate.
+ * Adding more values than expected does not fail, but increases the false positive rate.
+ * <p>
+ * Each value is hashed once into two 64-bit hashes which are combined to derive
+ * the positions of all hash functions, so no additional hashing is done per function.
+ */
+public class BloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final double LN2_SQUARED = Math.log(2) * Math.log(2);
+
+    private final AtomicLongArray words;
+    private final LongAdder insertions = new LongAdder();
+
+    @Getter
+    private final long bitSize;
+
+    @Getter
+    private final int hashFunctions;
+
+    /**
+     * Constructor for a Bloom filter.
+     *
+     * @param expectedInsertions Expected number of distinct values added to the filter.
+     * @param falsePositiveRate  Desired false positive rate when the expected number of values have been added.
+     * @throws IllegalArgumentException if the expected insertions are not positive
+     *                                  or the false positive rate is not between 0 and 1.
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive: " + expectedInsertions);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+
+        val bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / LN2_SQUARED);
+        this.words = new AtomicLongArray(Math.toIntExact((bits + 63) / 64));
+        this.bitSize = words.length() * 64L;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Add a value to the filter.
+     *
+     * @param value Value to add.
+     */
+    public void put(String value) {
+        val hash1 = hash(value);
+        val hash2 = mix(hash1 ^ FNV_OFFSET_BASIS) | 1;
+
+        var changed = false;
+        for (int i = 0; i < hashFunctions; i++) {
+            val bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+            val mask = 1L << bit;
+            long previous = words.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+            changed |= (previous & mask) == 0;
+        }
+        if (changed) {
+            insertions.increment();
+        }
+    }
+
+    /**
+     * Check whether a value might have been added to the filter.
+     *
+     * @param value Value to check.
+     * @return False if the value has definitely not been added, true if it might have been added.
+     */
+    public boolean mightContain(String value) {
+        val hash1 = hash(value);
+        val hash2 = mix(hash1 ^ FNV_OFFSET_BASIS) | 1;
+
+        for (int i = 0; i < hashFunctions; i++) {
+            val bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the approximate number of distinct values added to the filter.
+     * Values whose bits were all set already are not counted.
+     *
+     * @return Approximate number of distinct values added.
+     */
+    public long approximateInsertions() {
+        return insertions.sum();
+    }
+
+    /**
+     * Get the expected false positive rate given the number of values added so far.
+     *
+     * @return Expected false positive rate between 0 and 1.
+     */
+    public double expectedFalsePositiveRate() {
+        val filled = 1 - Math.exp(-(double) hashFunctions * approximateInsertions() / bitSize);
+        return Math.pow(filled, hashFunctions);
+    }
+
+    /**
+     * Get the size of the bit array of the filter in bytes.
+     *
+     * @return Size of the filter in bytes.
+     */
+    public long sizeInBytes() {
+        return bitSize / 8;
+    }
+
+    /**
+     * Hash a string with 64-bit FNV-1a over its characters followed by a finalising mix.
+     *
+     * @param value String to hash.
+     * @return 64-bit hash.
+     */
+    private static long hash(String value) {
+        var hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Spread the bits of a hash using the SplitMix64 finaliser.
+     *
+     * @param hash Hash to mix.
+     * @return Mixed hash.
+     */
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
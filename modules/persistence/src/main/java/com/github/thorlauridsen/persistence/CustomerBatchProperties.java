@@ -0,0 +1,17 @@
+package com.github.thorlauridsen.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for saving customers in batches.
+ *
+ * @param size        Number of customers sent to the database in a single batch and transaction.
+ * @param copyEnabled Whether customers are inserted with COPY when the database is PostgreSQL.
+ */
+@ConfigurationProperties(prefix = "customer.batch")
+public record CustomerBatchProperties(
+        @DefaultValue("500") int size,
+        @DefaultValue("true") boolean copyEnabled
+) {
+}
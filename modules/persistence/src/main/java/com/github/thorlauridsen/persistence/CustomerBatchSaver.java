@@ -0,0 +1,96 @@
+package com.github.thorlauridsen.persistence;
+
+import com.github.thorlauridsen.common.CustomerIdGenerator;
+import com.github.thorlauridsen.model.Customer;
+import com.github.thorlauridsen.model.CustomerInput;
+import com.github.thorlauridsen.model.CustomerSaveResult;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Saver of customers in batches, shared by the customer repository implementations.
+ * <p>
+ * The customers are inserted using the {@link CustomerBulkInserter} without going through
+ * the JPA persistence context. Each chunk of {@link CustomerBatchProperties#size()}
+ * customers is inserted in its own transaction. If a chunk fails, the customers in
+ * that chunk are retried one at a time so a single invalid customer does not
+ * prevent the rest of the chunk from being saved.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerBatchSaver {
+
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerBulkInserter bulkInserter;
+    private final CustomerBatchProperties batchProperties;
+    private final CustomerIdGenerator idGenerator;
+    private final ICustomerMailFilter mailFilter;
+
+    /**
+     * Save multiple customers.
+     * The mail addresses are added to the {@link ICustomerMailFilter} before the customers are inserted.
+     *
+     * @param customerInputs List of input objects for creating customers.
+     * @return List of {@link CustomerSaveResult} in the same order as the given inputs.
+     */
+    public List<CustomerSaveResult> saveAll(List<CustomerInput> customerInputs) {
+        log.info("Saving batch of {} customers", customerInputs.size());
+
+        val results = new ArrayList<CustomerSaveResult>(customerInputs.size());
+        val chunkSize = Math.max(1, batchProperties.size());
+        for (int from = 0; from < customerInputs.size(); from += chunkSize) {
+            val to = Math.min(from + chunkSize, customerInputs.size());
+            results.addAll(saveChunk(customerInputs.subList(from, to)));
+        }
+
+        val failed = results.stream().filter(result -> !result.isSuccess()).count();
+        log.info("Saved batch of {} customers with {} failures", customerInputs.size(), failed);
+        return results;
+    }
+
+    /**
+     * Insert a chunk of customers in a single transaction using the {@link CustomerBulkInserter}.
+     * Falls back to inserting the customers one at a time if the batch fails.
+     *
+     * @param chunk List of input objects for creating customers.
+     * @return List of {@link CustomerSaveResult} in the same order as the given chunk.
+     */
+    private List<CustomerSaveResult> saveChunk(List<CustomerInput> chunk) {
+        val customers = chunk.stream()
+                .map(input -> new Customer(idGenerator.generate(), input.mail()))
+                .toList();
+        customers.forEach(customer -> mailFilter.put(customer.mail()));
+        try {
+            transactionTemplate.executeWithoutResult(status -> bulkInserter.insert(customers));
+            return customers.stream().map(CustomerSaveResult::success).toList();
+        } catch (DataAccessException e) {
+            log.warn("Batch insert of {} customers failed, retrying one at a time", customers.size());
+            return customers.stream().map(this::saveSingle).toList();
+        }
+    }
+
+    /**
+     * Insert a single customer in its own transaction.
+     *
+     * @param customer {@link Customer} to insert.
+     * @return {@link CustomerSaveResult} describing whether the customer was saved.
+     */
+    private CustomerSaveResult saveSingle(Customer customer) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> bulkInserter.insert(List.of(customer)));
+            return CustomerSaveResult.success(customer);
+        } catch (DataIntegrityViolationException e) {
+            return CustomerSaveResult.failure("Customer violates a database constraint");
+        } catch (DataAccessException e) {
+            return CustomerSaveResult.failure("Customer could not be saved");
+        }
+    }
+}
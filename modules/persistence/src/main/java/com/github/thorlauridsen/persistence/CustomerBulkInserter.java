@@ -0,0 +1,126 @@
+package com.github.thorlauridsen.persistence;
+
+import com.github.thorlauridsen.common.CustomerMail;
+import com.github.thorlauridsen.model.Customer;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Bulk inserter for customers.
+ * <p>
+ * When the database is PostgreSQL and {@link CustomerBatchProperties#copyEnabled()} is true,
+ * the customers are streamed into the table with a single COPY command.
+ * For any other database the customers are inserted using JDBC statement batching.
+ * <p>
+ * The insert participates in the current transaction, so the caller decides
+ * whether the customers are committed together.
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerBulkInserter {
+
+    private static final boolean POSTGRES_DRIVER_PRESENT = ClassUtils.isPresent(
+            "org.postgresql.PGConnection",
+            CustomerBulkInserter.class.getClassLoader()
+    );
+    private static final String INSERT_SQL = "INSERT INTO customer (id, mail, mail_normalized) VALUES (?, ?, ?)";
+    private static final String COPY_SQL = "COPY customer (id, mail, mail_normalized) FROM STDIN WITH (FORMAT csv)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CustomerBatchProperties batchProperties;
+
+    /**
+     * Insert the given customers.
+     *
+     * @param customers List of {@link Customer} to insert.
+     */
+    public void insert(List<Customer> customers) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (batchProperties.copyEnabled() && isPostgres(connection)) {
+                copy(connection, customers);
+            } else {
+                batch(connection, customers);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Check whether the connection is a PostgreSQL connection supporting COPY.
+     *
+     * @param connection {@link Connection} to check.
+     * @return true if the connection is a PostgreSQL connection.
+     */
+    private boolean isPostgres(Connection connection) throws SQLException {
+        return POSTGRES_DRIVER_PRESENT && connection.isWrapperFor(PGConnection.class);
+    }
+
+    /**
+     * Insert the customers with a PostgreSQL COPY command using CSV format.
+     *
+     * @param connection {@link Connection} to a PostgreSQL database.
+     * @param customers  List of {@link Customer} to insert.
+     */
+    private void copy(Connection connection, List<Customer> customers) throws SQLException {
+        val csv = new StringBuilder(customers.size() * 64);
+        for (val customer : customers) {
+            csv.append(customer.id()).append(',');
+            appendCsvValue(csv, customer.mail());
+            csv.append(',');
+            appendCsvValue(csv, CustomerMail.normalize(customer.mail()));
+            csv.append('\n');
+        }
+
+        try {
+            connection.unwrap(PGConnection.class)
+                    .getCopyAPI()
+                    .copyIn(COPY_SQL, new StringReader(csv.toString()));
+        } catch (IOException e) {
+            throw new SQLException("Could not copy customers", e);
+        }
+    }
+
+    /**
+     * Insert the customers using a single JDBC batch.
+     *
+     * @param connection {@link Connection} to the database.
+     * @param customers  List of {@link Customer} to insert.
+     */
+    private void batch(Connection connection, List<Customer> customers) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            for (val customer : customers) {
+                statement.setObject(1, customer.id());
+                statement.setString(2, customer.mail());
+                statement.setString(3, CustomerMail.normalize(customer.mail()));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Append a value to a CSV line.
+     * The value is quoted so separators and quotes in the value are preserved.
+     * A null value is written unquoted, which COPY interprets as NULL.
+     *
+     * @param csv   {@link StringBuilder} containing the CSV.
+     * @param value Value to append.
+     */
+    private void appendCsvValue(StringBuilder csv, String value) {
+        if (value == null) {
+            return;
+        }
+        csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
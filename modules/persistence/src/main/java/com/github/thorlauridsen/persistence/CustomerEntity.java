@@ -1,37 +1,83 @@
 package com.github.thorlauridsen.persistence;
 
+import com.github.thorlauridsen.common.CustomerIdGenerator;
+import com.github.thorlauridsen.common.CustomerMail;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import java.util.UUID;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
 
 /**
  * Customer entity class.
  * Represents a customer with an id and an email.
+ * <p>
+ * The id is assigned by the application using the {@link CustomerIdGenerator}.
+ * The entity implements {@link Persistable} so Spring Data knows that an entity
+ * with an assigned id is new and should be inserted without selecting it first.
+ * <p>
+ * The {@link Version} column is incremented by Hibernate on every update
+ * and is used as the entity tag of the customer.
  */
 @Entity
 @Getter
 @NoArgsConstructor
 @Table(name = "customer")
-public class CustomerEntity {
+public class CustomerEntity implements Persistable<UUID> {
 
     @Id
-    @GeneratedValue
     private UUID id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String mail;
 
+    @Column(name = "mail_normalized", nullable = false, unique = true)
+    private String normalizedMail;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean persisted;
+
     /**
      * Constructor for customer.
      *
+     * @param id   UUID of the customer.
      * @param mail Mail as string of the customer.
      */
-    public CustomerEntity(String mail) {
+    public CustomerEntity(UUID id, String mail) {
+        this.id = id;
         this.mail = mail;
+        this.normalizedMail = CustomerMail.normalize(mail);
+    }
+
+    /**
+     * Check whether the entity has not been persisted yet.
+     *
+     * @return true if the entity has not been loaded from or saved to the database.
+     */
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    /**
+     * Mark the entity as persisted after it has been loaded or saved.
+     */
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
     }
 }
@@ -0,0 +1,15 @@
+package com.github.thorlauridsen.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for exporting customers.
+ *
+ * @param fetchSize Number of customers fetched from the database cursor per round trip.
+ */
+@ConfigurationProperties(prefix = "customer.export")
+public record CustomerExportProperties(
+        @DefaultValue("1000") int fetchSize
+) {
+}
@@ -1,7 +1,13 @@
 package com.github.thorlauridsen.persistence;
 
+import com.github.thorlauridsen.model.Customer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 /**
  * Customer repository interface.
@@ -9,4 +15,84 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * It extends the {@link JpaRepository} interface which allows us to easily define CRUD methods.
  */
 public interface CustomerJpaRepo extends JpaRepository<CustomerEntity, UUID> {
+
+    /**
+     * Find the first customers ordered by id.
+     * The customers are selected directly into {@link Customer} models
+     * so no entities are loaded into the persistence context.
+     *
+     * @param limit {@link Limit} for the maximum number of customers.
+     * @return List of {@link Customer} ordered by id.
+     */
+    @Query("""
+            SELECT new com.github.thorlauridsen.model.Customer(c.id, c.mail, c.version)
+            FROM CustomerEntity c
+            ORDER BY c.id
+            """)
+    List<Customer> findFirstPage(Limit limit);
+
+    /**
+     * Find the customers with an id greater than the given id ordered by id.
+     * The customers are selected directly into {@link Customer} models
+     * so no entities are loaded into the persistence context.
+     *
+     * @param after UUID of the last customer on the previous page.
+     * @param limit {@link Limit} for the maximum number of customers.
+     * @return List of {@link Customer} ordered by id.
+     */
+    @Query("""
+            SELECT new com.github.thorlauridsen.model.Customer(c.id, c.mail, c.version)
+            FROM CustomerEntity c
+            WHERE c.id > :after
+            ORDER BY c.id
+            """)
+    List<Customer> findPageAfter(UUID after, Limit limit);
+
+    /**
+     * Find the customers with the given ids.
+     * The customers are selected directly into {@link Customer} models
+     * so no entities are loaded into the persistence context.
+     *
+     * @param ids Collection of UUIDs of the customers.
+     * @return List of {@link Customer} in no particular order.
+     */
+    @Query("""
+            SELECT new com.github.thorlauridsen.model.Customer(c.id, c.mail, c.version)
+            FROM CustomerEntity c
+            WHERE c.id IN :ids
+            """)
+    List<Customer> findAllByIdIn(Collection<UUID> ids);
+
+    /**
+     * Find a customer by normalised mail address.
+     * This uses the unique index on the normalised mail column.
+     *
+     * @param normalizedMail Normalised mail address of the customer.
+     * @return {@link Optional} of {@link Customer}.
+     */
+    @Query("""
+            SELECT new com.github.thorlauridsen.model.Customer(c.id, c.mail, c.version)
+            FROM CustomerEntity c
+            WHERE c.normalizedMail = :normalizedMail
+            """)
+    Optional<Customer> findByNormalizedMail(String normalizedMail);
+
+    /**
+     * Check whether a customer with the given normalised mail address exists.
+     * This uses the unique index on the normalised mail column.
+     *
+     * @param normalizedMail Normalised mail address of the customer.
+     * @return true if a customer with the mail address exists, otherwise false.
+     */
+    boolean existsByNormalizedMail(String normalizedMail);
+
+    /**
+     * Find the version of a customer by id.
+     * Only the version column is selected, so the customer is not loaded into the persistence context.
+     *
+     * @param id UUID of the customer.
+     * @return {@link Optional} of the version of the customer.
+     */
+    @Query("SELECT c.version FROM CustomerEntity c WHERE c.id = :id")
+    Optional<Long> findVersionById(UUID id);
 }
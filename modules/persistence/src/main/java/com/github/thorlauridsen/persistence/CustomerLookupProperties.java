@@ -0,0 +1,15 @@
+package com.github.thorlauridsen.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for looking up multiple customers by id.
+ *
+ * @param chunkSize Maximum number of ids sent to the database in a single query.
+ */
+@ConfigurationProperties(prefix = "customer.lookup")
+public record CustomerLookupProperties(
+        @DefaultValue("1000") int chunkSize
+) {
+}
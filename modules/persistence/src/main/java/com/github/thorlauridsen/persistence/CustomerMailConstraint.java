@@ -0,0 +1,39 @@
+package com.github.thorlauridsen.persistence;
+
+import java.util.Locale;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * The unique index on the normalised mail address of customers.
+ * <p>
+ * The index is what guarantees that no two customers share a mail address, also when the same
+ * address is saved concurrently. A violation of it is recognised by the index name in the message
+ * of the exception or one of its causes, since the JPA and JDBC repositories and the databases
+ * report the violation through different exception types.
+ */
+public final class CustomerMailConstraint {
+
+    /**
+     * Name of the unique index on customer.mail_normalized.
+     */
+    public static final String INDEX_NAME = "ux_customer_mail_normalized";
+
+    private CustomerMailConstraint() {
+    }
+
+    /**
+     * Check whether an exception was caused by inserting a customer with a mail address which already exists.
+     *
+     * @param exception {@link DataIntegrityViolationException} thrown while inserting a customer.
+     * @return true if the unique index on the normalised mail address was violated.
+     */
+    public static boolean isViolatedBy(DataIntegrityViolationException exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.toLowerCase(Locale.ROOT).contains(INDEX_NAME)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
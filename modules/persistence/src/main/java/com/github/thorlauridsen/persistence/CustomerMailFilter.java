@@ -0,0 +1,147 @@
+package com.github.thorlauridsen.persistence;
+
+import com.github.thorlauridsen.common.CustomerMail;
+import java.sql.ResultSet;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Customer mail filter backed by a {@link BloomFilter} of normalised mail addresses.
+ * <p>
+ * The filter is sized by {@link CustomerMailFilterProperties#expectedInsertions()} and
+ * {@link CustomerMailFilterProperties#falsePositiveRate()}. Once the application is ready, the mail
+ * addresses of all existing customers are loaded into the filter on a background thread.
+ * Until loading has finished every mail address might exist, so lookups fall through to the database.
+ * <p>
+ * The filter only knows about customers that existed at startup and customers inserted by this
+ * application instance. With several instances sharing a database, a customer created by another instance
+ * would be reported as unknown, so the filter is only created if customer.mail-filter.enabled is set to true
+ * and must only be enabled when a single instance writes to the database.
+ */
+@Component
+@ConditionalOnProperty(prefix = "customer.mail-filter", name = "enabled", havingValue = "true")
+@Slf4j
+public class CustomerMailFilter implements ICustomerMailFilter {
+
+    private static final String SELECT_ALL_MAILS_SQL = "SELECT mail_normalized FROM customer";
+
+    private final BloomFilter filter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerExportProperties exportProperties;
+    private final CustomerMailFilterProperties properties;
+    private volatile boolean ready;
+
+    /**
+     * Constructor for customer mail filter.
+     *
+     * @param jdbcTemplate        {@link JdbcTemplate} for loading the existing mail addresses.
+     * @param transactionTemplate {@link TransactionTemplate} for loading in a read-only transaction.
+     * @param exportProperties    {@link CustomerExportProperties} with the fetch size used while loading.
+     * @param properties          {@link CustomerMailFilterProperties} for sizing the filter.
+     */
+    public CustomerMailFilter(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            CustomerExportProperties exportProperties,
+            CustomerMailFilterProperties properties
+    ) {
+        this.filter = new BloomFilter(properties.expectedInsertions(), properties.falsePositiveRate());
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.exportProperties = exportProperties;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void put(String mail) {
+        if (mail != null) {
+            filter.put(CustomerMail.normalize(mail));
+        }
+    }
+
+    @Override
+    public boolean mightContain(String mail) {
+        if (mail == null) {
+            return false;
+        }
+        return !ready || filter.mightContain(CustomerMail.normalize(mail));
+    }
+
+    @Override
+    public long sizeInBytes() {
+        return filter.sizeInBytes();
+    }
+
+    @Override
+    public double expectedFalsePositiveRate() {
+        return filter.expectedFalsePositiveRate();
+    }
+
+    /**
+     * Start loading the mail addresses of all existing customers once the application is ready.
+     * Loading happens on a background thread so it does not delay startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void startLoading() {
+        Thread.ofVirtual().name("customer-mail-filter-loader").start(this::load);
+    }
+
+    /**
+     * Load the mail addresses of all existing customers into the filter.
+     * The mail addresses are read with a forward-only cursor inside a read-only transaction.
+     * Customers inserted while loading are added to the filter by the repository,
+     * so no customers are missed.
+     */
+    private void load() {
+        log.info("Loading customer mail filter with {} bits and {} hash functions",
+                filter.getBitSize(),
+                filter.getHashFunctions());
+        val start = System.nanoTime();
+        try {
+            val readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+            readOnlyTransaction.setReadOnly(true);
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(
+                    connection -> {
+                        val statement = connection.prepareStatement(
+                                SELECT_ALL_MAILS_SQL,
+                                ResultSet.TYPE_FORWARD_ONLY,
+                                ResultSet.CONCUR_READ_ONLY
+                        );
+                        statement.setFetchSize(exportProperties.fetchSize());
+                        return statement;
+                    },
+                    (RowCallbackHandler) resultSet -> filter.put(resultSet.getString(1))
+            ));
+        } catch (DataAccessException e) {
+            log.error("Could not load customer mail filter, all mail lookups will use the database", e);
+            return;
+        }
+        ready = true;
+
+        val insertions = filter.approximateInsertions();
+        log.info("Loaded {} mail addresses into customer mail filter of {} KiB in {} ms",
+                insertions,
+                filter.sizeInBytes() / 1024,
+                (System.nanoTime() - start) / 1_000_000);
+        if (insertions > properties.expectedInsertions()) {
+            log.warn("Customer mail filter holds more than the expected {} mail addresses, "
+                            + "expected false positive rate is now {}",
+                    properties.expectedInsertions(),
+                    filter.expectedFalsePositiveRate());
+        }
+    }
+}
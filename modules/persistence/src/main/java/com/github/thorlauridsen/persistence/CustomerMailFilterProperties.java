@@ -0,0 +1,20 @@
+package com.github.thorlauridsen.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the customer mail filter.
+ *
+ * @param enabled            Whether mail addresses are checked against an in-memory Bloom filter before the database.
+ *                           Only safe when a single application instance writes to the database.
+ * @param expectedInsertions Expected number of customers, used to size the filter.
+ * @param falsePositiveRate  Desired rate of unknown mail addresses which are reported as possibly existing.
+ */
+@ConfigurationProperties(prefix = "customer.mail-filter")
+public record CustomerMailFilterProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10000000") long expectedInsertions,
+        @DefaultValue("0.01") double falsePositiveRate
+) {
+}
@@ -0,0 +1,102 @@
+package com.github.thorlauridsen.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Configuration of read/write splitting between the primary database and its read replicas.
+ * <p>
+ * This configuration is only active if at least one replica is configured in customer.replica.datasources.
+ * The {@link Primary} {@link DataSource} is then a {@link LazyConnectionDataSourceProxy}, which only fetches
+ * a physical connection when the first statement is executed. By then the transaction has marked the connection
+ * as read-only or not, so connections in read-only transactions are taken from the {@link ReplicaRoutingDataSource}
+ * and all other connections are taken from the primary.
+ * <p>
+ * Replicas may lag behind the primary, so a customer read straight after it was saved might not be found yet.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "customer.replica", name = "datasources[0].url")
+@Slf4j
+public class CustomerReplicaConfig {
+
+    /**
+     * Create the connection pool of the primary database.
+     * The pool is configured with the regular spring.datasource.hikari properties.
+     *
+     * @param url      JDBC url of the primary.
+     * @param username Username for connecting to the primary.
+     * @param password Password for connecting to the primary.
+     * @return {@link HikariDataSource} connection pool of the primary.
+     */
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username:}") String username,
+            @Value("${spring.datasource.password:}") String password
+    ) {
+        val dataSource = new HikariDataSource();
+        dataSource.setPoolName("primary");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        return dataSource;
+    }
+
+    /**
+     * Create the connection pools of the replicas and balance reads across them.
+     * The replica pools are created lazily, so a replica which is down at startup does not prevent startup.
+     * The pools use short connection and validation timeouts, so a replica which is down delays a read
+     * or a health check by at most the connection timeout before the primary is used instead.
+     *
+     * @param primaryDataSource {@link HikariDataSource} of the primary used when no replica is healthy.
+     * @param properties        {@link CustomerReplicaProperties} with the replicas to use.
+     * @return {@link ReplicaRoutingDataSource} balancing connections across the replicas.
+     */
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaDataSource(
+            HikariDataSource primaryDataSource,
+            CustomerReplicaProperties properties
+    ) {
+        val replicas = new ArrayList<HikariDataSource>(properties.datasources().size());
+        for (val replica : properties.datasources()) {
+            val dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + replicas.size());
+            dataSource.setJdbcUrl(replica.url());
+            dataSource.setUsername(replica.username());
+            dataSource.setPassword(replica.password());
+            dataSource.setMaximumPoolSize(replica.maximumPoolSize());
+            dataSource.setConnectionTimeout(properties.connectionTimeout().toMillis());
+            dataSource.setValidationTimeout(properties.validationTimeout().toMillis());
+            dataSource.setReadOnly(true);
+            replicas.add(dataSource);
+        }
+        log.info("Routing read-only transactions to {} replicas", replicas.size());
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties);
+    }
+
+    /**
+     * Create the datasource used by the application, routing read-only connections to the replicas.
+     *
+     * @param primaryDataSource {@link HikariDataSource} of the primary.
+     * @param replicaDataSource {@link ReplicaRoutingDataSource} of the replicas.
+     * @return {@link LazyConnectionDataSourceProxy} routing between the primary and the replicas.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        val dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.thorlauridsen.persistence;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for read replicas of the customer database.
+ * The primary database is configured with the regular spring.datasource properties.
+ *
+ * @param datasources         List of {@link Replica} datasources. Reads are only routed to replicas if at least one is configured.
+ * @param healthCheckInterval Interval between health checks of the replicas.
+ * @param maxLag              Maximum replication lag before a replica is no longer used.
+ * @param lagQuery            Query returning the replication lag of a replica in seconds, or empty to skip lag checks.
+ * @param connectionTimeout   How long to wait for a connection to a replica before falling back to the primary.
+ * @param validationTimeout   How long to wait for a replica connection to be validated.
+ */
+@ConfigurationProperties(prefix = "customer.replica")
+public record CustomerReplicaProperties(
+        @DefaultValue List<Replica> datasources,
+        @DefaultValue("5s") Duration healthCheckInterval,
+        @DefaultValue("10s") Duration maxLag,
+        @DefaultValue("") String lagQuery,
+        @DefaultValue("1s") Duration connectionTimeout,
+        @DefaultValue("500ms") Duration validationTimeout
+) {
+
+    /**
+     * Connection settings of a single read replica.
+     *
+     * @param url             JDBC url of the replica.
+     * @param username        Username for connecting to the replica.
+     * @param password        Password for connecting to the replica.
+     * @param maximumPoolSize Maximum number of connections to the replica.
+     */
+    public record Replica(
+            String url,
+            String username,
+            String password,
+            @DefaultValue("10") int maximumPoolSize
+    ) {
+    }
+}
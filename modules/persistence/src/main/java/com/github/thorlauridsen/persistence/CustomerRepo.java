@@ -1,14 +1,22 @@
 package com.github.thorlauridsen.persistence;
 
+import com.github.thorlauridsen.common.CustomerIdGenerator;
+import com.github.thorlauridsen.common.CustomerMail;
 import com.github.thorlauridsen.model.Customer;
 import com.github.thorlauridsen.model.CustomerInput;
+import com.github.thorlauridsen.model.CustomerSaveResult;
 import com.github.thorlauridsen.model.ICustomerRepo;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Customer repository facade class.
@@ -17,6 +25,9 @@ import org.springframework.stereotype.Repository;
  * A service class can use this facade to easily interact with the
  * repository without needing to know about the database entity {@link CustomerEntity}.
  * <p>
+ * Lookups run in read-only transactions, so they are served by a read replica
+ * when replicas are configured with {@link CustomerReplicaProperties}.
+ * <p>
  * It is annotated with {@link Repository} to allow Spring to automatically
  * detect it as a bean and inject it where needed.
  */
@@ -26,10 +37,16 @@ import org.springframework.stereotype.Repository;
 public class CustomerRepo implements ICustomerRepo {
 
     private final CustomerJpaRepo jpaRepo;
+    private final CustomerBatchSaver batchSaver;
+    private final CustomerStreamer streamer;
+    private final CustomerIdGenerator idGenerator;
+    private final ICustomerMailFilter mailFilter;
+    private final CustomerLookupProperties lookupProperties;
 
     /**
      * Save a customer.
      * This will create a new {@link CustomerEntity} and save it to the database.
+     * The mail address is added to the {@link ICustomerMailFilter} before the customer is inserted.
      *
      * @param customerInput Input object for creating a customer.
      * @return {@link Customer} model class.
@@ -38,16 +55,30 @@ public class CustomerRepo implements ICustomerRepo {
     public Customer save(CustomerInput customerInput) {
         log.info("Saving customer with mail: {}", customerInput.mail());
 
-        val customer = new CustomerEntity(customerInput.mail());
+        val customer = new CustomerEntity(idGenerator.generate(), customerInput.mail());
+        mailFilter.put(customer.getMail());
         val createdCustomer = jpaRepo.save(customer);
         log.info("Customer saved with id: {}", createdCustomer.getId());
 
         return new Customer(
                 createdCustomer.getId(),
-                createdCustomer.getMail()
+                createdCustomer.getMail(),
+                createdCustomer.getVersion()
         );
     }
 
+    /**
+     * Save multiple customers.
+     * The customers are inserted in chunks by the {@link CustomerBatchSaver}.
+     *
+     * @param customerInputs List of input objects for creating customers.
+     * @return List of {@link CustomerSaveResult} in the same order as the given inputs.
+     */
+    @Override
+    public List<CustomerSaveResult> saveAll(List<CustomerInput> customerInputs) {
+        return batchSaver.saveAll(customerInputs);
+    }
+
     /**
      * Find a customer by id.
      * This method will convert the {@link CustomerEntity} to a {@link Customer} model.
@@ -56,6 +87,7 @@ public class CustomerRepo implements ICustomerRepo {
      * @return {@link Optional} of {@link Customer}.
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<Customer> findById(UUID id) {
         log.info("Finding customer with id: {}", id);
         val customer = jpaRepo.findById(id);
@@ -68,7 +100,115 @@ public class CustomerRepo implements ICustomerRepo {
 
         return customer.map(customerEntity -> new Customer(
                 customerEntity.getId(),
-                customerEntity.getMail()
+                customerEntity.getMail(),
+                customerEntity.getVersion()
         ));
     }
+
+    /**
+     * Find all customers with the given ids.
+     * The ids are looked up with one IN query per chunk of {@link CustomerLookupProperties#chunkSize()} ids,
+     * selecting directly into {@link Customer} models without loading any entities.
+     *
+     * @param ids List of UUIDs of the customers.
+     * @return List of {@link Customer} that were found, in no particular order.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Customer> findAllById(List<UUID> ids) {
+        log.info("Finding {} customers by id", ids.size());
+
+        val customers = new ArrayList<Customer>(ids.size());
+        val chunkSize = Math.max(1, lookupProperties.chunkSize());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            val to = Math.min(from + chunkSize, ids.size());
+            customers.addAll(jpaRepo.findAllByIdIn(ids.subList(from, to)));
+        }
+
+        log.info("Found {} of {} customers by id", customers.size(), ids.size());
+        return customers;
+    }
+
+    /**
+     * Find the version of a customer by id.
+     * Only the version column is selected, so no entity is loaded.
+     *
+     * @param id UUID of the customer.
+     * @return {@link Optional} of the version of the customer.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersionById(UUID id) {
+        log.info("Finding version of customer with id: {}", id);
+        return jpaRepo.findVersionById(id);
+    }
+
+    /**
+     * Find a customer by mail address.
+     * The mail address is normalised and looked up using the unique index on the normalised mail column.
+     * If the {@link ICustomerMailFilter} reports that the mail address definitely does not exist,
+     * the database is not queried.
+     *
+     * @param mail Mail address of the customer.
+     * @return {@link Optional} of {@link Customer}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Customer> findByMail(String mail) {
+        log.info("Finding customer with mail: {}", mail);
+        if (!mailFilter.mightContain(mail)) {
+            log.info("Customer not found with mail: {}", mail);
+            return Optional.empty();
+        }
+        return jpaRepo.findByNormalizedMail(CustomerMail.normalize(mail));
+    }
+
+    /**
+     * Check whether a customer with the given mail address exists.
+     * The check runs in a read-write transaction, so it is answered by the primary database
+     * and sees customers which have not reached the read replicas yet.
+     * If the {@link ICustomerMailFilter} reports that the mail address definitely does not exist,
+     * the database is not queried.
+     *
+     * @param mail Mail address of the customer.
+     * @return true if a customer with the mail address exists, otherwise false.
+     */
+    @Override
+    @Transactional
+    public boolean existsByMail(String mail) {
+        if (!mailFilter.mightContain(mail)) {
+            return false;
+        }
+        return jpaRepo.existsByNormalizedMail(CustomerMail.normalize(mail));
+    }
+
+    /**
+     * Find a page of customers ordered by id.
+     * This uses keyset pagination on the primary key instead of an offset,
+     * so the database can seek directly to the first customer of the page.
+     *
+     * @param after UUID of the last customer on the previous page, or null to find the first page.
+     * @param limit Maximum number of customers to find.
+     * @return List of {@link Customer} ordered by id.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Customer> findPage(UUID after, int limit) {
+        log.info("Finding {} customers after id: {}", limit, after);
+        if (after == null) {
+            return jpaRepo.findFirstPage(Limit.of(limit));
+        }
+        return jpaRepo.findPageAfter(after, Limit.of(limit));
+    }
+
+    /**
+     * Perform the given action for every customer.
+     * The customers are streamed by the {@link CustomerStreamer} without loading any entities.
+     *
+     * @param action Action to perform for each {@link Customer}.
+     */
+    @Override
+    public void forEach(Consumer<Customer> action) {
+        streamer.forEach(action);
+    }
 }
@@ -0,0 +1,26 @@
+package com.github.thorlauridsen.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for selecting the customer repository implementation.
+ *
+ * @param implementation {@link Implementation} used by the application.
+ */
+@ConfigurationProperties(prefix = "customer.repo")
+public record CustomerRepoProperties(
+        @DefaultValue("JPA") Implementation implementation
+) {
+
+    /**
+     * Supported customer repository implementations.
+     * <p>
+     * {@link #JPA} uses the {@link CustomerRepo} backed by Hibernate.
+     * {@link #JDBC} uses the {@link JdbcCustomerRepo} which maps rows directly with plain JDBC.
+     */
+    public enum Implementation {
+        JPA,
+        JDBC
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.thorlauridsen.persistence;
+
+import com.github.thorlauridsen.model.Customer;
+import java.sql.ResultSet;
+import java.util.UUID;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streamer of all customers, shared by the customer repository implementations.
+ * <p>
+ * The customers are read with a forward-only JDBC cursor inside a read-only transaction,
+ * fetching {@link CustomerExportProperties#fetchSize()} rows per round trip.
+ * Rows are mapped directly to {@link Customer} models, so no entities are
+ * loaded into the persistence context and memory usage stays flat.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerStreamer {
+
+    private static final String SELECT_ALL_SQL = "SELECT id, mail, version FROM customer";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerExportProperties exportProperties;
+
+    /**
+     * Perform the given action for every customer.
+     *
+     * @param action Action to perform for each {@link Customer}.
+     */
+    public void forEach(Consumer<Customer> action) {
+        log.info("Streaming all customers with fetch size: {}", exportProperties.fetchSize());
+
+        val readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransaction.setReadOnly(true);
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(
+                connection -> {
+                    val statement = connection.prepareStatement(
+                            SELECT_ALL_SQL,
+                            ResultSet.TYPE_FORWARD_ONLY,
+                            ResultSet.CONCUR_READ_ONLY
+                    );
+                    statement.setFetchSize(exportProperties.fetchSize());
+                    return statement;
+                },
+                (RowCallbackHandler) resultSet -> action.accept(new Customer(
+                        resultSet.getObject(1, UUID.class),
+                        resultSet.getString(2),
+                        resultSet.getLong(3)
+                ))
+        ));
+    }
+}
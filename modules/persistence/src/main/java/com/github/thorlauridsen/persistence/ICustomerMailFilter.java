@@ -0,0 +1,51 @@
+package com.github.thorlauridsen.persistence;
+
+/**
+ * Customer mail filter interface.
+ * This is an interface for a probabilistic set of the mail addresses of all customers,
+ * used to skip database lookups for mail addresses that definitely do not exist.
+ * The implementation can be swapped out or disabled through configuration.
+ */
+public interface ICustomerMailFilter {
+
+    /**
+     * Check whether the filter can report mail addresses as absent.
+     * A disabled filter reports every mail address as possibly existing,
+     * so asking it never saves a database lookup.
+     *
+     * @return true if the filter is enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Add a mail address to the filter.
+     * This must be called before a customer with the mail address is inserted,
+     * so the filter never reports a stored mail address as absent.
+     *
+     * @param mail Mail address of the customer.
+     */
+    void put(String mail);
+
+    /**
+     * Check whether a customer with the mail address might exist.
+     * Mail addresses are compared case-insensitively.
+     *
+     * @param mail Mail address of the customer.
+     * @return False if no customer with the mail address exists, true if one might exist.
+     */
+    boolean mightContain(String mail);
+
+    /**
+     * Get the memory used by the filter in bytes.
+     *
+     * @return Size of the filter in bytes.
+     */
+    long sizeInBytes();
+
+    /**
+     * Get the expected false positive rate of the filter given the mail addresses added so far.
+     *
+     * @return Expected false positive rate between 0 and 1.
+     */
+    double expectedFalsePositiveRate();
+}
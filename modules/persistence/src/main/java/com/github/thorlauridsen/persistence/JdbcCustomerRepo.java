@@ -0,0 +1,225 @@
+package com.github.thorlauridsen.persistence;
+
+import com.github.thorlauridsen.common.CustomerIdGenerator;
+import com.github.thorlauridsen.common.CustomerMail;
+import com.github.thorlauridsen.model.Customer;
+import com.github.thorlauridsen.model.CustomerInput;
+import com.github.thorlauridsen.model.CustomerSaveResult;
+import com.github.thorlauridsen.model.ICustomerRepo;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Customer repository using plain JDBC.
+ * <p>
+ * Every query is a prepared statement executed with the {@link JdbcTemplate}, and rows are
+ * mapped directly to {@link Customer} models. Compared to the {@link CustomerRepo} this avoids
+ * the Hibernate persistence context, entity instantiation and dirty checking,
+ * which lowers the latency and allocation rate of every call.
+ * <p>
+ * Lookups run in read-only transactions, so they are served by a read replica
+ * when replicas are configured with {@link CustomerReplicaProperties}.
+ * <p>
+ * It is used instead of the {@link CustomerRepo} when customer.repo.implementation is set to jdbc.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcCustomerRepo implements ICustomerRepo {
+
+    private static final String INSERT_SQL = "INSERT INTO customer (id, mail, mail_normalized) VALUES (?, ?, ?)";
+    private static final String SELECT_BY_ID_SQL = "SELECT id, mail, version FROM customer WHERE id = ?";
+    private static final String SELECT_BY_IDS_SQL = "SELECT id, mail, version FROM customer WHERE id IN (%s)";
+    private static final String SELECT_VERSION_BY_ID_SQL = "SELECT version FROM customer WHERE id = ?";
+    private static final String SELECT_BY_MAIL_SQL = "SELECT id, mail, version FROM customer WHERE mail_normalized = ?";
+    private static final String EXISTS_BY_MAIL_SQL = "SELECT COUNT(*) FROM customer WHERE mail_normalized = ?";
+    private static final String SELECT_FIRST_PAGE_SQL = "SELECT id, mail, version FROM customer ORDER BY id LIMIT ?";
+    private static final String SELECT_PAGE_AFTER_SQL = "SELECT id, mail, version FROM customer WHERE id > ? ORDER BY id LIMIT ?";
+    private static final RowMapper<Customer> CUSTOMER_ROW_MAPPER = (resultSet, rowNum) -> new Customer(
+            resultSet.getObject(1, UUID.class),
+            resultSet.getString(2),
+            resultSet.getLong(3)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CustomerBatchSaver batchSaver;
+    private final CustomerStreamer streamer;
+    private final CustomerIdGenerator idGenerator;
+    private final ICustomerMailFilter mailFilter;
+    private final CustomerLookupProperties lookupProperties;
+
+    /**
+     * Save a customer with a single INSERT statement.
+     * The mail address is added to the {@link ICustomerMailFilter} before the customer is inserted.
+     *
+     * @param customerInput Input object for creating a customer.
+     * @return {@link Customer} model class.
+     */
+    @Override
+    public Customer save(CustomerInput customerInput) {
+        log.info("Saving customer with mail: {}", customerInput.mail());
+
+        val customer = new Customer(idGenerator.generate(), customerInput.mail());
+        mailFilter.put(customer.mail());
+        jdbcTemplate.update(INSERT_SQL, customer.id(), customer.mail(), CustomerMail.normalize(customer.mail()));
+        log.info("Customer saved with id: {}", customer.id());
+
+        return customer;
+    }
+
+    /**
+     * Save multiple customers.
+     * The customers are inserted in chunks by the {@link CustomerBatchSaver}.
+     *
+     * @param customerInputs List of input objects for creating customers.
+     * @return List of {@link CustomerSaveResult} in the same order as the given inputs.
+     */
+    @Override
+    public List<CustomerSaveResult> saveAll(List<CustomerInput> customerInputs) {
+        return batchSaver.saveAll(customerInputs);
+    }
+
+    /**
+     * Find a customer by id using the primary key.
+     *
+     * @param id UUID of the customer.
+     * @return {@link Optional} of {@link Customer}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Customer> findById(UUID id) {
+        log.info("Finding customer with id: {}", id);
+        val customer = DataAccessUtils.optionalResult(jdbcTemplate.query(SELECT_BY_ID_SQL, CUSTOMER_ROW_MAPPER, id));
+
+        if (customer.isPresent()) {
+            log.info("Found customer with id: {}", id);
+        } else {
+            log.info("Customer not found with id: {}", id);
+        }
+        return customer;
+    }
+
+    /**
+     * Find all customers with the given ids.
+     * The ids are looked up with one IN query per chunk of {@link CustomerLookupProperties#chunkSize()} ids.
+     *
+     * @param ids List of UUIDs of the customers.
+     * @return List of {@link Customer} that were found, in no particular order.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Customer> findAllById(List<UUID> ids) {
+        log.info("Finding {} customers by id", ids.size());
+
+        val customers = new ArrayList<Customer>(ids.size());
+        val chunkSize = Math.max(1, lookupProperties.chunkSize());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            val chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            val sql = SELECT_BY_IDS_SQL.formatted(String.join(", ", Collections.nCopies(chunk.size(), "?")));
+            customers.addAll(jdbcTemplate.query(sql, CUSTOMER_ROW_MAPPER, chunk.toArray()));
+        }
+
+        log.info("Found {} of {} customers by id", customers.size(), ids.size());
+        return customers;
+    }
+
+    /**
+     * Find the version of a customer by id using the primary key.
+     * Only the version column is selected.
+     *
+     * @param id UUID of the customer.
+     * @return {@link Optional} of the version of the customer.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersionById(UUID id) {
+        log.info("Finding version of customer with id: {}", id);
+        return DataAccessUtils.optionalResult(
+                jdbcTemplate.queryForList(SELECT_VERSION_BY_ID_SQL, Long.class, id)
+        );
+    }
+
+    /**
+     * Find a customer by mail address.
+     * The mail address is normalised and looked up using the unique index on the normalised mail column.
+     * If the {@link ICustomerMailFilter} reports that the mail address definitely does not exist,
+     * the database is not queried.
+     *
+     * @param mail Mail address of the customer.
+     * @return {@link Optional} of {@link Customer}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Customer> findByMail(String mail) {
+        log.info("Finding customer with mail: {}", mail);
+        if (!mailFilter.mightContain(mail)) {
+            log.info("Customer not found with mail: {}", mail);
+            return Optional.empty();
+        }
+        return DataAccessUtils.optionalResult(
+                jdbcTemplate.query(SELECT_BY_MAIL_SQL, CUSTOMER_ROW_MAPPER, CustomerMail.normalize(mail))
+        );
+    }
+
+    /**
+     * Check whether a customer with the given mail address exists.
+     * The check runs in a read-write transaction, so it is answered by the primary database
+     * and sees customers which have not reached the read replicas yet.
+     * If the {@link ICustomerMailFilter} reports that the mail address definitely does not exist,
+     * the database is not queried.
+     *
+     * @param mail Mail address of the customer.
+     * @return true if a customer with the mail address exists, otherwise false.
+     */
+    @Override
+    @Transactional
+    public boolean existsByMail(String mail) {
+        if (!mailFilter.mightContain(mail)) {
+            return false;
+        }
+        val count = jdbcTemplate.queryForObject(EXISTS_BY_MAIL_SQL, Long.class, CustomerMail.normalize(mail));
+        return count != null && count > 0;
+    }
+
+    /**
+     * Find a page of customers ordered by id.
+     * This uses keyset pagination on the primary key instead of an offset,
+     * so the database can seek directly to the first customer of the page.
+     *
+     * @param after UUID of the last customer on the previous page, or null to find the first page.
+     * @param limit Maximum number of customers to find.
+     * @return List of {@link Customer} ordered by id.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Customer> findPage(UUID after, int limit) {
+        log.info("Finding {} customers after id: {}", limit, after);
+        if (after == null) {
+            return jdbcTemplate.query(SELECT_FIRST_PAGE_SQL, CUSTOMER_ROW_MAPPER, limit);
+        }
+        return jdbcTemplate.query(SELECT_PAGE_AFTER_SQL, CUSTOMER_ROW_MAPPER, after, limit);
+    }
+
+    /**
+     * Perform the given action for every customer.
+     * The customers are streamed by the {@link CustomerStreamer}.
+     *
+     * @param action Action to perform for each {@link Customer}.
+     */
+    @Override
+    public void forEach(Consumer<Customer> action) {
+        streamer.forEach(action);
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.thorlauridsen.persistence;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Customer mail filter which does not filter anything.
+ * Every mail address might exist, so every lookup goes to the database.
+ * This is used unless customer.mail-filter.enabled is set to true.
+ */
+@Component
+@ConditionalOnProperty(prefix = "customer.mail-filter", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class NoOpCustomerMailFilter implements ICustomerMailFilter {
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void put(String mail) {
+        // Nothing is filtered
+    }
+
+    @Override
+    public boolean mightContain(String mail) {
+        return true;
+    }
+
+    @Override
+    public long sizeInBytes() {
+        return 0;
+    }
+
+    @Override
+    public double expectedFalsePositiveRate() {
+        return 1;
+    }
+}
@@ -0,0 +1,235 @@
+package com.github.thorlauridsen.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Datasource balancing connections across read replicas.
+ * <p>
+ * Connections are handed out from the replicas in round-robin order, skipping replicas which are unhealthy.
+ * The replicas are checked on a background thread every {@link CustomerReplicaProperties#healthCheckInterval()}.
+ * A replica is healthy if a connection can be validated and, when a lag query is configured,
+ * its replication lag is at most {@link CustomerReplicaProperties#maxLag()}.
+ * If no replica is healthy, or a connection to a replica cannot be obtained, the primary is used instead,
+ * so reads keep working while replicas are down or behind.
+ * <p>
+ * Replicas start out as unhealthy until their first health check has passed.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final int validationTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    /**
+     * Constructor for a replica routing datasource.
+     * Health checks of the replicas are started immediately.
+     *
+     * @param primary    {@link DataSource} of the primary used when no replica is healthy.
+     * @param replicas   List of {@link HikariDataSource} connection pools of the replicas.
+     * @param properties {@link CustomerReplicaProperties} with the health check settings.
+     */
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            List<HikariDataSource> replicas,
+            CustomerReplicaProperties properties
+    ) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLag = properties.maxLag();
+        this.lagQuery = properties.lagQuery();
+        this.validationTimeoutSeconds = (int) Math.max(1, properties.validationTimeout().toSeconds());
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-health-check").daemon().factory()
+        );
+        healthChecker.scheduleWithFixedDelay(
+                this::checkHealth,
+                0,
+                properties.healthCheckInterval().toMillis(),
+                TimeUnit.MILLISECONDS
+        );
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(DataSource::getConnection);
+    }
+
+    /**
+     * Get a connection for the given user from a healthy replica, or from the primary if no replica is healthy.
+     * A pool which does not support connections for other users rejects the call with a
+     * {@link SQLFeatureNotSupportedException}, which is passed on without marking the replica as unhealthy.
+     *
+     * @param username Database user to connect as.
+     * @param password Password of the database user.
+     * @return {@link Connection} to a replica or the primary.
+     * @throws SQLException if no connection could be obtained.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    /**
+     * Check the health of every replica and update whether it is used for reads.
+     */
+    public void checkHealth() {
+        for (val replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(validationTimeoutSeconds)) {
+                    markUnhealthy(replica, "connection is not valid");
+                    continue;
+                }
+                val lag = lag(connection);
+                if (lag.compareTo(maxLag) > 0) {
+                    markUnhealthy(replica, "replication lag of " + lag + " exceeds " + maxLag);
+                    continue;
+                }
+                markHealthy(replica);
+            } catch (SQLException e) {
+                markUnhealthy(replica, "health check failed: " + e.getMessage());
+            } catch (RuntimeException e) {
+                markUnhealthy(replica, "health check failed: " + e);
+            }
+        }
+    }
+
+    /**
+     * Get the number of replicas which are currently healthy.
+     *
+     * @return Number of healthy replicas.
+     */
+    public long healthyReplicas() {
+        return replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    /**
+     * Stop the health checks and close the connection pools of the replicas.
+     */
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    /**
+     * Get a connection from the next healthy replica in round-robin order.
+     * A replica whose connection fails is marked as unhealthy and the next one is tried.
+     * If no replica is healthy, the connection is taken from the primary.
+     *
+     * @param connector {@link Connector} getting a connection from a datasource.
+     * @return {@link Connection} to a replica or the primary.
+     * @throws SQLException if no connection could be obtained.
+     */
+    private Connection getConnection(Connector connector) throws SQLException {
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            val replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return connector.connect(replica.dataSource);
+            } catch (SQLFeatureNotSupportedException e) {
+                throw e;
+            } catch (SQLException e) {
+                markUnhealthy(replica, "connection failed: " + e.getMessage());
+            }
+        }
+        return connector.connect(primary);
+    }
+
+    /**
+     * Query the replication lag of a replica using the configured lag query.
+     *
+     * @param connection {@link Connection} to the replica.
+     * @return Replication lag, or zero if no lag query is configured.
+     */
+    private Duration lag(Connection connection) throws SQLException {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            return Duration.ZERO;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            val seconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+            return Duration.ofMillis(Math.round(seconds * 1000));
+        }
+    }
+
+    /**
+     * Mark a replica as healthy, logging if it was unhealthy before.
+     *
+     * @param replica {@link Replica} to mark.
+     */
+    private void markHealthy(Replica replica) {
+        if (!replica.healthy) {
+            log.info("Routing reads to replica {}", replica.dataSource.getPoolName());
+            replica.healthy = true;
+        }
+    }
+
+    /**
+     * Mark a replica as unhealthy, logging if it was healthy before.
+     *
+     * @param replica {@link Replica} to mark.
+     * @param reason  Reason the replica is unhealthy.
+     */
+    private void markUnhealthy(Replica replica, String reason) {
+        if (replica.healthy) {
+            log.warn("Not routing reads to replica {}, {}", replica.dataSource.getPoolName(), reason);
+            replica.healthy = false;
+        }
+    }
+
+    /**
+     * Way of getting a connection from a datasource, with or without explicit credentials.
+     */
+    @FunctionalInterface
+    private interface Connector {
+
+        /**
+         * Get a connection from a datasource.
+         *
+         * @param dataSource {@link DataSource} to get the connection from.
+         * @return {@link Connection}.
+         * @throws SQLException if no connection could be obtained.
+         */
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    /**
+     * Connection pool of a replica and whether it is currently used for reads.
+     */
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy;
+
+        /**
+         * Constructor for a replica.
+         *
+         * @param dataSource {@link HikariDataSource} connection pool of the replica.
+         */
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+// The schema subproject only contains the Liquibase changelog of the customer database.
+// It is shared by the applications, so every application migrates the database
+// with the same changesets instead of keeping its own copy of the schema.
+plugins {
+    alias(local.plugins.lombok)
+    alias(local.plugins.springboot)
+    alias(local.plugins.spring.dependencies)
+}
+
+dependencies {
+    // Custom changes normalise mail addresses the same way as the applications
+    implementation(projects.common)
+
+    // Liquibase is provided by the applications running the changelog
+    compileOnly(local.liquibase.core)
+}
+
+// Disabling bootJar and bootRun is necessary for a subproject/module
+// that uses the Spring Boot plugin but is not supposed to be executable.
+tasks.bootJar {
+    enabled = false
+}
+tasks.bootRun {
+    enabled = false
+}
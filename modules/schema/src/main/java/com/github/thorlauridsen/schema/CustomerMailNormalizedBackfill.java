@@ -0,0 +1,83 @@
+package com.github.thorlauridsen.schema;
+
+import com.github.thorlauridsen.common.CustomerMail;
+import java.sql.SQLException;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import lombok.val;
+
+/**
+ * Liquibase custom change which fills the normalised mail address of existing customers.
+ * <p>
+ * The mail addresses are normalised with {@link CustomerMail#normalize(String)}, the same normalisation
+ * the applications use when saving and looking up customers. A database function such as LOWER could
+ * lower case some characters differently, so a customer could not be found by its own mail address.
+ * <p>
+ * The customers are read with a cursor and updated in batches, so memory usage does not depend
+ * on the number of customers.
+ */
+public class CustomerMailNormalizedBackfill implements CustomTaskChange {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String SELECT_SQL = "SELECT id, mail FROM customer WHERE mail_normalized IS NULL";
+    private static final String UPDATE_SQL = "UPDATE customer SET mail_normalized = ? WHERE id = ?";
+
+    private long updated;
+
+    /**
+     * Fill the normalised mail address of every customer which does not have one yet.
+     *
+     * @param database {@link Database} to migrate.
+     * @throws CustomChangeException if the customers could not be read or updated.
+     */
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        val connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try (var select = connection.createStatement();
+             var update = connection.prepareStatement(UPDATE_SQL)) {
+            select.setFetchSize(BATCH_SIZE);
+            try (var customers = select.executeQuery(SELECT_SQL)) {
+                var pending = 0;
+                while (customers.next()) {
+                    update.setString(1, CustomerMail.normalize(customers.getString("mail")));
+                    update.setObject(2, customers.getObject("id"));
+                    update.addBatch();
+                    updated++;
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    update.executeBatch();
+                }
+            }
+        } catch (SQLException e) {
+            throw new CustomChangeException("Could not fill the normalised mail address of the customers", e);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Filled the normalised mail address of " + updated + " customers";
+    }
+
+    @Override
+    public void setUp() {
+        // Nothing to set up
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+        // No resources are read
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+}
@@ -0,0 +1,31 @@
+plugins {
+    alias(local.plugins.lombok)
+    alias(local.plugins.springboot)
+    alias(local.plugins.spring.dependencies)
+}
+
+dependencies {
+    // The web subproject maps the model subproject to data transfer objects
+    implementation(projects.model)
+
+    // Spring Boot, Spring Web and validation for the exceptions, error responses and data transfer objects.
+    // Spring Web contains no server, so the subproject can be used with both Spring MVC and WebFlux.
+    implementation(local.springboot.starter)
+    implementation(local.springboot.starter.validation)
+    implementation(local.spring.web)
+    implementation(local.jackson.annotations)
+    implementation(local.micrometer.core)
+
+    // Swagger annotations of the data transfer objects.
+    // Each application provides them at runtime with its own Springdoc starter.
+    compileOnly(local.springdoc.openapi.starter.common)
+}
+
+// Disabling bootJar and bootRun is necessary for a subproject/module
+// that uses the Spring Boot plugin but is not supposed to be executable.
+tasks.bootJar {
+    enabled = false
+}
+tasks.bootRun {
+    enabled = false
+}
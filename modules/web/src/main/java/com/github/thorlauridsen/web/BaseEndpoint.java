@@ -0,0 +1,15 @@
+package com.github.thorlauridsen.web;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * This class contains the base endpoint constant for the customer controllers
+ * and the media types used by the customer endpoints of the applications.
+ */
+@UtilityClass
+public class BaseEndpoint {
+    public static final String CUSTOMER_BASE_ENDPOINT = "/customers";
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+}
@@ -0,0 +1,62 @@
+package com.github.thorlauridsen.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.thorlauridsen.model.CustomerSaveResult;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Map;
+
+/**
+ * Data transfer object for the result of creating a single customer in a batch.
+ * Contains either the created customer or the reason it could not be created.
+ *
+ * @param index       Position of the customer in the batch request.
+ * @param customer    {@link CustomerDto} that was created, or null if creating the customer failed.
+ * @param error       Description of the error, or null if the customer was created.
+ * @param fieldErrors Map of field names to error messages for validation errors.
+ */
+@Schema(
+        description = "Data transfer object for the result of creating a customer in a batch",
+        example = """
+                {
+                    "index": 0,
+                    "customer": {
+                        "id": "3fa85f64-5717-4562-b3fc-2c963f66afa6",
+                        "mail": "bob@gmail.com"
+                    },
+                    "error": null,
+                    "fieldErrors": {}
+                }
+                """
+)
+public record CustomerBatchItemDto(
+        @JsonProperty("index") int index,
+        @JsonProperty("customer") CustomerDto customer,
+        @JsonProperty("error") String error,
+        @JsonProperty("fieldErrors") Map<String, String> fieldErrors
+) {
+
+    /**
+     * Static method to convert a {@link CustomerSaveResult} model to a {@link CustomerBatchItemDto}.
+     *
+     * @param index  Position of the customer in the batch request.
+     * @param result {@link CustomerSaveResult} to convert.
+     * @return {@link CustomerBatchItemDto}.
+     */
+    public static CustomerBatchItemDto fromModel(int index, CustomerSaveResult result) {
+        if (result.isSuccess()) {
+            return new CustomerBatchItemDto(index, CustomerDto.fromModel(result.customer()), null, Map.of());
+        }
+        return new CustomerBatchItemDto(index, null, result.error(), Map.of());
+    }
+
+    /**
+     * Static method to create a {@link CustomerBatchItemDto} for a customer that failed validation.
+     *
+     * @param index       Position of the customer in the batch request.
+     * @param fieldErrors Map of field names to error messages.
+     * @return {@link CustomerBatchItemDto}.
+     */
+    public static CustomerBatchItemDto invalid(int index, Map<String, String> fieldErrors) {
+        return new CustomerBatchItemDto(index, null, "Validation failed", fieldErrors);
+    }
+}
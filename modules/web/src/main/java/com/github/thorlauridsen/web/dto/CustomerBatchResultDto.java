@@ -0,0 +1,59 @@
+package com.github.thorlauridsen.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Data transfer object for the result of creating customers in a batch.
+ * Contains the number of created and failed customers and the result of each customer.
+ *
+ * @param created Number of customers that were created.
+ * @param failed  Number of customers that could not be created.
+ * @param items   List of {@link CustomerBatchItemDto} in the same order as the batch request.
+ */
+@Schema(
+        description = "Data transfer object for the result of creating customers in a batch",
+        example = """
+                {
+                    "created": 1,
+                    "failed": 1,
+                    "items": [
+                        {
+                            "index": 0,
+                            "customer": {
+                                "id": "3fa85f64-5717-4562-b3fc-2c963f66afa6",
+                                "mail": "bob@gmail.com"
+                            },
+                            "error": null,
+                            "fieldErrors": {}
+                        },
+                        {
+                            "index": 1,
+                            "customer": null,
+                            "error": "Validation failed",
+                            "fieldErrors": {
+                                "mail": "Invalid email format"
+                            }
+                        }
+                    ]
+                }
+                """
+)
+public record CustomerBatchResultDto(
+        @JsonProperty("created") int created,
+        @JsonProperty("failed") int failed,
+        @JsonProperty("items") List<CustomerBatchItemDto> items
+) {
+
+    /**
+     * Static method to create a {@link CustomerBatchResultDto} from a list of {@link CustomerBatchItemDto}.
+     *
+     * @param items List of {@link CustomerBatchItemDto}.
+     * @return {@link CustomerBatchResultDto}.
+     */
+    public static CustomerBatchResultDto fromItems(List<CustomerBatchItemDto> items) {
+        int created = (int) items.stream().filter(item -> item.customer() != null).count();
+        return new CustomerBatchResultDto(created, items.size() - created, items);
+    }
+}
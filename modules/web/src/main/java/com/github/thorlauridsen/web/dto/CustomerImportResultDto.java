@@ -0,0 +1,31 @@
+package com.github.thorlauridsen.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Data transfer object for the result of importing customers.
+ * Contains the number of accepted and rejected customers and the line numbers of the rejected customers.
+ *
+ * @param accepted      Number of customers that were imported.
+ * @param rejected      Number of lines that could not be imported.
+ * @param rejectedLines Line numbers of the first lines that could not be imported in ascending order.
+ *                      The number of listed lines is limited, so it can be lower than rejected.
+ */
+@Schema(
+        description = "Data transfer object for the result of importing customers",
+        example = """
+                {
+                    "accepted": 2,
+                    "rejected": 1,
+                    "rejectedLines": [2]
+                }
+                """
+)
+public record CustomerImportResultDto(
+        @JsonProperty("accepted") long accepted,
+        @JsonProperty("rejected") long rejected,
+        @JsonProperty("rejectedLines") List<Long> rejectedLines
+) {
+}
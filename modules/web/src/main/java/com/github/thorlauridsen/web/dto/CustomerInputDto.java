@@ -1,4 +1,4 @@
-package com.github.thorlauridsen.dto;
+package com.github.thorlauridsen.web.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.thorlauridsen.model.CustomerInput;
@@ -0,0 +1,49 @@
+package com.github.thorlauridsen.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.thorlauridsen.model.CustomerLookup;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data transfer object for the result of looking up multiple customers by id.
+ * Contains the customers that were found and the ids that were not found.
+ *
+ * @param customers  List of {@link CustomerDto} that were found, in the order their ids were given.
+ * @param missingIds List of ids that were not found, in the order they were given.
+ */
+@Schema(
+        description = "Data transfer object for the result of looking up multiple customers by id",
+        example = """
+                {
+                    "customers": [
+                        {
+                            "id": "3fa85f64-5717-4562-b3fc-2c963f66afa6",
+                            "mail": "bob@gmail.com"
+                        }
+                    ],
+                    "missingIds": [
+                        "0b7e5a8e-9c1d-4f3b-8a2e-6d4c2b1a0f9e"
+                    ]
+                }
+                """
+)
+public record CustomerLookupDto(
+        @JsonProperty("customers") List<CustomerDto> customers,
+        @JsonProperty("missingIds") List<UUID> missingIds
+) {
+
+    /**
+     * Static method to convert a {@link CustomerLookup} model to a {@link CustomerLookupDto}.
+     *
+     * @param lookup {@link CustomerLookup} to convert.
+     * @return {@link CustomerLookupDto}.
+     */
+    public static CustomerLookupDto fromModel(CustomerLookup lookup) {
+        return new CustomerLookupDto(
+                lookup.customers().stream().map(CustomerDto::fromModel).toList(),
+                lookup.missingIds()
+        );
+    }
+}
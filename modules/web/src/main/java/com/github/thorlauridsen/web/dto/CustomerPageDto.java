@@ -0,0 +1,47 @@
+package com.github.thorlauridsen.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.thorlauridsen.model.CustomerPage;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data transfer object for a page of customers.
+ * Contains the customers on the page and the cursor for retrieving the next page.
+ *
+ * @param customers  List of {@link CustomerDto} ordered by id.
+ * @param nextCursor Cursor for retrieving the next page, or null if this is the last page.
+ */
+@Schema(
+        description = "Data transfer object for a page of customers",
+        example = """
+                {
+                    "customers": [
+                        {
+                            "id": "3fa85f64-5717-4562-b3fc-2c963f66afa6",
+                            "mail": "bob@gmail.com"
+                        }
+                    ],
+                    "nextCursor": "3fa85f64-5717-4562-b3fc-2c963f66afa6"
+                }
+                """
+)
+public record CustomerPageDto(
+        @JsonProperty("customers") List<CustomerDto> customers,
+        @JsonProperty("nextCursor") UUID nextCursor
+) {
+
+    /**
+     * Static method to convert a {@link CustomerPage} model to a {@link CustomerPageDto}.
+     *
+     * @param page {@link CustomerPage} to convert.
+     * @return {@link CustomerPageDto}.
+     */
+    public static CustomerPageDto fromModel(CustomerPage page) {
+        return new CustomerPageDto(
+                page.customers().stream().map(CustomerDto::fromModel).toList(),
+                page.nextCursor()
+        );
+    }
+}
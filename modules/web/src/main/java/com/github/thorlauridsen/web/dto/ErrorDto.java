@@ -1,4 +1,4 @@
-package com.github.thorlauridsen.dto;
+package com.github.thorlauridsen.web.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -0,0 +1,20 @@
+package com.github.thorlauridsen.web.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a customer with the same mail address already exists.
+ * Extends {@link DomainException}.
+ */
+public class CustomerAlreadyExistsException extends DomainException {
+
+    /**
+     * Constructor for a customer already exists exception.
+     * Sets the http status to {@link HttpStatus#CONFLICT}.
+     *
+     * @param message The message of the exception.
+     */
+    public CustomerAlreadyExistsException(String message) {
+        super(message, HttpStatus.CONFLICT);
+    }
+}
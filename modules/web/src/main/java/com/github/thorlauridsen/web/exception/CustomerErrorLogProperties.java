@@ -0,0 +1,29 @@
+package com.github.thorlauridsen.web.exception;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for logging expected errors.
+ *
+ * @param mode     {@link Mode} of logging expected errors.
+ * @param interval How often a summary of expected errors is logged in {@link Mode#AGGREGATED} mode.
+ */
+@ConfigurationProperties(prefix = "customer.error-log")
+public record CustomerErrorLogProperties(
+        @DefaultValue("AGGREGATED") Mode mode,
+        @DefaultValue("10s") Duration interval
+) {
+
+    /**
+     * Supported modes of logging expected errors.
+     * <p>
+     * {@link #EACH} logs every expected error at ERROR level.
+     * {@link #AGGREGATED} counts expected errors and logs a summary at most once per interval.
+     */
+    public enum Mode {
+        EACH,
+        AGGREGATED
+    }
+}
@@ -1,4 +1,4 @@
-package com.github.thorlauridsen.exception;
+package com.github.thorlauridsen.web.exception;
 
 import org.springframework.http.HttpStatus;
 
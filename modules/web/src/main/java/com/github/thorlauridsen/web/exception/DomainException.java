@@ -0,0 +1,29 @@
+package com.github.thorlauridsen.web.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Abstract class representing a domain exception.
+ * Custom domain exceptions should extend this class.
+ * <p>
+ * Domain exceptions are expected outcomes such as a customer not being found and are always
+ * handled by the controller advisor of the application, so they do not capture a stack trace.
+ * Capturing the stack trace would otherwise be the most expensive part of answering such a request.
+ */
+@Getter
+public abstract class DomainException extends Exception {
+
+    private final HttpStatus httpStatus;
+
+    /**
+     * Constructor for a domain exception without a stack trace.
+     *
+     * @param message    The message of the exception.
+     * @param httpStatus {@link HttpStatus} returned to the client.
+     */
+    protected DomainException(String message, HttpStatus httpStatus) {
+        super(message, null, false, false);
+        this.httpStatus = httpStatus;
+    }
+}
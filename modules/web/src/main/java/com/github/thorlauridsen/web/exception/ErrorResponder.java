@@ -0,0 +1,134 @@
+package com.github.thorlauridsen.web.exception;
+
+import com.github.thorlauridsen.web.dto.ErrorDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the error responses of the controller advisors of the applications.
+ * The controller advisors differ in how they receive exceptions, but log, count
+ * and answer them the same way through this class.
+ * <p>
+ * Expected errors are logged by the {@link ExpectedErrorLogger}, while unexpected errors are logged
+ * with their stack trace. Every error is counted by the customer.errors counter, tagged with
+ * the exception type and status. The counters are registered once per exception type and status
+ * and reused for later errors.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ErrorResponder {
+
+    private final MeterRegistry meterRegistry;
+    private final ExpectedErrorLogger expectedErrorLogger;
+    private final Map<ErrorKey, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Log an expected exception with the {@link ExpectedErrorLogger}
+     * and return a response entity with an {@link ErrorDto}.
+     *
+     * @param exception  {@link Exception}.
+     * @param httpStatus {@link HttpStatus}.
+     * @return A response entity with an {@link ErrorDto}.
+     */
+    public ResponseEntity<ErrorDto> expected(Exception exception, HttpStatus httpStatus) {
+        val message = message(exception);
+        expectedErrorLogger.log(exception, httpStatus, message);
+        return error(exception, httpStatus, message);
+    }
+
+    /**
+     * Log an unexpected exception with its stack trace
+     * and return a response entity with an {@link ErrorDto} and HTTP status code 500.
+     *
+     * @param exception {@link Exception}.
+     * @return A response entity with an {@link ErrorDto}.
+     */
+    public ResponseEntity<ErrorDto> unexpected(Exception exception) {
+        val message = message(exception);
+        log.error(message, exception);
+        return error(exception, HttpStatus.INTERNAL_SERVER_ERROR, message);
+    }
+
+    /**
+     * Log a failed validation with the {@link ExpectedErrorLogger}
+     * and return a response entity with an {@link ErrorDto} and HTTP status code 400.
+     *
+     * @param exception   {@link Exception} thrown by the validation.
+     * @param fieldErrors Map of field names to error messages.
+     * @return A response entity with an {@link ErrorDto}.
+     */
+    public ResponseEntity<Object> validationFailed(Exception exception, Map<String, String> fieldErrors) {
+        count(exception, HttpStatus.BAD_REQUEST);
+        expectedErrorLogger.log(exception, HttpStatus.BAD_REQUEST, "Validation failed: " + fieldErrors);
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorDto("Validation failed", OffsetDateTime.now(), fieldErrors));
+    }
+
+    /**
+     * Count exception and return a response entity with an {@link ErrorDto}.
+     * The error has no field errors, so the shared empty map is used instead of allocating one.
+     *
+     * @param exception  {@link Exception}.
+     * @param httpStatus {@link HttpStatus}.
+     * @param message    Description of the error.
+     */
+    private ResponseEntity<ErrorDto> error(Exception exception, HttpStatus httpStatus, String message) {
+        count(exception, httpStatus);
+        return ResponseEntity.status(httpStatus).body(new ErrorDto(message, OffsetDateTime.now(), Map.of()));
+    }
+
+    /**
+     * Get the description of an exception.
+     *
+     * @param exception {@link Exception}.
+     * @return Message of the exception, or a generic message if it has none.
+     */
+    private static String message(Exception exception) {
+        return exception.getMessage() != null ? exception.getMessage() : "An unexpected error occurred";
+    }
+
+    /**
+     * Count a handled exception by exception type and HTTP status.
+     *
+     * @param exception  {@link Exception}.
+     * @param httpStatus {@link HttpStatus} returned to the client.
+     */
+    private void count(Exception exception, HttpStatus httpStatus) {
+        counters.computeIfAbsent(new ErrorKey(exception.getClass(), httpStatus.value()), this::counter)
+                .increment();
+    }
+
+    /**
+     * Register the counter of handled exceptions with the given type and HTTP status.
+     *
+     * @param key {@link ErrorKey} of the exceptions to count.
+     * @return {@link Counter}.
+     */
+    private Counter counter(ErrorKey key) {
+        return Counter.builder("customer.errors")
+                .description("Exceptions handled by the controller advisor")
+                .tag("exception", key.type().getSimpleName())
+                .tag("status", String.valueOf(key.status()))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Key of a handled error.
+     *
+     * @param type   Type of the handled exception.
+     * @param status HTTP status returned to the client.
+     */
+    private record ErrorKey(Class<?> type, int status) {
+    }
+}
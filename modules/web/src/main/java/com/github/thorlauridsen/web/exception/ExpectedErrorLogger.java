@@ -0,0 +1,95 @@
+package com.github.thorlauridsen.web.exception;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logger of expected errors such as customers not being found and validation failures.
+ * <p>
+ * In {@link CustomerErrorLogProperties.Mode#AGGREGATED} mode every error is only counted by exception type
+ * and HTTP status, and the message of each error is logged at DEBUG level. A summary of the counts is
+ * logged at INFO level by the first error after the interval has passed, and when the application stops.
+ * This keeps clients probing for unknown customers from flooding the log.
+ * In {@link CustomerErrorLogProperties.Mode#EACH} mode every error is logged at ERROR level.
+ */
+@Component
+@Slf4j
+public class ExpectedErrorLogger {
+
+    private final CustomerErrorLogProperties properties;
+    private final long intervalNanos;
+    private final AtomicLong nextSummary;
+    private final Map<ErrorKey, LongAdder> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for expected error logger.
+     *
+     * @param properties {@link CustomerErrorLogProperties} for configuring the logging of expected errors.
+     */
+    public ExpectedErrorLogger(CustomerErrorLogProperties properties) {
+        this.properties = properties;
+        this.intervalNanos = properties.interval().toNanos();
+        this.nextSummary = new AtomicLong(System.nanoTime() + intervalNanos);
+    }
+
+    /**
+     * Log an expected error.
+     *
+     * @param exception  {@link Exception} which was handled.
+     * @param httpStatus {@link HttpStatus} returned to the client.
+     * @param message    Message describing the error.
+     */
+    public void log(Exception exception, HttpStatus httpStatus, String message) {
+        if (properties.mode() == CustomerErrorLogProperties.Mode.EACH) {
+            log.error(message, exception);
+            return;
+        }
+
+        log.debug(message);
+        counts.computeIfAbsent(new ErrorKey(exception.getClass(), httpStatus.value()), key -> new LongAdder())
+                .increment();
+
+        val now = System.nanoTime();
+        val next = nextSummary.get();
+        if (now - next >= 0 && nextSummary.compareAndSet(next, now + intervalNanos)) {
+            logSummary();
+        }
+    }
+
+    /**
+     * Log a summary of the expected errors counted since the previous summary and reset the counts.
+     * Nothing is logged if there were no errors.
+     */
+    @PreDestroy
+    void logSummary() {
+        val summary = new StringJoiner(", ");
+        var total = 0L;
+        for (val entry : counts.entrySet()) {
+            val count = entry.getValue().sumThenReset();
+            if (count > 0) {
+                summary.add(entry.getKey().type().getSimpleName() + " " + entry.getKey().status() + ": " + count);
+                total += count;
+            }
+        }
+        if (total > 0) {
+            log.info("Handled {} expected errors since the last summary: {}", total, summary);
+        }
+    }
+
+    /**
+     * Key of an expected error.
+     *
+     * @param type   Type of the handled exception.
+     * @param status HTTP status returned to the client.
+     */
+    private record ErrorKey(Class<?> type, int status) {
+    }
+}